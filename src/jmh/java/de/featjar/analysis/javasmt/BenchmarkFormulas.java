@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.Common;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Formulas used as benchmark parameters.
+ * A name is either a fixture of the formula test fixtures, such as {@code gpl_medium_model}, whose CNF may be copied
+ * with renamed variables, as in {@code gpl_medium_model*100}, or a random 3-CNF with a fixed seed, two clauses per
+ * variable, and the given number of variables, as in {@code random-1000}.
+ */
+public final class BenchmarkFormulas {
+
+    private static final String RANDOM_PREFIX = "random-";
+    private static final int CLAUSES_PER_VARIABLE = 2;
+    private static final int CLAUSE_LENGTH = 3;
+
+    private BenchmarkFormulas() {}
+
+    /**
+     * Returns the formula with the given name in conjunctive normal form.
+     * The FeatJAR configuration must be initialized.
+     *
+     * @param name the name
+     * @return the formula
+     */
+    public static IFormula load(String name) {
+        if (name.startsWith(RANDOM_PREFIX)) {
+            return random(Integer.parseInt(name.substring(RANDOM_PREFIX.length())));
+        }
+        final int copiesIndex = name.indexOf('*');
+        final String fixture = copiesIndex < 0 ? name : name.substring(0, copiesIndex);
+        final IFormula cnf = Common.loadFormula("testFeatureModels/" + fixture + ".xml")
+                .toCNF()
+                .orElseThrow();
+        return copiesIndex < 0 ? cnf : copy(cnf, Integer.parseInt(name.substring(copiesIndex + 1)));
+    }
+
+    private static IFormula copy(IFormula cnf, int copies) {
+        final List<IFormula> clauses = new ArrayList<>(cnf.getChildrenCount() * copies);
+        for (int copy = 0; copy < copies; copy++) {
+            for (IExpression clause : cnf.getChildren()) {
+                final List<IFormula> literals = new ArrayList<>(clause.getChildrenCount());
+                for (IExpression child : clause.getChildren()) {
+                    final Literal literal = (Literal) child;
+                    literals.add(Expressions.literal(
+                            literal.isPositive(), ((Variable) literal.getExpression()).getName() + "_" + copy));
+                }
+                clauses.add(new Or(literals));
+            }
+        }
+        return new And(clauses);
+    }
+
+    private static IFormula random(int variables) {
+        final Random random = new Random(variables);
+        final int clauseCount = variables * CLAUSES_PER_VARIABLE;
+        final List<IFormula> clauses = new ArrayList<>(clauseCount);
+        final int[] clauseVariables = new int[CLAUSE_LENGTH];
+        for (int i = 0; i < clauseCount; i++) {
+            final List<IFormula> literals = new ArrayList<>(CLAUSE_LENGTH);
+            for (int j = 0; j < CLAUSE_LENGTH; j++) {
+                clauseVariables[j] = nextVariable(random, variables, clauseVariables, j);
+                literals.add(Expressions.literal(random.nextBoolean(), "x" + clauseVariables[j]));
+            }
+            clauses.add(new Or(literals));
+        }
+        return new And(clauses);
+    }
+
+    private static int nextVariable(Random random, int variables, int[] chosen, int count) {
+        while (true) {
+            final int variable = random.nextInt(variables);
+            boolean fresh = true;
+            for (int k = 0; k < count && fresh; k++) {
+                fresh = chosen[k] != variable;
+            }
+            if (fresh || variables < CLAUSE_LENGTH) {
+                return variable;
+            }
+        }
+    }
+}
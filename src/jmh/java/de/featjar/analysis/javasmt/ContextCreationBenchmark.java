@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.structure.IFormula;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+/**
+ * Measures the {@link JavaSMTSolver#JavaSMTSolver(de.featjar.formula.structure.IExpression, Solvers) constructor}
+ * that creates an unpooled solver context per backend, including the translation of a small formula.
+ * Backends whose native libraries are not installed fail during setup and can be excluded with
+ * {@code -p solver=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContextCreationBenchmark {
+
+    @Param({"SMTINTERPOL", "PRINCESS", "Z3", "MATHSAT5"})
+    public Solvers solver;
+
+    @Param({"gpl_medium_model"})
+    public String formula;
+
+    private IFormula cnf;
+
+    @Setup
+    public void setup() {
+        FeatJAR.testConfiguration().initialize();
+        cnf = BenchmarkFormulas.load(formula);
+        try (JavaSMTSolver javaSMTSolver = new JavaSMTSolver(cnf, solver)) {
+            if (javaSMTSolver.context == null) {
+                throw new IllegalStateException("solver not available: " + solver);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public JavaSMTSolver createSolver() {
+        final JavaSMTSolver javaSMTSolver = new JavaSMTSolver(cnf, solver);
+        javaSMTSolver.close();
+        return javaSMTSolver;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolutionEnumeration;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IFormula;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+/**
+ * Measures the throughput of {@link JavaSMTSolver#countSolutions()}, which counts the solutions by enumerating cubes of
+ * generalized models (see {@link de.featjar.analysis.javasmt.solver.SolutionCounter}), and compares it to counting
+ * every solution of a {@link SolutionEnumeration}, on formulas small enough to be enumerated completely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CubeCountingBenchmark {
+
+    @Param({"SMTINTERPOL", "PRINCESS"})
+    public Solvers solver;
+
+    @Param({"gpl_medium_model", "random-12", "random-20"})
+    public String formula;
+
+    private IFormula cnf;
+    private JavaSMTSolver javaSMTSolver;
+
+    @Setup
+    public void setup() throws Exception {
+        FeatJAR.testConfiguration().initialize();
+        cnf = BenchmarkFormulas.load(formula);
+        javaSMTSolver = new JavaSMTSolver(cnf, SolverContextPool.getDefault().checkout(solver));
+    }
+
+    @TearDown
+    public void tearDown() {
+        javaSMTSolver.close();
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public Result<BigInteger> countSolutions() {
+        return javaSMTSolver.countSolutions();
+    }
+
+    @Benchmark
+    public long enumerateSolutions() {
+        final SolutionEnumeration enumeration = new SolutionEnumeration(this::newSolver, Long.MAX_VALUE);
+        try (Stream<ValueAssignment> solutions = enumeration.stream()) {
+            return solutions.count();
+        }
+    }
+
+    private JavaSMTSolver newSolver() {
+        try {
+            return new JavaSMTSolver(cnf, SolverContextPool.getDefault().checkout(solver));
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Equals;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.term.ITerm;
+import de.featjar.formula.structure.term.function.IntegerAdd;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random feature models as formulas, reproducibly for a given seed.
+ * Feature {@code f0} is the root, and every other feature has a random parent among the features before it. The
+ * children of a feature are optional, mandatory, or members of an or-group or an alternative group. The given
+ * density is the number of cross-tree constraints per feature, each of which is a random requires or excludes
+ * constraint between two features, so high densities may yield void models. Each numeric attribute assigns a random
+ * value to every feature; the integer variable {@code attribute<k>} is the sum of the values of the selected features
+ * and is bounded by half of the total.
+ */
+public class FeatureModelGenerator {
+
+    private static final double MANDATORY_PROBABILITY = 0.2;
+    private static final double GROUPED_PROBABILITY = 0.4;
+    private static final double REQUIRES_PROBABILITY = 0.7;
+    private static final int MAXIMUM_ATTRIBUTE_VALUE = 100;
+
+    private final int featureCount;
+    private final double constraintDensity;
+    private final int attributeCount;
+    private final long seed;
+
+    /**
+     * Creates a new generator.
+     *
+     * @param featureCount the number of features
+     * @param constraintDensity the number of cross-tree constraints per feature
+     * @param attributeCount the number of numeric attributes
+     * @param seed the seed of the random generator
+     */
+    public FeatureModelGenerator(int featureCount, double constraintDensity, int attributeCount, long seed) {
+        if (featureCount < 1) {
+            throw new IllegalArgumentException("feature count must be positive");
+        }
+        this.featureCount = featureCount;
+        this.constraintDensity = constraintDensity;
+        this.attributeCount = attributeCount;
+        this.seed = seed;
+    }
+
+    public static String getFeatureName(int index) {
+        return "f" + index;
+    }
+
+    public static String getAttributeName(int index) {
+        return "attribute" + index;
+    }
+
+    public List<String> getFeatureNames() {
+        final ArrayList<String> names = new ArrayList<>(featureCount);
+        for (int i = 0; i < featureCount; i++) {
+            names.add(getFeatureName(i));
+        }
+        return names;
+    }
+
+    public List<String> getAttributeNames() {
+        final ArrayList<String> names = new ArrayList<>(attributeCount);
+        for (int k = 0; k < attributeCount; k++) {
+            names.add(getAttributeName(k));
+        }
+        return names;
+    }
+
+    /**
+     * Generates the model.
+     *
+     * @return a conjunction of all constraints of the model
+     */
+    public IFormula generate() {
+        final Random random = new Random(seed);
+        final List<IFormula> constraints = new ArrayList<>();
+        constraints.add(Expressions.literal(getFeatureName(0)));
+        addTree(random, constraints);
+        addCrossTreeConstraints(random, constraints);
+        addAttributes(random, constraints);
+        return new And(constraints);
+    }
+
+    private void addTree(Random random, List<IFormula> constraints) {
+        final List<List<Integer>> children = new ArrayList<>(featureCount);
+        for (int i = 0; i < featureCount; i++) {
+            children.add(new ArrayList<>());
+        }
+        for (int i = 1; i < featureCount; i++) {
+            final int parent = random.nextInt(i);
+            children.get(parent).add(i);
+            constraints.add(new Implies(feature(i), feature(parent)));
+        }
+        for (int parent = 0; parent < featureCount; parent++) {
+            final List<Integer> group = new ArrayList<>();
+            for (int child : children.get(parent)) {
+                if (random.nextDouble() < GROUPED_PROBABILITY) {
+                    group.add(child);
+                } else if (random.nextDouble() < MANDATORY_PROBABILITY) {
+                    constraints.add(new Implies(feature(parent), feature(child)));
+                }
+            }
+            if (group.size() > 1) {
+                final List<IFormula> members = new ArrayList<>(group.size());
+                for (int child : group) {
+                    members.add(feature(child));
+                }
+                constraints.add(new Implies(feature(parent), new Or(members)));
+                if (random.nextBoolean()) {
+                    for (int i = 0; i < group.size(); i++) {
+                        for (int j = i + 1; j < group.size(); j++) {
+                            constraints.add(excludes(group.get(i), group.get(j)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addCrossTreeConstraints(Random random, List<IFormula> constraints) {
+        if (featureCount < 3) {
+            return;
+        }
+        final long count = Math.round(constraintDensity * featureCount);
+        for (long c = 0; c < count; c++) {
+            final int first = 1 + random.nextInt(featureCount - 1);
+            int second = 1 + random.nextInt(featureCount - 2);
+            if (second >= first) {
+                second++;
+            }
+            if (random.nextDouble() < REQUIRES_PROBABILITY) {
+                constraints.add(new Implies(feature(first), feature(second)));
+            } else {
+                constraints.add(excludes(first, second));
+            }
+        }
+    }
+
+    private void addAttributes(Random random, List<IFormula> constraints) {
+        for (int k = 0; k < attributeCount; k++) {
+            final List<ITerm> values = new ArrayList<>(featureCount);
+            long total = 0;
+            for (int i = 0; i < featureCount; i++) {
+                final long value = random.nextInt(MAXIMUM_ATTRIBUTE_VALUE);
+                final Variable variable = new Variable(getFeatureName(i) + "_" + getAttributeName(k), Long.class);
+                constraints.add(new Implies(feature(i), new Equals(variable, new Constant(value))));
+                constraints.add(new Implies(
+                        Expressions.literal(false, getFeatureName(i)), new Equals(variable, new Constant(0L))));
+                values.add(variable);
+                total += value;
+            }
+            final Variable sum = new Variable(getAttributeName(k), Long.class);
+            constraints.add(new Equals(sum, add(values, 0, values.size())));
+            constraints.add(new LessEqual(sum, new Constant(total / 2)));
+        }
+    }
+
+    private static ITerm add(List<ITerm> terms, int from, int to) {
+        if (to - from == 1) {
+            return terms.get(from);
+        }
+        final int middle = (from + to) >>> 1;
+        return new IntegerAdd(add(terms, from, middle), add(terms, middle, to));
+    }
+
+    private static IFormula feature(int index) {
+        return Expressions.literal(getFeatureName(index));
+    }
+
+    private static IFormula excludes(int first, int second) {
+        return new Or(
+                Expressions.literal(false, getFeatureName(first)), Expressions.literal(false, getFeatureName(second)));
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.analysis.javasmt.computation.AJavaSMTAnalysis;
+import de.featjar.analysis.javasmt.computation.ComputeAtomicSets;
+import de.featjar.analysis.javasmt.computation.ComputeConstraintSubsets;
+import de.featjar.analysis.javasmt.computation.ComputeCoreDeadVariables;
+import de.featjar.analysis.javasmt.computation.ComputeImplicationGraph;
+import de.featjar.analysis.javasmt.computation.ComputeIncrementalSatisfiability;
+import de.featjar.analysis.javasmt.computation.ComputeOptimum;
+import de.featjar.analysis.javasmt.computation.ComputePortfolioSatisfiability;
+import de.featjar.analysis.javasmt.computation.ComputePortfolioSolution;
+import de.featjar.analysis.javasmt.computation.ComputeRandomSample;
+import de.featjar.analysis.javasmt.computation.ComputeSatisfiability;
+import de.featjar.analysis.javasmt.computation.ComputeSolution;
+import de.featjar.analysis.javasmt.computation.ComputeSolutionCount;
+import de.featjar.analysis.javasmt.computation.ComputeSolutions;
+import de.featjar.analysis.javasmt.computation.ComputeTWiseSample;
+import de.featjar.analysis.javasmt.computation.ComputeVariableRange;
+import de.featjar.analysis.javasmt.computation.ComputeVariableRanges;
+import de.featjar.analysis.javasmt.solver.Objective;
+import de.featjar.analysis.javasmt.solver.OptimumEnumeration;
+import de.featjar.analysis.javasmt.solver.SolutionEnumeration;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.term.value.Variable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+/**
+ * Runs every {@link AJavaSMTAnalysis} on generated feature models with every backend and writes the wall-clock
+ * times to a CSV and a JSON file. Each row is written as soon as it is measured, so an aborted run keeps its rows.
+ * Models are generated by {@link FeatureModelGenerator} for all combinations of feature counts, constraint densities,
+ * attribute counts, and seeds. Each analysis is run {@code --warmup} times without measurement and then
+ * {@code --repetitions} times, bypassing the result cache. Analyses on numeric attributes are skipped for models
+ * without attributes, and backends whose native libraries are not installed are skipped.
+ * The status of a run is {@code ok}, {@code timeout} if a solver was stopped by the timeout, or {@code error}; for
+ * the latter two, the result column contains the problems.
+ * Options, each followed by a comma-separated list or a value, with their defaults:
+ * <pre>
+ * --features 50,100,200,400  --densities 0,0.1,0.2  --attributes 0,1  --seeds 1
+ * --solvers smtinterpol,princess,z3,mathsat5  --analyses (all)  --warmup 1  --repetitions 3
+ * --timeout 10000 (wall-clock milliseconds per analysis, see {@link AJavaSMTAnalysis#TIMEOUT})
+ * --output macro-benchmark (written to .csv and .json)
+ * </pre>
+ */
+public class MacroBenchmark implements AutoCloseable {
+
+    private static final long SOLUTION_LIMIT = 1000;
+    private static final long SAMPLE_SIZE = 10;
+    private static final long SUBSET_LIMIT = 10;
+    private static final int ASSUMPTION_LIMIT = 100;
+
+    private static final class Model {
+        private final FeatureModelGenerator generator;
+        private final IFormula formula;
+        private final long seed;
+
+        private Model(FeatureModelGenerator generator, long seed) {
+            this.generator = generator;
+            this.formula = generator.generate();
+            this.seed = seed;
+        }
+
+        private IComputation<IFormula> formula() {
+            return Computations.of(formula);
+        }
+    }
+
+    private static final class Analysis {
+        private final boolean numeric;
+        private final Function<Model, IComputation<?>> factory;
+
+        private Analysis(boolean numeric, Function<Model, IComputation<?>> factory) {
+            this.numeric = numeric;
+            this.factory = factory;
+        }
+    }
+
+    private static final Map<String, Analysis> ANALYSES = new LinkedHashMap<>();
+
+    static {
+        ANALYSES.put("satisfiability", new Analysis(false, m -> m.formula().map(ComputeSatisfiability::new)));
+        ANALYSES.put("solution", new Analysis(false, m -> m.formula().map(ComputeSolution::new)));
+        ANALYSES.put(
+                "portfolio-satisfiability",
+                new Analysis(false, m -> m.formula().map(ComputePortfolioSatisfiability::new)));
+        ANALYSES.put(
+                "portfolio-solution", new Analysis(false, m -> m.formula().map(ComputePortfolioSolution::new)));
+        ANALYSES.put("solution-count", new Analysis(false, m -> m.formula().map(ComputeSolutionCount::new)));
+        ANALYSES.put("solutions", new Analysis(false, m -> m.formula()
+                .map(ComputeSolutions::new)
+                .set(ComputeSolutions.LIMIT, SOLUTION_LIMIT)));
+        ANALYSES.put(
+                "incremental-satisfiability",
+                new Analysis(false, m -> new ComputeIncrementalSatisfiability(m.formula(), Computations.of(
+                        selections(m.generator.getFeatureNames())))));
+        ANALYSES.put(
+                "core-dead-variables", new Analysis(false, m -> m.formula().map(ComputeCoreDeadVariables::new)));
+        ANALYSES.put("atomic-sets", new Analysis(false, m -> m.formula().map(ComputeAtomicSets::new)));
+        ANALYSES.put("implication-graph", new Analysis(false, m -> m.formula().map(ComputeImplicationGraph::new)));
+        ANALYSES.put("random-sample", new Analysis(false, m -> m.formula()
+                .map(ComputeRandomSample::new)
+                .set(ComputeRandomSample.SIZE, SAMPLE_SIZE)
+                .set(ComputeRandomSample.SEED, m.seed)));
+        ANALYSES.put("t-wise-sample", new Analysis(false, m -> m.formula().map(ComputeTWiseSample::new)));
+        ANALYSES.put("constraint-subsets", new Analysis(false, m -> m.formula()
+                .map(ComputeConstraintSubsets::new)
+                .set(ComputeConstraintSubsets.LIMIT, SUBSET_LIMIT)));
+        ANALYSES.put(
+                "variable-range",
+                new Analysis(true, m -> new ComputeVariableRange(
+                        m.formula(), Computations.of(FeatureModelGenerator.getAttributeName(0)))));
+        ANALYSES.put("variable-ranges", new Analysis(true, m -> m.formula()
+                .map(ComputeVariableRanges::new)
+                .set(ComputeVariableRanges.VARIABLES, m.generator.getAttributeNames())));
+        ANALYSES.put("optimum", new Analysis(true, m -> m.formula()
+                .map(ComputeOptimum::new)
+                .set(
+                        ComputeOptimum.OBJECTIVES,
+                        List.of(Objective.minimize(
+                                new Variable(FeatureModelGenerator.getAttributeName(0), Long.class))))
+                .set(ComputeOptimum.MODE, OptimumEnumeration.Mode.PARETO)));
+    }
+
+    private static List<ValueAssignment> selections(List<String> features) {
+        final List<ValueAssignment> selections = new ArrayList<>();
+        for (String feature : features.subList(0, Math.min(features.size(), ASSUMPTION_LIMIT))) {
+            final LinkedHashMap<String, Object> selection = new LinkedHashMap<>();
+            selection.put(feature, Boolean.TRUE);
+            selections.add(new ValueAssignment(selection));
+        }
+        return selections;
+    }
+
+    private static final String TIMEOUT_PROBLEM = "solver stopped: timeout";
+
+    private final List<String> columns = List.of(
+            "features", "density", "attributes", "seed", "solver", "analysis", "repetition", "status", "time_ms",
+            "result");
+    private final PrintWriter csv;
+    private final PrintWriter json;
+    private int rowCount;
+
+    private MacroBenchmark(Path csvPath, Path jsonPath) throws IOException {
+        csv = new PrintWriter(Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8));
+        try {
+            json = new PrintWriter(Files.newBufferedWriter(jsonPath, StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            csv.close();
+            throw e;
+        }
+        csv.println(String.join(",", columns));
+        csv.flush();
+        json.print("[");
+        json.flush();
+        FeatJAR.log().info("writing %s and %s", csvPath, jsonPath);
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Map<String, String> options = parseOptions(args);
+        final List<Integer> featureCounts =
+                parseList(options.getOrDefault("features", "50,100,200,400"), Integer::valueOf);
+        final List<Double> densities = parseList(options.getOrDefault("densities", "0,0.1,0.2"), Double::valueOf);
+        final List<Integer> attributeCounts = parseList(options.getOrDefault("attributes", "0,1"), Integer::valueOf);
+        final List<Long> seeds = parseList(options.getOrDefault("seeds", "1"), Long::valueOf);
+        final List<Solvers> solvers = parseList(
+                options.getOrDefault("solvers", "smtinterpol,princess,z3,mathsat5"),
+                name -> Solvers.valueOf(name.toUpperCase(Locale.ROOT)));
+        final List<String> analyses =
+                parseList(options.getOrDefault("analyses", String.join(",", ANALYSES.keySet())), name -> {
+                    if (!ANALYSES.containsKey(name)) {
+                        throw new IllegalArgumentException("unknown analysis: " + name);
+                    }
+                    return name;
+                });
+        final int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        final int repetitions = Integer.parseInt(options.getOrDefault("repetitions", "3"));
+        final Duration timeout = Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout", "10000")));
+        final String output = options.getOrDefault("output", "macro-benchmark");
+
+        FeatJAR.testConfiguration().initialize();
+        try (MacroBenchmark benchmark = new MacroBenchmark(Paths.get(output + ".csv"), Paths.get(output + ".json"))) {
+            for (int featureCount : featureCounts) {
+                for (double density : densities) {
+                    for (int attributeCount : attributeCounts) {
+                        for (long seed : seeds) {
+                            final Model model = new Model(
+                                    new FeatureModelGenerator(featureCount, density, attributeCount, seed), seed);
+                            for (Solvers solver : solvers) {
+                                if (!SolverSelection.isAvailable(solver)) {
+                                    FeatJAR.log().warning("skipping unavailable solver %s", solver);
+                                    continue;
+                                }
+                                for (String analysis : analyses) {
+                                    if (ANALYSES.get(analysis).numeric && attributeCount == 0) {
+                                        continue;
+                                    }
+                                    final List<Object> parameters =
+                                            List.of(featureCount, density, attributeCount, seed, solver, analysis);
+                                    benchmark.measure(
+                                            model, solver, analysis, parameters, warmup, repetitions, timeout);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            FeatJAR.deinitialize();
+        }
+    }
+
+    private void measure(
+            Model model,
+            Solvers solver,
+            String analysis,
+            List<Object> parameters,
+            int warmup,
+            int repetitions,
+            Duration timeout) {
+        FeatJAR.log().info("%s", parameters);
+        for (int repetition = -warmup; repetition < repetitions; repetition++) {
+            final IComputation<?> computation = ANALYSES.get(analysis)
+                    .factory
+                    .apply(model)
+                    .set(AJavaSMTAnalysis.SOLVERS, SolverSelection.of(solver))
+                    .set(AJavaSMTAnalysis.TIMEOUT, timeout)
+                    .set(AJavaSMTAnalysis.BYPASS_CACHE, Boolean.TRUE);
+            final long start = System.nanoTime();
+            String status;
+            String summary;
+            try {
+                final Result<?> result = computation.computeResult();
+                if (result.isPresent()) {
+                    status = "ok";
+                    summary = summarize(result.get());
+                } else {
+                    final List<Problem> problems = result.getProblems();
+                    summary = Problem.printProblems(problems);
+                    status = "error";
+                    for (Problem problem : problems) {
+                        if (problem.getMessage() != null && problem.getMessage().startsWith(TIMEOUT_PROBLEM)) {
+                            status = "timeout";
+                        }
+                    }
+                }
+            } catch (final IllegalStateException e) {
+                // lazy results report problems while they are consumed
+                summary = String.valueOf(e.getMessage());
+                status = summary.startsWith(TIMEOUT_PROBLEM) ? "timeout" : "error";
+            }
+            final long time = System.nanoTime() - start;
+            if (repetition >= 0) {
+                final List<Object> row = new ArrayList<>(parameters);
+                row.add(repetition);
+                row.add(status);
+                row.add(time / 1e6);
+                row.add(summary);
+                write(row);
+            }
+        }
+    }
+
+    /**
+     * Consumes lazy results and describes a result by its value or size.
+     *
+     * @param result the result
+     * @return the description
+     */
+    private static String summarize(Object result) {
+        if (result instanceof SolutionEnumeration) {
+            return Long.toString(((SolutionEnumeration) result).stream().count());
+        } else if (result instanceof OptimumEnumeration) {
+            return Long.toString(((OptimumEnumeration) result).stream().count());
+        } else if (result instanceof Collection) {
+            return Integer.toString(((Collection<?>) result).size());
+        } else if (result instanceof Map) {
+            return Integer.toString(((Map<?, ?>) result).size());
+        } else if (result instanceof int[]) {
+            return Integer.toString(((int[]) result).length);
+        } else if (result instanceof Object[]) {
+            return Integer.toString(((Object[]) result).length);
+        } else if (result instanceof int[][]) {
+            return Integer.toString(((int[][]) result).length);
+        } else if (result instanceof ValueAssignment) {
+            return Integer.toString(((ValueAssignment) result).getAll().size());
+        } else {
+            return String.valueOf(result);
+        }
+    }
+
+    private void write(List<Object> row) {
+        final List<String> cells = new ArrayList<>(row.size());
+        final StringBuilder object = new StringBuilder(rowCount > 0 ? ",\n  {" : "\n  {");
+        for (int i = 0; i < columns.size(); i++) {
+            final Object cell = row.get(i);
+            cells.add(cell instanceof Number ? String.valueOf(cell) : quote(String.valueOf(cell)));
+            if (i > 0) {
+                object.append(", ");
+            }
+            object.append('"').append(columns.get(i)).append("\": ");
+            if (cell instanceof Number) {
+                object.append(cell);
+            } else {
+                object.append('"').append(escape(String.valueOf(cell))).append('"');
+            }
+        }
+        csv.println(String.join(",", cells));
+        csv.flush();
+        json.print(object.append('}'));
+        json.flush();
+        rowCount++;
+    }
+
+    @Override
+    public void close() {
+        json.println(rowCount > 0 ? "\n]" : "]");
+        json.close();
+        csv.close();
+        FeatJAR.log().info("wrote %d rows", rowCount);
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("expected --<option> <value>, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static <T> List<T> parseList(String list, Function<String, T> parser) {
+        final List<T> values = new ArrayList<>();
+        for (String value : list.split(",")) {
+            if (!value.isBlank()) {
+                values.add(parser.apply(value.trim()));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.PooledSolverContext;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.structure.IFormula;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * Measures {@link FormulaToJavaSMT#nodeToFormula(de.featjar.formula.structure.IExpression)} with a fresh translator,
+ * that is, without its subformula cache. The solver context is kept across invocations, so terms the solver has
+ * created before are looked up in its own term table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranslationBenchmark {
+
+    @Param({"gpl_medium_model", "gpl_medium_model*100", "random-1000", "random-10000"})
+    public String formula;
+
+    @Param({"false", "true"})
+    public boolean tseitin;
+
+    private IFormula cnf;
+    private PooledSolverContext context;
+
+    @Setup
+    public void setup() throws Exception {
+        FeatJAR.testConfiguration().initialize();
+        cnf = BenchmarkFormulas.load(formula);
+        context = SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public BooleanFormula translate() {
+        final FormulaToJavaSMT translator = new FormulaToJavaSMT(context.getContext());
+        translator.setTseitin(tseitin);
+        return translator.nodeToFormula(cnf);
+    }
+}
@@ -21,6 +21,11 @@
 package de.featjar.analysis.javasmt.cli;
 
 import de.featjar.analysis.AAnalysisCommand;
+import de.featjar.analysis.javasmt.computation.AJavaSMTAnalysis;
+import de.featjar.analysis.javasmt.solver.ResultCache;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.FeatJAR;
 import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.Computations;
@@ -29,6 +34,10 @@ import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.io.FormulaFormats;
 import de.featjar.formula.structure.IFormula;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
 
 public abstract class AJavasmtAnalysisCommand<T> extends AAnalysisCommand<T> {
 
@@ -39,14 +48,164 @@ public abstract class AJavasmtAnalysisCommand<T> extends AAnalysisCommand<T> {
             .setDescription("Seed for the pseudo random generator") //
             .setDefaultValue(1L);
 
+    /**
+     * Option for choosing the SMT solvers to try, in order of preference.
+     */
+    public static final Option<String> SOLVER_OPTION = Option.newOption("solver", Option.StringParser) //
+            .setDescription("Comma-separated SMT solvers to try in order (z3, mathsat5, smtinterpol, princess)") //
+            .setDefaultValue(SolverSelection.getDefault().toString());
+
+    /**
+     * Option for limiting the time of each solver call.
+     */
+    public static final Option<Long> SOLVER_TIMEOUT_OPTION = Option.newOption("solver-timeout", Option.LongParser) //
+            .setDescription("Timeout for the SMT solver in milliseconds (0 for no timeout)") //
+            .setDefaultValue(0L);
+
+    /**
+     * Option for choosing how the input formula is passed to the SMT solver.
+     * {@code raw} passes the formula as is, {@code cnf} converts it to conjunctive normal form first, and
+     * {@code tseitin} introduces auxiliary variables for all subformulas during translation.
+     * Solutions and counts always refer to the variables of the input formula.
+     * If empty, the {@link #getDefaultEncoding() default encoding} of the command is used.
+     */
+    public static final Option<String> ENCODING_OPTION = Option.newOption("encoding", Option.StringParser) //
+            .setDescription("Encoding of the formula passed to the SMT solver (raw, cnf, tseitin; "
+                    + "default depends on the analysis)") //
+            .setDefaultValue("");
+
+    /**
+     * The encoding used if {@link #ENCODING_OPTION} is not given.
+     */
+    static final String DEFAULT_ENCODING = "cnf";
+
+    /**
+     * Option for computing the result even if it is contained in the result cache.
+     */
+    public static final Option<Boolean> NO_CACHE_OPTION = Option.newFlag("no-cache") //
+            .setDescription("Bypass the analysis result cache");
+
+    /**
+     * Option for persisting the analysis result cache in a file.
+     */
+    public static final Option<String> CACHE_FILE_OPTION = Option.newOption("cache-file", Option.StringParser) //
+            .setDescription("File for persisting analysis results across runs (empty for in-memory caching only)") //
+            .setDefaultValue("");
+
+    /**
+     * Option for logging the time spent in translation, context creation, and solver calls.
+     */
+    public static final Option<Boolean> METRICS_OPTION = Option.newFlag("metrics") //
+            .setDescription("Log the time spent in each phase of the analysis and the solver statistics");
+
     protected IFormula inputFormula;
 
+    @Override
+    public int run(OptionList optionParser) {
+        try {
+            return super.run(optionParser);
+        } finally {
+            logMetrics();
+        }
+    }
+
     @Override
     protected IComputation<T> newComputation(OptionList optionParser) {
         inputFormula = readFromInput(optionParser, FormulaFormats.getInstance()).orElseThrow();
-        return newAnalysis(
-                Computations.of(inputFormula).map(ComputeNNFFormula::new).map(ComputeCNFFormula::new));
+        applyGlobalOptions(optionParser);
+        return configure(
+                newAnalysis(encode(inputFormula, optionParser, getDefaultEncoding()), optionParser), optionParser);
+    }
+
+    /**
+     * Returns the encoding used if {@link #ENCODING_OPTION} is not given. Analyses that refer to the constraints of
+     * the input formula, rather than only to its solutions, must not change its structure.
+     *
+     * @return the default encoding
+     */
+    protected String getDefaultEncoding() {
+        return DEFAULT_ENCODING;
+    }
+
+    /**
+     * Applies the options that affect all analyses in this JVM, that is, enables metrics and opens the cache file.
+     *
+     * @param optionParser the parsed options
+     */
+    static void applyGlobalOptions(OptionList optionParser) {
+        if (optionParser.get(METRICS_OPTION)) {
+            SolverMetrics.setEnabled(true);
+        }
+        final String cacheFile = optionParser.get(CACHE_FILE_OPTION).trim();
+        if (!cacheFile.isEmpty()) {
+            try {
+                ResultCache.getDefault().open(Paths.get(cacheFile));
+            } catch (final IOException e) {
+                FeatJAR.log().warning("cannot open result cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Logs the metrics of all analyses in this JVM if they are enabled. Commands call this once before they exit.
+     */
+    static void logMetrics() {
+        if (SolverMetrics.isEnabled()) {
+            FeatJAR.log().info("solver metrics:%n%s", SolverMetrics.report());
+        }
+    }
+
+    /**
+     * Prepares a formula for the analysis according to {@link #ENCODING_OPTION}.
+     *
+     * @param inputFormula the formula
+     * @param optionParser the parsed options
+     * @param defaultEncoding the encoding used if none is given
+     * @return the computation of the encoded formula
+     */
+    static IComputation<IFormula> encode(IFormula inputFormula, OptionList optionParser, String defaultEncoding) {
+        final String option = getEncoding(optionParser);
+        final String encoding = option.isEmpty() ? defaultEncoding : option;
+        switch (encoding) {
+            case "raw":
+            case "tseitin":
+                return Computations.of(inputFormula);
+            case "cnf":
+                return Computations.of(inputFormula).map(ComputeNNFFormula::new).map(ComputeCNFFormula::new);
+            default:
+                throw new IllegalArgumentException("unknown encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Sets the dependencies shared by all {@link AJavaSMTAnalysis analyses} from the options.
+     *
+     * @param <R> the type of the result
+     * @param analysis the analysis
+     * @param optionParser the parsed options
+     * @return the configured analysis
+     */
+    static <R> IComputation<R> configure(IComputation<R> analysis, OptionList optionParser) {
+        return analysis.set(AJavaSMTAnalysis.SOLVERS, SolverSelection.parse(optionParser.get(SOLVER_OPTION)))
+                .set(AJavaSMTAnalysis.TIMEOUT, Duration.ofMillis(optionParser.get(SOLVER_TIMEOUT_OPTION)))
+                .set(AJavaSMTAnalysis.TSEITIN, "tseitin".equals(getEncoding(optionParser)))
+                .set(AJavaSMTAnalysis.BYPASS_CACHE, optionParser.get(NO_CACHE_OPTION));
+    }
+
+    private static String getEncoding(OptionList optionParser) {
+        return optionParser.get(ENCODING_OPTION).trim().toLowerCase(Locale.ROOT);
     }
 
     protected abstract IComputation<T> newAnalysis(IComputation<? extends IFormula> formula);
+
+    /**
+     * Creates the analysis for the given formula, configured with command-specific options.
+     *
+     * @param formula the formula
+     * @param optionParser the parsed options
+     * @return the analysis
+     */
+    protected IComputation<T> newAnalysis(IComputation<? extends IFormula> formula, OptionList optionParser) {
+        return newAnalysis(formula);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.base.cli.ACommand;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+
+/**
+ * Base class for commands that analyze many formulas in one JVM with the options of an
+ * {@link AJavasmtAnalysisCommand}.
+ */
+public abstract class AJavasmtServiceCommand extends ACommand {
+
+    public static final Option<String> SOLVER_OPTION = AJavasmtAnalysisCommand.SOLVER_OPTION;
+    public static final Option<Long> SOLVER_TIMEOUT_OPTION = AJavasmtAnalysisCommand.SOLVER_TIMEOUT_OPTION;
+    public static final Option<String> ENCODING_OPTION = AJavasmtAnalysisCommand.ENCODING_OPTION;
+    public static final Option<Boolean> NO_CACHE_OPTION = AJavasmtAnalysisCommand.NO_CACHE_OPTION;
+    public static final Option<String> CACHE_FILE_OPTION = AJavasmtAnalysisCommand.CACHE_FILE_OPTION;
+    public static final Option<Boolean> METRICS_OPTION = AJavasmtAnalysisCommand.METRICS_OPTION;
+
+    /**
+     * Option for limiting the number of formulas analyzed at the same time.
+     */
+    public static final Option<Integer> THREADS_OPTION = Option.newOption("threads", Option.IntegerParser) //
+            .setDescription("Number of formulas to analyze in parallel, at most the number of pooled contexts") //
+            .setDefaultValue(SolverContextPool.DEFAULT_MAXIMUM_SIZE);
+
+    /**
+     * Returns the number of worker threads, which is limited by the size of the context pool such that workers do
+     * not wait for each other's contexts.
+     *
+     * @param optionParser the parsed options
+     * @return the number of worker threads
+     */
+    protected static int getThreads(OptionList optionParser) {
+        return Math.max(
+                1, Math.min(optionParser.get(THREADS_OPTION), SolverContextPool.getDefault().getMaximumSize()));
+    }
+}
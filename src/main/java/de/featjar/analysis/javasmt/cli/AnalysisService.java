@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import de.featjar.analysis.javasmt.computation.ComputeSatisfiability;
+import de.featjar.analysis.javasmt.computation.ComputeSolution;
+import de.featjar.analysis.javasmt.computation.ComputeSolutionCount;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.io.FormulaFormats;
+import de.featjar.formula.structure.IFormula;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Runs analyses on formula files with the options of an {@link AJavasmtAnalysisCommand}, such that many files can be
+ * analyzed in one JVM. Solver contexts and translations are reused across files by the default
+ * {@link de.featjar.analysis.javasmt.solver.SolverContextPool} and results by the default
+ * {@link de.featjar.analysis.javasmt.solver.ResultCache}. Results are formatted as a single line.
+ */
+final class AnalysisService {
+
+    /**
+     * The analyses offered by the service.
+     */
+    enum Analysis {
+        COUNT(formula -> formula.map(ComputeSolutionCount::new)),
+        SOLUTION(formula -> formula.map(ComputeSolution::new)),
+        SATISFIABILITY(formula -> formula.map(ComputeSatisfiability::new));
+
+        private final Function<IComputation<IFormula>, IComputation<?>> factory;
+
+        Analysis(Function<IComputation<IFormula>, IComputation<?>> factory) {
+            this.factory = factory;
+        }
+
+        static Analysis parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown analysis: " + name + ", expected count, solution, or "
+                        + "satisfiability");
+            }
+        }
+    }
+
+    private final OptionList optionParser;
+
+    /**
+     * Creates a service and applies the options that affect all analyses.
+     *
+     * @param optionParser the parsed options of the command
+     */
+    AnalysisService(OptionList optionParser) {
+        this.optionParser = optionParser;
+        AJavasmtAnalysisCommand.applyGlobalOptions(optionParser);
+    }
+
+    /**
+     * Loads a formula and analyzes it.
+     *
+     * @param analysis the analysis
+     * @param input the formula file
+     * @return the formatted result
+     */
+    Result<String> analyze(Analysis analysis, Path input) {
+        final Result<IFormula> formula = IO.load(input, FormulaFormats.getInstance());
+        if (formula.isEmpty()) {
+            return Result.empty(formula.getProblems());
+        }
+        try {
+            final IComputation<?> computation = AJavasmtAnalysisCommand.configure(
+                    analysis.factory.apply(AJavasmtAnalysisCommand.encode(
+                            formula.get(), optionParser, AJavasmtAnalysisCommand.DEFAULT_ENCODING)),
+                    optionParser);
+            return computation.computeResult().map(AnalysisService::format);
+        } catch (final RuntimeException e) {
+            return Result.empty(new Problem(e));
+        }
+    }
+
+    private static String format(Object result) {
+        if (result instanceof ValueAssignment) {
+            final StringJoiner joiner = new StringJoiner(" ");
+            for (Map.Entry<String, Object> entry : ((ValueAssignment) result).getAll().entrySet()) {
+                joiner.add(entry.getKey() + "=" + entry.getValue());
+            }
+            return joiner.toString();
+        }
+        return String.valueOf(result);
+    }
+
+    /**
+     * Describes the problems of an empty result in a single line.
+     *
+     * @param result the result
+     * @return the description
+     */
+    static String describeProblems(Result<?> result) {
+        final StringJoiner joiner = new StringJoiner("; ");
+        for (Problem problem : result.getProblems()) {
+            joiner.add(String.valueOf(problem.getMessage()).replace('\n', ' '));
+        }
+        return joiner.length() == 0 ? "no result" : joiner.toString();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.data.Result;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes many formula files in one JVM on a bounded pool of worker threads, such that native libraries are loaded
+ * and solver contexts are created only once.
+ * For each input, one tab-separated line with the path, {@code ok} or {@code error}, the time in milliseconds, and the
+ * result or the problems is written as a log message in input order.
+ */
+public class BatchCommand extends AJavasmtServiceCommand {
+
+    private static final class Outcome {
+        private final Path input;
+        private final Result<String> result;
+        private final long milliseconds;
+
+        private Outcome(Path input, Result<String> result, long milliseconds) {
+            this.input = input;
+            this.result = result;
+            this.milliseconds = milliseconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(
+                    "\t",
+                    input.toString(),
+                    result.isPresent() ? "ok" : "error",
+                    Long.toString(milliseconds),
+                    result.isPresent() ? result.get() : AnalysisService.describeProblems(result));
+        }
+    }
+
+    /**
+     * Option for the formula files.
+     */
+    public static final Option<String> INPUTS_OPTION = Option.newOption("inputs", Option.StringParser) //
+            .setDescription("Comma-separated formula files or directories, or @file for a file listing one path per "
+                    + "line");
+
+    /**
+     * Option for choosing the analysis.
+     */
+    public static final Option<String> ANALYSIS_OPTION = Option.newOption("analysis", Option.StringParser) //
+            .setDescription("Analysis to run on each formula (count, solution, satisfiability)") //
+            .setDefaultValue("count");
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Analyzes many formulas in one JVM using javasmt");
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("batch-javasmt");
+    }
+
+    @Override
+    public int run(OptionList optionParser) {
+        final AnalysisService.Analysis analysis = AnalysisService.Analysis.parse(optionParser.get(ANALYSIS_OPTION));
+        final List<Path> inputs;
+        try {
+            inputs = collectInputs(optionParser.get(INPUTS_OPTION));
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+            return 1;
+        }
+        if (inputs.isEmpty()) {
+            FeatJAR.log().error("no formula files given, use --inputs");
+            return 1;
+        }
+        final AnalysisService service = new AnalysisService(optionParser);
+        final ExecutorService executor = Executors.newFixedThreadPool(getThreads(optionParser));
+        int failures = 0;
+        try {
+            final List<Future<Outcome>> outcomes = new ArrayList<>(inputs.size());
+            for (Path input : inputs) {
+                outcomes.add(executor.submit(() -> {
+                    final long start = System.nanoTime();
+                    final Result<String> result = service.analyze(analysis, input);
+                    return new Outcome(input, result, (System.nanoTime() - start) / 1_000_000);
+                }));
+            }
+            for (Future<Outcome> future : outcomes) {
+                final Outcome outcome = future.get();
+                if (outcome.result.isEmpty()) {
+                    failures++;
+                }
+                FeatJAR.log().message(outcome);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } catch (final ExecutionException e) {
+            FeatJAR.log().error(e.getCause());
+            return 1;
+        } finally {
+            executor.shutdownNow();
+            AJavasmtAnalysisCommand.logMetrics();
+        }
+        FeatJAR.log().info("analyzed %d formulas, %d failed", inputs.size(), failures);
+        return failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * Expands the given inputs into formula files. Directories are searched recursively for regular files, and the
+     * lines of a file given as {@code @file} are expanded in turn.
+     *
+     * @param inputs the comma-separated inputs, or {@code null} for none
+     * @return the formula files
+     * @throws IOException if a directory or list file cannot be read
+     */
+    static List<Path> collectInputs(String inputs) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        if (inputs == null) {
+            return files;
+        }
+        for (String input : inputs.split(",")) {
+            collectInput(input.trim(), files);
+        }
+        return files;
+    }
+
+    private static void collectInput(String input, List<Path> files) throws IOException {
+        if (input.isEmpty()) {
+            return;
+        }
+        if (input.startsWith("@")) {
+            for (String line : Files.readAllLines(Paths.get(input.substring(1)), StandardCharsets.UTF_8)) {
+                collectInput(line.trim(), files);
+            }
+            return;
+        }
+        final Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> walk = Files.walk(path)) {
+                files.addAll(walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+            }
+        } else {
+            files.add(path);
+        }
+    }
+}
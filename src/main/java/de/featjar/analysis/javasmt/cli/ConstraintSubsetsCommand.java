@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import de.featjar.analysis.javasmt.computation.ComputeConstraintSubsets;
+import de.featjar.analysis.javasmt.solver.ConstraintSubset;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.structure.IFormula;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class ConstraintSubsetsCommand extends AJavasmtAnalysisCommand<List<ConstraintSubset>> {
+
+    /**
+     * Option for limiting the number of reported subsets.
+     */
+    public static final Option<Long> LIMIT_OPTION = Option.newOption("limit", Option.LongParser) //
+            .setDescription("Maximum number of subsets to report") //
+            .setDefaultValue(Long.MAX_VALUE);
+
+    /**
+     * Option for limiting the time of the whole enumeration.
+     */
+    public static final Option<Long> TIME_BUDGET_OPTION = Option.newOption("time-budget", Option.LongParser) //
+            .setDescription("Time budget for the enumeration in milliseconds (0 for no limit)") //
+            .setDefaultValue(0L);
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Computes minimal unsatisfiable and minimal correction subsets of the constraints "
+                + "of a given formula using javasmt");
+    }
+
+    @Override
+    public IComputation<List<ConstraintSubset>> newAnalysis(IComputation<? extends IFormula> formula) {
+        return formula.map(ComputeConstraintSubsets::new);
+    }
+
+    @Override
+    protected IComputation<List<ConstraintSubset>> newAnalysis(
+            IComputation<? extends IFormula> formula, OptionList optionParser) {
+        return newAnalysis(formula)
+                .set(ComputeConstraintSubsets.LIMIT, optionParser.get(LIMIT_OPTION))
+                .set(ComputeConstraintSubsets.TIME_BUDGET, Duration.ofMillis(optionParser.get(TIME_BUDGET_OPTION)));
+    }
+
+    @Override
+    protected String getDefaultEncoding() {
+        // the subsets refer to the top-level constraints of the unchanged input formula
+        return "raw";
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("mus-javasmt");
+    }
+}
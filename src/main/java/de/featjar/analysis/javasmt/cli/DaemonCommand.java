@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import de.featjar.analysis.javasmt.solver.PooledSolverContext;
+import de.featjar.analysis.javasmt.solver.ResultCache;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.data.Result;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a JVM with loaded native libraries and warm solver contexts running and answers analysis requests over a
+ * socket on the loopback interface.
+ * Each request is a line {@code <analysis> <path>}, where the analysis is {@code count}, {@code solution}, or
+ * {@code satisfiability}, and is answered with a line {@code ok <result>} or {@code error <problems>}. The requests
+ * {@code ping}, {@code stats}, and {@code shutdown} check the daemon, report cache and metrics statistics, and stop
+ * it. A connection may send any number of requests and occupies one of the worker threads while it is open, so it is
+ * closed when it sends no request within the {@link #IDLE_TIMEOUT_OPTION idle timeout}.
+ * As other users of the machine can connect to the loopback interface, the first request of each connection must be
+ * {@code auth <token>}, sent within {@link #AUTHENTICATION_TIMEOUT} milliseconds. The daemon creates a random token at
+ * startup and writes it to the {@link #TOKEN_FILE_OPTION token file}, which only the user running the daemon can read,
+ * and deletes the file when it stops.
+ */
+public class DaemonCommand extends AJavasmtServiceCommand {
+
+    public static final int DEFAULT_PORT = 7421;
+
+    /**
+     * Option for the port to listen on.
+     */
+    public static final Option<Integer> PORT_OPTION = Option.newOption("port", Option.IntegerParser) //
+            .setDescription("Port on the loopback interface to listen on (0 for any free port)") //
+            .setDefaultValue(DEFAULT_PORT);
+
+    /**
+     * Option for the file the authentication token is written to.
+     */
+    public static final Option<String> TOKEN_FILE_OPTION = Option.newOption("token-file", Option.StringParser) //
+            .setDescription("File the daemon writes its authentication token to, readable only by the current user") //
+            .setDefaultValue(Paths.get(System.getProperty("user.home"), ".featjar", "javasmt-daemon.token")
+                    .toString());
+
+    /**
+     * Option for closing connections that send no requests.
+     */
+    public static final Option<Integer> IDLE_TIMEOUT_OPTION = Option.newOption("idle-timeout", Option.IntegerParser) //
+            .setDescription("Time in milliseconds after which an idle connection is closed (0 for no timeout)") //
+            .setDefaultValue(60_000);
+
+    /**
+     * The time in milliseconds within which a connection must authenticate.
+     */
+    public static final int AUTHENTICATION_TIMEOUT = 5_000;
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int MAXIMUM_AUTHENTICATION_LENGTH = 256;
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Answers analysis requests for formula files on a local socket using javasmt");
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("daemon-javasmt");
+    }
+
+    @Override
+    public int run(OptionList optionParser) {
+        final AnalysisService service = new AnalysisService(optionParser);
+        warmUp(SolverSelection.parse(optionParser.get(SOLVER_OPTION)));
+        final Path tokenFile = Paths.get(optionParser.get(TOKEN_FILE_OPTION));
+        final String token;
+        try {
+            token = writeToken(tokenFile);
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+            return 1;
+        }
+        final int idleTimeout = Math.max(0, optionParser.get(IDLE_TIMEOUT_OPTION));
+        final ExecutorService executor = Executors.newFixedThreadPool(getThreads(optionParser));
+        try (ServerSocket server =
+                new ServerSocket(optionParser.get(PORT_OPTION), 0, InetAddress.getLoopbackAddress())) {
+            FeatJAR.log().info("listening on %s, token in %s", server.getLocalSocketAddress(), tokenFile);
+            while (!server.isClosed()) {
+                final Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (final IOException e) {
+                    if (server.isClosed()) {
+                        break;
+                    }
+                    throw e;
+                }
+                executor.execute(
+                        () -> serve(socket, server, service, token, AUTHENTICATION_TIMEOUT, idleTimeout));
+            }
+            return 0;
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+            return 1;
+        } finally {
+            executor.shutdownNow();
+            try {
+                Files.deleteIfExists(tokenFile);
+            } catch (final IOException e) {
+                FeatJAR.log().warning("cannot delete %s: %s", tokenFile, e.getMessage());
+            }
+            AJavasmtAnalysisCommand.logMetrics();
+        }
+    }
+
+    /**
+     * Creates a random token and writes it to a new file that only the current user can read and write.
+     * An existing file is replaced.
+     *
+     * @param tokenFile the file
+     * @return the token
+     * @throws IOException if the file cannot be written or its permissions cannot be restricted
+     */
+    static String writeToken(Path tokenFile) throws IOException {
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        final StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+        final Path directory = tokenFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Files.deleteIfExists(tokenFile);
+        try {
+            Files.createFile(
+                    tokenFile,
+                    PosixFilePermissions.asFileAttribute(
+                            EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } catch (final UnsupportedOperationException e) {
+            Files.createFile(tokenFile);
+            final File file = tokenFile.toFile();
+            if (!(file.setReadable(false, false)
+                    && file.setReadable(true, true)
+                    && file.setWritable(false, false)
+                    && file.setWritable(true, true))) {
+                Files.delete(tokenFile);
+                throw new IOException("cannot restrict the permissions of " + tokenFile);
+            }
+        }
+        Files.writeString(tokenFile, token, StandardCharsets.UTF_8);
+        return token.toString();
+    }
+
+    private static void warmUp(SolverSelection solvers) {
+        try (PooledSolverContext context = SolverContextPool.getDefault().checkout(solvers)) {
+            FeatJAR.log().info("using %s", context.getSolver());
+        } catch (final Exception e) {
+            FeatJAR.log().warning("cannot create a context for %s: %s", solvers, e.getMessage());
+        }
+    }
+
+    /**
+     * Answers the requests of a connection until it is closed by the client, fails to authenticate, or times out.
+     *
+     * @param socket the connection, which is closed afterwards
+     * @param server the server socket, which is closed by a {@code shutdown} request
+     * @param service the service answering analysis requests
+     * @param token the token of the daemon
+     * @param authenticationTimeout the time in milliseconds within which the connection must authenticate
+     * @param idleTimeout the time in milliseconds after which an authenticated connection without requests is closed,
+     *     or zero for no timeout
+     */
+    static void serve(
+            Socket socket,
+            ServerSocket server,
+            AnalysisService service,
+            String token,
+            int authenticationTimeout,
+            int idleTimeout) {
+        try (socket;
+                InputStream input = socket.getInputStream();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+                PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(authenticationTimeout);
+            String request;
+            do {
+                request = readAuthentication(socket, input, deadline);
+            } while (request != null && request.isBlank());
+            if (request == null || !authenticate(request.trim(), token)) {
+                writer.println("error authentication required");
+                return;
+            }
+            socket.setSoTimeout(idleTimeout);
+            writer.println("ok");
+            try {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (!line.isBlank()) {
+                        writer.println(handle(line.trim(), server, service));
+                    }
+                }
+            } catch (final SocketTimeoutException e) {
+                writer.println("error idle timeout");
+            }
+        } catch (final IOException e) {
+            FeatJAR.log().warning("connection closed: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a line of an unauthenticated connection byte by byte, such that neither a slow nor a long line can
+     * occupy the worker thread beyond the deadline.
+     *
+     * @param socket the connection
+     * @param input the input stream of the connection
+     * @param deadline the value of {@link System#nanoTime()} until which the line must be complete
+     * @return the line, or {@code null} if the connection was closed, the deadline passed, or the line is longer than
+     *     an authentication request
+     * @throws IOException if the connection cannot be read
+     */
+    private static String readAuthentication(Socket socket, InputStream input, long deadline) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (line.size() <= MAXIMUM_AUTHENTICATION_LENGTH) {
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return null;
+            }
+            socket.setSoTimeout((int) Math.min(remaining, Integer.MAX_VALUE));
+            final int next;
+            try {
+                next = input.read();
+            } catch (final SocketTimeoutException e) {
+                return null;
+            }
+            if (next < 0) {
+                return null;
+            }
+            if (next == '\n') {
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(next);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a request is {@code auth <token>} with the given token.
+     *
+     * @param request the request line
+     * @param token the token of the daemon
+     * @return whether the request authenticates the connection
+     */
+    static boolean authenticate(String request, String token) {
+        if (!request.startsWith("auth ")) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                request.substring(5).trim().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Answers a single request of an authenticated connection.
+     *
+     * @param request the request line
+     * @param server the server socket, which is closed by a {@code shutdown} request
+     * @param service the service that analyzes formulas
+     * @return the response line
+     */
+    static String handle(String request, ServerSocket server, AnalysisService service) {
+        final int separator = request.indexOf(' ');
+        final String command = separator < 0 ? request : request.substring(0, separator);
+        final String argument = separator < 0 ? "" : request.substring(separator + 1).trim();
+        switch (command) {
+            case "ping":
+                return "ok pong";
+            case "stats":
+                return "ok " + ResultCache.getDefault()
+                        + (SolverMetrics.isEnabled() ? " " + SolverMetrics.report().replace('\n', ' ') : "");
+            case "shutdown":
+                try {
+                    server.close();
+                } catch (final IOException e) {
+                    return "error " + e.getMessage();
+                }
+                return "ok";
+            default:
+                final AnalysisService.Analysis analysis;
+                try {
+                    analysis = AnalysisService.Analysis.parse(command);
+                } catch (final IllegalArgumentException e) {
+                    return "error " + e.getMessage();
+                }
+                if (argument.isEmpty()) {
+                    return "error missing formula path";
+                }
+                final Result<String> result;
+                try {
+                    result = service.analyze(analysis, Paths.get(argument));
+                } catch (final InvalidPathException e) {
+                    return "error " + e.getMessage();
+                }
+                return result.isPresent() ? "ok " + result.get() : "error " + AnalysisService.describeProblems(result);
+        }
+    }
+}
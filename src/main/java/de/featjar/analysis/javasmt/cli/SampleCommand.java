@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import de.featjar.analysis.javasmt.computation.ComputeRandomSample;
+import de.featjar.analysis.javasmt.solver.RandomSampler;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IFormula;
+import java.util.List;
+import java.util.Optional;
+
+public class SampleCommand extends AJavasmtAnalysisCommand<List<ValueAssignment>> {
+
+    /**
+     * Option for setting the number of solutions in the sample.
+     */
+    public static final Option<Long> SIZE_OPTION = Option.newOption("size", Option.LongParser) //
+            .setDescription("Number of distinct solutions to compute") //
+            .setDefaultValue(1L);
+
+    /**
+     * Option for choosing how solutions are randomized.
+     */
+    public static final Option<String> STRATEGY_OPTION = Option.newOption("strategy", Option.StringParser) //
+            .setDescription("Sampling strategy (random-phase, xor-hashing, random-objective)") //
+            .setDefaultValue("random-phase");
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Computes a random sample of distinct solutions for a given formula using javasmt");
+    }
+
+    @Override
+    public IComputation<List<ValueAssignment>> newAnalysis(IComputation<? extends IFormula> formula) {
+        return formula.map(ComputeRandomSample::new);
+    }
+
+    @Override
+    protected IComputation<List<ValueAssignment>> newAnalysis(
+            IComputation<? extends IFormula> formula, OptionList optionParser) {
+        return newAnalysis(formula)
+                .set(ComputeRandomSample.SIZE, optionParser.get(SIZE_OPTION))
+                .set(ComputeRandomSample.SEED, optionParser.get(RANDOM_SEED_OPTION))
+                .set(ComputeRandomSample.STRATEGY, RandomSampler.Strategy.parse(optionParser.get(STRATEGY_OPTION)));
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("sample-javasmt");
+    }
+}
@@ -20,17 +20,44 @@
  */
 package de.featjar.analysis.javasmt.computation;
 
+import de.featjar.analysis.javasmt.solver.ExpressionFingerprint;
 import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.PooledSolverContext;
+import de.featjar.analysis.javasmt.solver.ResultCache;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
 import de.featjar.formula.structure.IExpression;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 
 /**
  * Base class for analyses using a {@link JavaSMTSolver}.
+ * Solvers obtained from {@link #initializeSolver(List)} use a pooled solver context and must be closed after use.
+ * They are stopped when {@link #TIMEOUT} elapses or the computing thread is interrupted.
+ * Backends of {@link #SOLVERS} without the {@link #getRequiredCapabilities(List) capabilities required} by an analysis
+ * are skipped, and the analysis fails with a problem if no selected backend has them.
+ * With {@link #TSEITIN}, the formula is passed to the solver in a Tseitin encoding instead of its original structure.
+ * Results are looked up in and stored to a {@link ResultCache}, keyed by the fingerprint of the formula, the analysis
+ * class, the solvers, the encoding, and all further {@link #getCacheKeyParameters(List) dependencies that determine
+ * the result}, unless {@link #BYPASS_CACHE} is set or the analysis is not {@link #isCacheable() cacheable}.
+ * The timeout is not part of the key, as only completed results are cached.
+ * Each analysis is measured as {@link SolverMetrics.Phase#ANALYSIS}, and the solver statistics of its calling thread
+ * are recorded under its class name (see {@link SolverMetrics#enterAnalysis(String)}). Analyses that call solvers on
+ * worker threads must {@link SolverMetrics#propagate(java.util.concurrent.Callable) propagate} the analysis to them.
  *
  * @param <T> the type of the analysis result.
  *
@@ -40,27 +67,196 @@ import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 public abstract class AJavaSMTAnalysis<T> extends AComputation<T> {
 
     public static final Dependency<IExpression> FORMULA = Dependency.newDependency(IExpression.class);
+    public static final Dependency<SolverSelection> SOLVERS = Dependency.newDependency(SolverSelection.class);
+    public static final Dependency<Duration> TIMEOUT = Dependency.newDependency(Duration.class);
+    public static final Dependency<Boolean> TSEITIN = Dependency.newDependency(Boolean.class);
+    public static final Dependency<Boolean> BYPASS_CACHE = Dependency.newDependency(Boolean.class);
+
+    private static final int PARAMETER_OFFSET = 5;
 
     public AJavaSMTAnalysis(IComputation<? extends IExpression> formula, Object... computations) {
-        super(formula, computations);
+        super(
+                formula,
+                Computations.of(SolverSelection.getDefault()),
+                Computations.of(Duration.ZERO),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Boolean.FALSE),
+                computations);
     }
 
     protected AJavaSMTAnalysis(AJavaSMTAnalysis<T> other) {
         super(other);
     }
 
+    @Override
+    @SuppressWarnings("try")
+    public final Result<T> compute(List<Object> dependencyList, Progress progress) {
+        final SolverSelection solvers = getSolvers(dependencyList);
+        if (!solvers.getCapabilities().isEmpty() && solvers.getAvailableSolvers().isEmpty()) {
+            return Result.empty(new Problem(
+                    "none of the solvers " + solvers + " supports " + solvers.getCapabilities(),
+                    Problem.Severity.ERROR));
+        }
+        final String name = getClass().getSimpleName();
+        try (SolverMetrics.Scope scope = SolverMetrics.enterAnalysis(name);
+                SolverMetrics.Timer timer = SolverMetrics.start(SolverMetrics.Phase.ANALYSIS, name)) {
+            return computeCached(dependencyList, progress);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result<T> computeCached(List<Object> dependencyList, Progress progress) {
+        if (BYPASS_CACHE.get(dependencyList) || !isCacheable()) {
+            return analyze(dependencyList, progress);
+        }
+        final ResultCache cache = getResultCache();
+        final String key;
+        try {
+            key = getCacheKey(dependencyList);
+        } catch (final IllegalArgumentException e) {
+            FeatJAR.log().debug("not caching %s: %s", getClass().getSimpleName(), e.getMessage());
+            return analyze(dependencyList, progress);
+        }
+        final Optional<Object> cachedResult = cache.get(key);
+        if (cachedResult.isPresent()) {
+            return Result.of((T) cachedResult.get());
+        }
+        final Result<T> result = analyze(dependencyList, progress);
+        if (result.isPresent() && !result.hasProblems()) {
+            cache.put(key, result.get());
+        }
+        return result;
+    }
+
+    /**
+     * Computes the result of this analysis without consulting the {@link ResultCache}.
+     *
+     * @param dependencyList the values of all dependencies
+     * @param progress the progress
+     * @return the result
+     */
+    protected abstract Result<T> analyze(List<Object> dependencyList, Progress progress);
+
+    /**
+     * Returns whether results of this analysis can be cached.
+     * Analyses whose results are lazy or refer to solver terms should return {@code false}.
+     *
+     * @return whether results can be cached
+     */
+    protected boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Returns the capabilities a backend must provide for this analysis with the given dependency values.
+     *
+     * @param dependencyList the values of all dependencies
+     * @return the required capabilities
+     */
+    protected Set<SolverSelection.Capability> getRequiredCapabilities(List<Object> dependencyList) {
+        return Set.of();
+    }
+
+    /**
+     * Returns the selected backends restricted to those with the {@link #getRequiredCapabilities(List) required
+     * capabilities}. Analyses should obtain their solvers from this selection instead of {@link #SOLVERS}.
+     *
+     * @param dependencyList the values of all dependencies
+     * @return the usable backends
+     */
+    protected SolverSelection getSolvers(List<Object> dependencyList) {
+        return SOLVERS.get(dependencyList).require(getRequiredCapabilities(dependencyList));
+    }
+
+    protected ResultCache getResultCache() {
+        return ResultCache.getDefault();
+    }
+
+    /**
+     * Computes the cache key for the given dependency values.
+     *
+     * @param dependencyList the values of all dependencies
+     * @return the cache key
+     * @throws IllegalArgumentException if a parameter cannot be encoded (see {@link ResultCache#digest(List)})
+     */
+    protected String getCacheKey(List<Object> dependencyList) {
+        final List<Object> parameters = new ArrayList<>();
+        parameters.add(String.valueOf(SOLVERS.get(dependencyList)));
+        parameters.add(TSEITIN.get(dependencyList));
+        parameters.addAll(getCacheKeyParameters(dependencyList));
+        return ExpressionFingerprint.of(FORMULA.get(dependencyList)) + "/" + getClass().getName() + "/"
+                + ResultCache.digest(parameters);
+    }
+
+    /**
+     * Returns the values of the dependencies of this analysis that determine its result, which are part of the
+     * cache key. Analyses with dependencies that only affect how the result is computed, such as a parallelism,
+     * should leave them out.
+     *
+     * @param dependencyList the values of all dependencies
+     * @return the values of all dependencies after {@link #BYPASS_CACHE}
+     */
+    protected List<Object> getCacheKeyParameters(List<Object> dependencyList) {
+        return dependencyList.subList(PARAMETER_OFFSET, dependencyList.size());
+    }
+
+    protected SolverContextPool getSolverContextPool() {
+        return SolverContextPool.getDefault();
+    }
+
     protected JavaSMTSolver newSolver(IExpression formula) {
-        return new JavaSMTSolver(formula, Solvers.SMTINTERPOL);
+        return newSolver(formula, SolverSelection.getDefault());
+    }
+
+    protected JavaSMTSolver newSolver(IExpression formula, SolverSelection solvers) {
+        return newSolver(formula, solvers, false);
+    }
+
+    protected JavaSMTSolver newSolver(IExpression formula, SolverSelection solvers, boolean tseitin) {
+        try {
+            return new JavaSMTSolver(formula, getSolverContextPool().checkout(solvers), tseitin);
+        } catch (final InvalidConfigurationException e) {
+            throw new IllegalStateException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
     }
 
     public JavaSMTSolver initializeSolver(List<Object> dependencyList, boolean empty) {
         IExpression formula = FORMULA.get(dependencyList);
         FeatJAR.log().debug("initializing JavaSmt");
         FeatJAR.log().debug(formula);
-        return newSolver(formula);
+        JavaSMTSolver solver = newSolver(formula, getSolvers(dependencyList), TSEITIN.get(dependencyList));
+        solver.setTimeout(TIMEOUT.get(dependencyList));
+        return solver;
     }
 
     public JavaSMTSolver initializeSolver(List<Object> dependencyList) {
         return initializeSolver(dependencyList, false);
     }
+
+    /**
+     * Creates a further solver for the given backend if a context is available without waiting.
+     * An analysis that already holds a solver must use this method for further solvers (see
+     * {@link SolverContextPool#tryCheckout(Solvers)}).
+     *
+     * @param dependencyList the dependencies
+     * @param backend the backend, typically that of the solver already held
+     * @return the solver, or {@code null} if all contexts of the backend are in use
+     */
+    protected JavaSMTSolver tryInitializeSolver(List<Object> dependencyList, Solvers backend) {
+        final PooledSolverContext context;
+        try {
+            context = getSolverContextPool().tryCheckout(backend);
+        } catch (final InvalidConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+        if (context == null) {
+            return null;
+        }
+        JavaSMTSolver solver = new JavaSMTSolver(FORMULA.get(dependencyList), context, TSEITIN.get(dependencyList));
+        solver.setTimeout(TIMEOUT.get(dependencyList));
+        return solver;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.List;
+
+/**
+ * Values of the boolean variables in a solution, indexed by {@link
+ * de.featjar.analysis.javasmt.solver.FormulaToJavaSMT#getVariableIndex(String) variable index}.
+ */
+final class BooleanValues {
+
+    static final byte TRUE = 1;
+    static final byte FALSE = -1;
+    static final byte UNKNOWN = 0;
+
+    private BooleanValues() {}
+
+    /**
+     * Reads the values of all boolean variables from a solution.
+     * Variables that are not boolean or not assigned in the solution are {@link #UNKNOWN}.
+     *
+     * @param solution the solution
+     * @param variables the variables of the formula, in index order
+     * @return the values
+     */
+    static byte[] of(ValueAssignment solution, List<Variable> variables) {
+        final byte[] values = new byte[variables.size()];
+        for (int i = 0; i < values.length; i++) {
+            final Object value = solution.getValue(variables.get(i).getName()).orElse(null);
+            if (value instanceof Boolean) {
+                values[i] = (Boolean) value ? TRUE : FALSE;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.JavaSMTSession;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * Computes the atomic sets of the boolean variables of a formula, which may also contain numeric constraints.
+ * An atomic set contains variables that have the same value in all solutions.
+ * The result has one entry per {@link FormulaToJavaSMT#getVariableIndex(String) variable index}, which is the
+ * smallest index of a variable in the same atomic set, or {@code -1} for numeric variables.
+ * All checks share a single incremental {@link JavaSMTSession}. Variables are partitioned by their values in the
+ * solutions found so far, and each solution found while checking a pair of variables splits all partitions at once.
+ */
+public class ComputeAtomicSets extends AJavaSMTAnalysis<int[]> {
+
+    public ComputeAtomicSets(IComputation<? extends IExpression> formula) {
+        super(formula);
+    }
+
+    protected ComputeAtomicSets(ComputeAtomicSets other) {
+        super(other);
+    }
+
+    @Override
+    protected Result<int[]> analyze(List<Object> dependencyList, Progress progress) {
+        try (JavaSMTSolver solver = initializeSolver(dependencyList);
+                JavaSMTSession session = solver.newSession()) {
+            final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator();
+            final List<Variable> variables = translator.getVariables();
+            final BooleanFormula[] atoms = new BooleanFormula[variables.size()];
+            final int[] atomicSets = new int[variables.size()];
+            Arrays.fill(atomicSets, -1);
+            final ArrayList<int[]> partitions = new ArrayList<>();
+            int[] partition = new int[atoms.length];
+            int partitionSize = 0;
+            for (int i = 0; i < atoms.length; i++) {
+                if (variables.get(i).getType() == Boolean.class) {
+                    atoms[i] = (BooleanFormula) translator.getVariableFormula(variables.get(i).getName()).orElseThrow();
+                    partition[partitionSize++] = i;
+                }
+            }
+            progress.setTotalSteps(partitionSize);
+
+            final Result<ValueAssignment> firstSolution = session.findSolution();
+            if (firstSolution.isEmpty()) {
+                return firstSolution.getProblems().isEmpty()
+                        ? Result.empty(new Problem("formula is unsatisfiable", Problem.Severity.ERROR))
+                        : Result.empty(firstSolution.getProblems());
+            }
+            partitions.add(Arrays.copyOf(partition, partitionSize));
+            split(partitions, BooleanValues.of(firstSolution.get(), variables));
+
+            for (int p = 0; p < partitions.size(); p++) {
+                int k = 1;
+                while (k < partitions.get(p).length) {
+                    final int[] members = partitions.get(p);
+                    final BooleanFormula representative = atoms[members[0]];
+                    final BooleanFormula member = atoms[members[k]];
+                    Result<ValueAssignment> counterexample =
+                            session.findSolution(List.of(representative, translator.createNot(member)));
+                    if (counterexample.isEmpty() && counterexample.getProblems().isEmpty()) {
+                        counterexample =
+                                session.findSolution(List.of(translator.createNot(representative), member));
+                    }
+                    if (counterexample.isPresent()) {
+                        split(partitions, BooleanValues.of(counterexample.get(), variables));
+                    } else if (counterexample.getProblems().isEmpty()) {
+                        k++;
+                    } else {
+                        return Result.empty(counterexample.getProblems());
+                    }
+                }
+                final int[] members = partitions.get(p);
+                for (int member : members) {
+                    atomicSets[member] = members[0];
+                }
+                progress.incrementCurrentStep(members.length);
+            }
+            return Result.of(atomicSets);
+        } catch (final InterruptedException e) {
+            return Result.empty(e);
+        }
+    }
+
+    /**
+     * Splits each partition into the variables that have the same value as its first variable in the given solution
+     * and those that have the opposite value. Variables without a value stay in their partition. The first part keeps
+     * its position and order, the other part is appended.
+     */
+    private static void split(ArrayList<int[]> partitions, byte[] values) {
+        final int partitionCount = partitions.size();
+        for (int p = 0; p < partitionCount; p++) {
+            final int[] members = partitions.get(p);
+            final byte value = values[members[0]];
+            if (value == BooleanValues.UNKNOWN) {
+                continue;
+            }
+            final int[] same = new int[members.length];
+            final int[] opposite = new int[members.length];
+            int sameCount = 0;
+            int oppositeCount = 0;
+            for (int member : members) {
+                if (values[member] == -value) {
+                    opposite[oppositeCount++] = member;
+                } else {
+                    same[sameCount++] = member;
+                }
+            }
+            if (oppositeCount > 0) {
+                partitions.set(p, Arrays.copyOf(same, sameCount));
+                partitions.add(Arrays.copyOf(opposite, oppositeCount));
+            }
+        }
+    }
+}
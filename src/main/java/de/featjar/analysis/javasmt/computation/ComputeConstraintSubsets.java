@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.ConstraintSubset;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.analysis.javasmt.solver.UnsatisfiableSubsetEnumeration;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enumerates minimal unsatisfiable subsets and minimal correction subsets of the top-level constraints of a formula.
+ * Each MUS explains why the formula is unsatisfiable, and each MCS is a minimal set of constraints to remove to make
+ * it satisfiable. Subsets are computed one after another until all are found, {@link #LIMIT} subsets are found, or
+ * {@link #TIME_BUDGET} is exhausted, and the progress is incremented for each subset. If the enumeration stops before
+ * all subsets are found, the result contains a warning.
+ * The time budget only shortens the solver {@link #TIMEOUT}, it never extends it.
+ *
+ * @see UnsatisfiableSubsetEnumeration
+ */
+public class ComputeConstraintSubsets extends AJavaSMTAnalysis<List<ConstraintSubset>> {
+
+    public static final Dependency<Long> LIMIT = Dependency.newDependency(Long.class);
+    public static final Dependency<Duration> TIME_BUDGET = Dependency.newDependency(Duration.class);
+
+    public ComputeConstraintSubsets(IComputation<? extends IExpression> formula) {
+        super(formula, Computations.of(Long.MAX_VALUE), Computations.of(Duration.ZERO));
+    }
+
+    protected ComputeConstraintSubsets(ComputeConstraintSubsets other) {
+        super(other);
+    }
+
+    /**
+     * Returns the constraints tracked individually, i.e., the children of a top-level conjunction or the expression
+     * itself.
+     *
+     * @param expression the expression
+     * @return the top-level constraints
+     */
+    public static List<? extends IExpression> getTopLevelConstraints(IExpression expression) {
+        return UnsatisfiableSubsetEnumeration.getTopLevelConstraints(expression);
+    }
+
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    protected Result<List<ConstraintSubset>> analyze(List<Object> dependencyList, Progress progress) {
+        IExpression formula = FORMULA.get(dependencyList);
+        SolverSelection solvers = getSolvers(dependencyList);
+        Duration timeout = TIMEOUT.get(dependencyList);
+        boolean tseitin = TSEITIN.get(dependencyList);
+        final UnsatisfiableSubsetEnumeration enumeration = new UnsatisfiableSubsetEnumeration(
+                () -> {
+                    JavaSMTSolver solver = newSolver(formula, solvers, tseitin);
+                    solver.setTimeout(timeout);
+                    return solver;
+                },
+                getTopLevelConstraints(formula),
+                LIMIT.get(dependencyList),
+                TIME_BUDGET.get(dependencyList));
+        final ArrayList<ConstraintSubset> subsets = new ArrayList<>();
+        try (UnsatisfiableSubsetEnumeration.SubsetIterator iterator = enumeration.iterator()) {
+            while (iterator.hasNext()) {
+                subsets.add(iterator.next());
+                progress.incrementCurrentStep();
+            }
+            if (!iterator.isComplete()) {
+                return Result.of(
+                        subsets,
+                        List.of(new Problem(
+                                "enumeration stopped after " + subsets.size()
+                                        + " subsets, as the limit or time budget was reached",
+                                Problem.Severity.WARNING)));
+            }
+        } catch (final IllegalStateException e) {
+            return Result.empty(e);
+        }
+        return Result.of(subsets);
+    }
+}
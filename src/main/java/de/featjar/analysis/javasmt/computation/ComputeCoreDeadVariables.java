@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.JavaSMTSession;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+
+/**
+ * Finds the core and dead boolean variables of a formula, i.e., variables that are true or false in all solutions.
+ * All checks share a single incremental {@link JavaSMTSession}. The first solution determines a candidate value for
+ * each variable. Each candidate is then checked with its negation as an assumption. If this is satisfiable, the new
+ * solution refutes every candidate it assigns differently, so most candidates are dropped without a solver call of
+ * their own.
+ * The result maps each core variable to {@code true} and each dead variable to {@code false}.
+ */
+public class ComputeCoreDeadVariables extends AJavaSMTAnalysis<ValueAssignment> {
+
+    /**
+     * Names of the boolean variables to check. If empty, all boolean variables of the formula are checked.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Dependency<List<String>> VARIABLES = (Dependency) Dependency.newDependency(List.class);
+
+    public ComputeCoreDeadVariables(IComputation<? extends IExpression> formula) {
+        super(formula, Computations.of(List.of()));
+    }
+
+    protected ComputeCoreDeadVariables(ComputeCoreDeadVariables other) {
+        super(other);
+    }
+
+    @Override
+    protected Result<ValueAssignment> analyze(List<Object> dependencyList, Progress progress) {
+        List<String> variableNames = VARIABLES.get(dependencyList);
+        try (JavaSMTSolver solver = initializeSolver(dependencyList);
+                JavaSMTSession session = solver.newSession()) {
+            final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator();
+            if (variableNames.isEmpty()) {
+                variableNames = new ArrayList<>();
+                for (Variable variable : translator.getVariables()) {
+                    if (variable.getType() == Boolean.class) {
+                        variableNames.add(variable.getName());
+                    }
+                }
+            }
+            progress.setTotalSteps(variableNames.size() + 1);
+
+            final Result<ValueAssignment> firstSolution = session.findSolution();
+            if (firstSolution.isEmpty()) {
+                return firstSolution.getProblems().isEmpty()
+                        ? Result.empty(new Problem("formula is unsatisfiable", Problem.Severity.ERROR))
+                        : firstSolution;
+            }
+            progress.incrementCurrentStep();
+
+            final LinkedHashMap<String, Boolean> candidates = new LinkedHashMap<>();
+            for (String name : variableNames) {
+                final Optional<Formula> variable = translator.getVariableFormula(name);
+                if (variable.isPresent() && !(variable.get() instanceof BooleanFormula)) {
+                    return Result.empty(new Problem("not a boolean variable: " + name, Problem.Severity.ERROR));
+                }
+                final Object value = firstSolution.get().getValue(name).orElse(null);
+                candidates.put(name, variable.isEmpty() ? null : (Boolean) value);
+            }
+
+            final LinkedHashMap<String, Object> fixedValues = new LinkedHashMap<>();
+            for (String name : variableNames) {
+                final Boolean candidate = candidates.get(name);
+                if (candidate != null) {
+                    final BooleanFormula atom = (BooleanFormula) translator.getVariableFormula(name).orElseThrow();
+                    final Result<ValueAssignment> solution =
+                            session.findSolution(List.of(candidate ? translator.createNot(atom) : atom));
+                    if (solution.isPresent()) {
+                        refuteCandidates(candidates, solution.get());
+                    } else if (solution.getProblems().isEmpty()) {
+                        fixedValues.put(name, candidate);
+                    } else {
+                        return Result.empty(solution.getProblems());
+                    }
+                }
+                progress.incrementCurrentStep();
+            }
+            return Result.of(new ValueAssignment(fixedValues));
+        } catch (final InterruptedException e) {
+            return Result.empty(e);
+        }
+    }
+
+    private static void refuteCandidates(LinkedHashMap<String, Boolean> candidates, ValueAssignment solution) {
+        for (Map.Entry<String, Boolean> entry : candidates.entrySet()) {
+            final Boolean candidate = entry.getValue();
+            if (candidate != null) {
+                final Object value = solution.getValue(entry.getKey()).orElse(null);
+                if (value != null && !candidate.equals(value)) {
+                    entry.setValue(null);
+                }
+            }
+        }
+    }
+}
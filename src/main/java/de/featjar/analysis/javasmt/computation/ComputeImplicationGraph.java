@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.JavaSMTSession;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.Arrays;
+import java.util.List;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * Computes the implication graph of the boolean variables of a formula, which may also contain numeric constraints.
+ * The result has one row per {@link FormulaToJavaSMT#getVariableIndex(String) variable index}. The row of a boolean
+ * variable contains all literals implied by selecting the variable, where a literal is the variable index plus one,
+ * negated for a deselected variable. Rows of numeric variables are {@code null}, and rows of variables that cannot be
+ * selected are empty.
+ * All checks share a single incremental {@link JavaSMTSession}. The candidates of a row are the literals of a
+ * solution in which the variable is selected, and every further solution found while checking a candidate removes
+ * all candidates it contradicts.
+ */
+public class ComputeImplicationGraph extends AJavaSMTAnalysis<int[][]> {
+
+    public ComputeImplicationGraph(IComputation<? extends IExpression> formula) {
+        super(formula);
+    }
+
+    protected ComputeImplicationGraph(ComputeImplicationGraph other) {
+        super(other);
+    }
+
+    @Override
+    protected Result<int[][]> analyze(List<Object> dependencyList, Progress progress) {
+        try (JavaSMTSolver solver = initializeSolver(dependencyList);
+                JavaSMTSession session = solver.newSession()) {
+            final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator();
+            final List<Variable> variables = translator.getVariables();
+            final BooleanFormula[] atoms = new BooleanFormula[variables.size()];
+            for (int i = 0; i < atoms.length; i++) {
+                if (variables.get(i).getType() == Boolean.class) {
+                    atoms[i] = (BooleanFormula) translator.getVariableFormula(variables.get(i).getName()).orElseThrow();
+                }
+            }
+            progress.setTotalSteps(atoms.length);
+
+            final int[][] graph = new int[atoms.length][];
+            final int[] implied = new int[atoms.length];
+            for (int i = 0; i < atoms.length; i++) {
+                if (atoms[i] == null) {
+                    progress.incrementCurrentStep();
+                    continue;
+                }
+                final Result<ValueAssignment> solution = session.findSolution(List.of(atoms[i]));
+                if (solution.isEmpty()) {
+                    if (!solution.getProblems().isEmpty()) {
+                        return Result.empty(solution.getProblems());
+                    }
+                    graph[i] = new int[0];
+                    progress.incrementCurrentStep();
+                    continue;
+                }
+                final byte[] candidates = BooleanValues.of(solution.get(), variables);
+                candidates[i] = BooleanValues.UNKNOWN;
+                int impliedCount = 0;
+                for (int j = 0; j < atoms.length; j++) {
+                    if (candidates[j] == BooleanValues.UNKNOWN || atoms[j] == null) {
+                        continue;
+                    }
+                    final BooleanFormula negatedCandidate =
+                            candidates[j] == BooleanValues.TRUE ? translator.createNot(atoms[j]) : atoms[j];
+                    final Result<ValueAssignment> counterexample =
+                            session.findSolution(List.of(atoms[i], negatedCandidate));
+                    if (counterexample.isPresent()) {
+                        final byte[] values = BooleanValues.of(counterexample.get(), variables);
+                        for (int k = j; k < atoms.length; k++) {
+                            if (values[k] != candidates[k]) {
+                                candidates[k] = BooleanValues.UNKNOWN;
+                            }
+                        }
+                    } else if (counterexample.getProblems().isEmpty()) {
+                        implied[impliedCount++] = candidates[j] == BooleanValues.TRUE ? j + 1 : -(j + 1);
+                    } else {
+                        return Result.empty(counterexample.getProblems());
+                    }
+                }
+                graph[i] = Arrays.copyOf(implied, impliedCount);
+                progress.incrementCurrentStep();
+            }
+            return Result.of(graph);
+        } catch (final InterruptedException e) {
+            return Result.empty(e);
+        }
+    }
+}
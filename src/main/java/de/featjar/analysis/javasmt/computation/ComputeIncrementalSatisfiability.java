@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSession;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IExpression;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the satisfiability of a formula under each of a list of (partial) assignments.
+ * All checks share a single incremental {@link JavaSMTSession}, such that the solver only learns the formula once.
+ */
+public class ComputeIncrementalSatisfiability extends AJavaSMTAnalysis<List<Boolean>> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Dependency<List<ValueAssignment>> ASSUMPTIONS =
+            (Dependency) Dependency.newDependency(List.class);
+
+    public ComputeIncrementalSatisfiability(
+            IComputation<? extends IExpression> formula, IComputation<List<ValueAssignment>> assumptions) {
+        super(formula, assumptions);
+    }
+
+    protected ComputeIncrementalSatisfiability(ComputeIncrementalSatisfiability other) {
+        super(other);
+    }
+
+    @Override
+    protected Result<List<Boolean>> analyze(List<Object> dependencyList, Progress progress) {
+        List<ValueAssignment> assumptions = ASSUMPTIONS.get(dependencyList);
+        progress.setTotalSteps(assumptions.size());
+        try (JavaSMTSolver solver = initializeSolver(dependencyList);
+                JavaSMTSession session = solver.newSession()) {
+            final ArrayList<Boolean> results = new ArrayList<>(assumptions.size());
+            for (ValueAssignment assumption : assumptions) {
+                Result<Boolean> result = session.hasSolution(assumption);
+                if (result.isEmpty()) {
+                    return Result.empty(result.getProblems());
+                }
+                results.add(result.get());
+                progress.incrementCurrentStep();
+            }
+            return Result.of(results);
+        } catch (final InterruptedException e) {
+            return Result.empty(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.Objective;
+import de.featjar.analysis.javasmt.solver.OptimumEnumeration;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes optimal solutions of a formula with respect to several {@link #OBJECTIVES}, which are combined according
+ * to {@link #MODE}.
+ * Like {@link ComputeSolutions}, the result does not contain any solutions itself; each iteration over it starts a
+ * new optimization that streams optima as soon as they are proven, which allows consuming a Pareto front
+ * incrementally. Each iteration stops after {@link #LIMIT} optima or when {@link #TIME_BUDGET} is exhausted.
+ *
+ * @see OptimumEnumeration
+ */
+public class ComputeOptimum extends AJavaSMTAnalysis<OptimumEnumeration> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Dependency<List<Objective>> OBJECTIVES = (Dependency) Dependency.newDependency(List.class);
+
+    public static final Dependency<OptimumEnumeration.Mode> MODE =
+            Dependency.newDependency(OptimumEnumeration.Mode.class);
+    public static final Dependency<Long> LIMIT = Dependency.newDependency(Long.class);
+    public static final Dependency<Duration> TIME_BUDGET = Dependency.newDependency(Duration.class);
+
+    public ComputeOptimum(IComputation<? extends IExpression> formula) {
+        super(
+                formula,
+                Computations.of(List.of()),
+                Computations.of(OptimumEnumeration.Mode.LEXICOGRAPHIC),
+                Computations.of(Long.MAX_VALUE),
+                Computations.of(Duration.ZERO));
+    }
+
+    protected ComputeOptimum(ComputeOptimum other) {
+        super(other);
+    }
+
+    @Override
+    protected Set<SolverSelection.Capability> getRequiredCapabilities(List<Object> dependencyList) {
+        return MODE.get(dependencyList) == OptimumEnumeration.Mode.PARETO
+                ? Set.of()
+                : Set.of(SolverSelection.Capability.OPTIMIZATION);
+    }
+
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    protected Result<OptimumEnumeration> analyze(List<Object> dependencyList, Progress progress) {
+        IExpression formula = FORMULA.get(dependencyList);
+        SolverSelection solvers = getSolvers(dependencyList);
+        Duration timeout = TIMEOUT.get(dependencyList);
+        boolean tseitin = TSEITIN.get(dependencyList);
+        List<Objective> objectives = OBJECTIVES.get(dependencyList);
+        if (objectives.isEmpty()) {
+            return Result.empty(new Problem("no objectives given", Problem.Severity.ERROR));
+        }
+        return Result.of(new OptimumEnumeration(
+                () -> {
+                    JavaSMTSolver solver = newSolver(formula, solvers, tseitin);
+                    solver.setTimeout(timeout);
+                    return solver;
+                },
+                MODE.get(dependencyList),
+                objectives,
+                LIMIT.get(dependencyList),
+                TIME_BUDGET.get(dependencyList)));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.PortfolioSolver;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import java.util.List;
+
+/**
+ * Checks whether a formula is satisfiable by racing all available backends of {@link #SOLVERS} in parallel.
+ * The first definitive answer is returned and the remaining backends are stopped.
+ *
+ * @see PortfolioSolver
+ */
+public class ComputePortfolioSatisfiability extends AJavaSMTAnalysis<Boolean> {
+
+    public ComputePortfolioSatisfiability(IComputation<? extends IExpression> formula) {
+        super(formula);
+    }
+
+    protected ComputePortfolioSatisfiability(ComputePortfolioSatisfiability other) {
+        super(other);
+    }
+
+    @Override
+    protected Result<Boolean> analyze(List<Object> dependencyList, Progress progress) {
+        try {
+            PortfolioSolver solver = new PortfolioSolver(
+                    FORMULA.get(dependencyList), getSolvers(dependencyList), getSolverContextPool());
+            solver.setTimeout(TIMEOUT.get(dependencyList));
+            solver.setTseitin(TSEITIN.get(dependencyList));
+            return solver.solve(JavaSMTSolver::hasSolution);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.empty(e);
+        }
+    }
+}
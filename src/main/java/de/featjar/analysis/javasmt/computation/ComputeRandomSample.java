@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.RandomSampler;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IExpression;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Computes a sample of {@link #SIZE} pairwise distinct solutions of a formula that are spread over its solution
+ * space, in contrast to {@link ComputeSolution}, which returns whatever solution the solver finds first.
+ * The sample is reproducible for a fixed {@link #SEED} and solver.
+ * The sample is smaller than requested if the formula does not have enough distinct solutions.
+ *
+ * @see RandomSampler
+ */
+public class ComputeRandomSample extends AJavaSMTAnalysis<List<ValueAssignment>> {
+
+    public static final Dependency<Long> SIZE = Dependency.newDependency(Long.class);
+    public static final Dependency<Long> SEED = Dependency.newDependency(Long.class);
+    public static final Dependency<RandomSampler.Strategy> STRATEGY =
+            Dependency.newDependency(RandomSampler.Strategy.class);
+
+    public ComputeRandomSample(IComputation<? extends IExpression> formula) {
+        super(
+                formula,
+                Computations.of(1L),
+                Computations.of(1L),
+                Computations.of(RandomSampler.Strategy.RANDOM_PHASE));
+    }
+
+    protected ComputeRandomSample(ComputeRandomSample other) {
+        super(other);
+    }
+
+    @Override
+    protected Set<SolverSelection.Capability> getRequiredCapabilities(List<Object> dependencyList) {
+        return STRATEGY.get(dependencyList) == RandomSampler.Strategy.RANDOM_OBJECTIVE
+                ? Set.of(SolverSelection.Capability.OPTIMIZATION)
+                : Set.of();
+    }
+
+    @Override
+    protected Result<List<ValueAssignment>> analyze(List<Object> dependencyList, Progress progress) {
+        final RandomSampler.Strategy strategy = STRATEGY.get(dependencyList);
+        try (JavaSMTSolver solver = initializeSolver(dependencyList);
+                RandomSampler sampler = new RandomSampler(solver, strategy, new Random(SEED.get(dependencyList)))) {
+            return sampler.sample(SIZE.get(dependencyList), progress);
+        } catch (final UnsupportedOperationException e) {
+            return Result.empty(new Problem(
+                    "sampling strategy " + strategy + " is not supported by the selected solver",
+                    Problem.Severity.ERROR));
+        } catch (final InterruptedException e) {
+            return Result.empty(e);
+        }
+    }
+}
@@ -20,6 +20,7 @@
  */
 package de.featjar.analysis.javasmt.computation;
 
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
@@ -42,7 +43,9 @@ public class ComputeSatisfiability extends AJavaSMTAnalysis<Boolean> {
     }
 
     @Override
-    public Result<Boolean> compute(List<Object> dependencyList, Progress progress) {
-        return initializeSolver(dependencyList).hasSolution();
+    protected Result<Boolean> analyze(List<Object> dependencyList, Progress progress) {
+        try (JavaSMTSolver solver = initializeSolver(dependencyList)) {
+            return solver.hasSolution();
+        }
     }
 }
@@ -20,6 +20,7 @@
  */
 package de.featjar.analysis.javasmt.computation;
 
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
@@ -43,7 +44,9 @@ public class ComputeSolution extends AJavaSMTAnalysis<ValueAssignment> {
     }
 
     @Override
-    public Result<ValueAssignment> compute(List<Object> dependencyList, Progress progress) {
-        return initializeSolver(dependencyList).findSolution();
+    protected Result<ValueAssignment> analyze(List<Object> dependencyList, Progress progress) {
+        try (JavaSMTSolver solver = initializeSolver(dependencyList)) {
+            return solver.findSolution();
+        }
     }
 }
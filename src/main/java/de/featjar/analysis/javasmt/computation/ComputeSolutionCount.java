@@ -20,6 +20,10 @@
  */
 package de.featjar.analysis.javasmt.computation;
 
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.ParallelSolutionCounter;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
@@ -34,12 +38,49 @@ import java.util.List;
  */
 public class ComputeSolutionCount extends AJavaSMTAnalysis<BigInteger> {
 
+    /**
+     * Names of the boolean variables to project the count onto. If empty, all boolean variables are counted.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Dependency<List<String>> PROJECTION = (Dependency) Dependency.newDependency(List.class);
+
+    /**
+     * Number of threads for counting. If greater than one, the search space is split into cubes that are counted in
+     * parallel, each thread using its own solver context, as far as the solver context pool has contexts available.
+     */
+    public static final Dependency<Integer> PARALLELISM = Dependency.newDependency(Integer.class);
+
     public ComputeSolutionCount(IComputation<? extends IExpression> formula) {
-        super(formula);
+        super(formula, Computations.of(List.of()), Computations.of(1));
+    }
+
+    @Override
+    protected List<Object> getCacheKeyParameters(List<Object> dependencyList) {
+        return List.of(PROJECTION.get(dependencyList));
     }
 
     @Override
-    public Result<BigInteger> compute(List<Object> dependencyList, Progress progress) {
-        return initializeSolver(dependencyList).countSolutions();
+    protected Result<BigInteger> analyze(List<Object> dependencyList, Progress progress) {
+        List<String> projection = PROJECTION.get(dependencyList);
+        int parallelism = PARALLELISM.get(dependencyList);
+        if (parallelism > 1) {
+            ParallelSolutionCounter counter = new ParallelSolutionCounter(
+                    FORMULA.get(dependencyList), getSolvers(dependencyList), parallelism);
+            counter.setProjection(projection);
+            counter.setSolverContextPool(getSolverContextPool());
+            counter.setTimeout(TIMEOUT.get(dependencyList));
+            counter.setTseitin(TSEITIN.get(dependencyList));
+            try {
+                return counter.count(progress);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Result.empty(e);
+            }
+        }
+        try (JavaSMTSolver solver = initializeSolver(dependencyList)) {
+            return projection.isEmpty()
+                    ? solver.countSolutions(progress)
+                    : solver.countSolutions(projection, progress);
+        }
     }
 }
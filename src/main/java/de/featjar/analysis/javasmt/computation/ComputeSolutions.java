@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolutionEnumeration;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Enumerates distinct solutions of a formula lazily.
+ * The result does not contain any solutions itself; each iteration over it starts a new enumeration that computes
+ * solutions on demand and stops after {@link #LIMIT} solutions.
+ *
+ * @see SolutionEnumeration
+ */
+public class ComputeSolutions extends AJavaSMTAnalysis<SolutionEnumeration> {
+
+    public static final Dependency<Long> LIMIT = Dependency.newDependency(Long.class);
+
+    public ComputeSolutions(IComputation<? extends IExpression> formula) {
+        super(formula, Computations.of(Long.MAX_VALUE));
+    }
+
+    protected ComputeSolutions(ComputeSolutions other) {
+        super(other);
+    }
+
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    protected Result<SolutionEnumeration> analyze(List<Object> dependencyList, Progress progress) {
+        IExpression formula = FORMULA.get(dependencyList);
+        SolverSelection solvers = getSolvers(dependencyList);
+        Duration timeout = TIMEOUT.get(dependencyList);
+        boolean tseitin = TSEITIN.get(dependencyList);
+        return Result.of(new SolutionEnumeration(
+                () -> {
+                    JavaSMTSolver solver = newSolver(formula, solvers, tseitin);
+                    solver.setTimeout(timeout);
+                    return solver;
+                },
+                LIMIT.get(dependencyList)));
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.JavaSMTSession;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * Computes a sample of solutions that covers all feasible t-wise interactions of the boolean variables of a formula,
+ * which may also contain numeric constraints.
+ * Interactions are processed in a fixed order and greedily added to the first configuration they are compatible with,
+ * similar to YASA. A configuration is a partial assignment together with a solution that extends it, so an
+ * interaction that is already satisfied by this solution is added without a solver call. Otherwise, the configuration
+ * extended by the interaction is checked in an incremental {@link JavaSMTSession}, and an interaction that fits no
+ * configuration starts a new one. Done interactions are tracked in an {@link InteractionCoverage}.
+ * With a {@link #PARALLELISM} greater than one, the candidate configurations of an interaction are checked in
+ * parallel, each worker with its own solver context. As the analysis already holds the context of its first worker,
+ * further workers are only created for contexts that are available without waiting, so the effective parallelism
+ * may be lower if other analyses use the solver context pool at the same time.
+ * For a fixed effective parallelism, each worker receives the same sequence of checks, so the result is
+ * reproducible.
+ * Each configuration in the result assigns all boolean variables.
+ */
+public class ComputeTWiseSample extends AJavaSMTAnalysis<List<ValueAssignment>> {
+
+    public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
+    public static final Dependency<Integer> PARALLELISM = Dependency.newDependency(Integer.class);
+
+    private static final class Configuration {
+        private final byte[] values;
+        private final int[] assigned;
+        private int assignedCount;
+        private byte[] solution;
+        private ValueAssignment assignment;
+
+        private Configuration(int variableCount) {
+            values = new byte[variableCount];
+            assigned = new int[variableCount];
+        }
+    }
+
+    private static final class Worker implements AutoCloseable {
+        private final JavaSMTSolver solver;
+        private final JavaSMTSession session;
+        private final BooleanFormula[] atoms;
+        private final FormulaToJavaSMT translator;
+
+        private Worker(JavaSMTSolver solver, int[] variableIndices) throws InterruptedException {
+            this.solver = solver;
+            try {
+                session = solver.newSession();
+            } catch (final InterruptedException | RuntimeException e) {
+                solver.close();
+                throw e;
+            }
+            translator = solver.getSolverFormula().getTranslator();
+            final List<Variable> variables = translator.getVariables();
+            atoms = new BooleanFormula[variableIndices.length];
+            for (int p = 0; p < atoms.length; p++) {
+                atoms[p] = (BooleanFormula) translator
+                        .getVariableFormula(variables.get(variableIndices[p]).getName())
+                        .orElseThrow();
+            }
+        }
+
+        private Result<ValueAssignment> check(Configuration configuration, int[] positions, int values) {
+            final ArrayList<BooleanFormula> assumptions = new ArrayList<>();
+            if (configuration != null) {
+                for (int i = 0; i < configuration.assignedCount; i++) {
+                    final int p = configuration.assigned[i];
+                    assumptions.add(literal(p, configuration.values[p] == BooleanValues.TRUE));
+                }
+            }
+            for (int i = 0; i < positions.length; i++) {
+                assumptions.add(literal(positions[i], (values & (1 << i)) != 0));
+            }
+            return session.findSolution(assumptions);
+        }
+
+        private BooleanFormula literal(int position, boolean selected) {
+            return selected ? atoms[position] : translator.createNot(atoms[position]);
+        }
+
+        @Override
+        public void close() {
+            session.close();
+            solver.close();
+        }
+    }
+
+    private static final class Sampling {
+        private final List<Variable> variables;
+        private final int[] variableIndices;
+        private final InteractionCoverage coverage;
+        private final Worker[] workers;
+        private final ExecutorService executor;
+        private final ArrayList<Configuration> configurations = new ArrayList<>();
+
+        private Sampling(
+                List<Variable> variables,
+                int[] variableIndices,
+                InteractionCoverage coverage,
+                Worker[] workers,
+                ExecutorService executor) {
+            this.variables = variables;
+            this.variableIndices = variableIndices;
+            this.coverage = coverage;
+            this.workers = workers;
+            this.executor = executor;
+        }
+
+        private Result<?> cover(int[] positions, int values) throws InterruptedException, ExecutionException {
+            final ArrayList<Configuration> candidates = new ArrayList<>();
+            for (Configuration configuration : configurations) {
+                switch (compare(configuration, positions, values)) {
+                    case 2:
+                        add(configuration, positions, values, null);
+                        return Result.of(configuration);
+                    case 1:
+                        candidates.add(configuration);
+                        break;
+                    default:
+                }
+            }
+
+            for (int first = 0; first < candidates.size(); first += workers.length) {
+                final int batchSize = Math.min(workers.length, candidates.size() - first);
+                final ArrayList<Result<ValueAssignment>> results = new ArrayList<>(batchSize);
+                if (executor == null || batchSize == 1) {
+                    for (int i = 0; i < batchSize; i++) {
+                        results.add(workers[i].check(candidates.get(first + i), positions, values));
+                    }
+                } else {
+                    final ArrayList<Future<Result<ValueAssignment>>> futures = new ArrayList<>(batchSize);
+                    for (int i = 0; i < batchSize; i++) {
+                        final Worker worker = workers[i];
+                        final Configuration candidate = candidates.get(first + i);
+                        futures.add(executor.submit(
+                                SolverMetrics.propagate(() -> worker.check(candidate, positions, values))));
+                    }
+                    for (Future<Result<ValueAssignment>> future : futures) {
+                        results.add(future.get());
+                    }
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    final Result<ValueAssignment> result = results.get(i);
+                    if (result.isPresent()) {
+                        final Configuration candidate = candidates.get(first + i);
+                        add(candidate, positions, values, result.get());
+                        return Result.of(candidate);
+                    } else if (!result.getProblems().isEmpty()) {
+                        return result;
+                    }
+                }
+            }
+
+            final Result<ValueAssignment> alone = workers[0].check(null, positions, values);
+            if (alone.isEmpty()) {
+                if (alone.getProblems().isEmpty()) {
+                    coverage.markDone(coverage.indexOf(positions, values));
+                    return Result.of(positions);
+                }
+                return alone;
+            }
+            final Configuration configuration = new Configuration(variableIndices.length);
+            add(configuration, positions, values, alone.get());
+            configurations.add(configuration);
+            return Result.of(configuration);
+        }
+
+        /**
+         * Compares a configuration with an interaction.
+         *
+         * @return 0 if they contradict each other, 1 if they are compatible, and 2 if the solution of the
+         *     configuration also satisfies the interaction
+         */
+        private int compare(Configuration configuration, int[] positions, int values) {
+            boolean satisfied = true;
+            for (int i = 0; i < positions.length; i++) {
+                final byte value = (values & (1 << i)) != 0 ? BooleanValues.TRUE : BooleanValues.FALSE;
+                if (configuration.values[positions[i]] == -value) {
+                    return 0;
+                }
+                final byte solutionValue = configuration.solution[variableIndices[positions[i]]];
+                satisfied &= solutionValue == value || solutionValue == BooleanValues.UNKNOWN;
+            }
+            return satisfied ? 2 : 1;
+        }
+
+        /**
+         * Adds an interaction to a configuration and marks all interactions that become covered as done.
+         * These are all interactions of assigned variables that contain at least one newly assigned variable.
+         */
+        private void add(Configuration configuration, int[] positions, int values, ValueAssignment solution) {
+            if (solution != null) {
+                configuration.assignment = solution;
+                configuration.solution = BooleanValues.of(solution, variables);
+            }
+            final int oldCount = configuration.assignedCount;
+            for (int i = 0; i < positions.length; i++) {
+                final int p = positions[i];
+                if (configuration.values[p] == BooleanValues.UNKNOWN) {
+                    configuration.values[p] = (values & (1 << i)) != 0 ? BooleanValues.TRUE : BooleanValues.FALSE;
+                    configuration.assigned[configuration.assignedCount++] = p;
+                }
+            }
+            final int t = positions.length;
+            final int[] others = new int[t - 1];
+            final int[] interaction = new int[t];
+            final int otherCount = configuration.assignedCount - 1;
+            for (int n = oldCount; n < configuration.assignedCount; n++) {
+                // each covered interaction is marked once, together with its first newly assigned variable
+                for (int i = 0; i < t - 1; i++) {
+                    others[i] = i;
+                }
+                do {
+                    boolean first = true;
+                    for (int i = 0; i < t - 1 && first; i++) {
+                        final int k = others[i] < n ? others[i] : others[i] + 1;
+                        first = k < oldCount || k > n;
+                        interaction[i] = configuration.assigned[k];
+                    }
+                    if (first) {
+                        interaction[t - 1] = configuration.assigned[n];
+                        coverage.markDone(indexOf(configuration, interaction));
+                    }
+                } while (nextCombination(others, otherCount));
+            }
+        }
+
+        private long indexOf(Configuration configuration, int[] interaction) {
+            for (int i = 1; i < interaction.length; i++) {
+                final int p = interaction[i];
+                int j = i - 1;
+                while (j >= 0 && interaction[j] > p) {
+                    interaction[j + 1] = interaction[j];
+                    j--;
+                }
+                interaction[j + 1] = p;
+            }
+            int values = 0;
+            for (int i = 0; i < interaction.length; i++) {
+                if (configuration.values[interaction[i]] == BooleanValues.TRUE) {
+                    values |= 1 << i;
+                }
+            }
+            return coverage.indexOf(interaction, values);
+        }
+
+        private ValueAssignment complete(Configuration configuration) {
+            final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            int p = 0;
+            for (int i = 0; i < variables.size(); i++) {
+                final String name = variables.get(i).getName();
+                if (p < variableIndices.length && variableIndices[p] == i) {
+                    final byte value = configuration.values[p] != BooleanValues.UNKNOWN
+                            ? configuration.values[p]
+                            : configuration.solution[i];
+                    values.put(name, value == BooleanValues.TRUE);
+                    p++;
+                } else {
+                    configuration.assignment.getValue(name).ifPresent(value -> values.put(name, value));
+                }
+            }
+            return new ValueAssignment(values);
+        }
+    }
+
+    public ComputeTWiseSample(IComputation<? extends IExpression> formula) {
+        super(formula, Computations.of(2), Computations.of(1));
+    }
+
+    protected ComputeTWiseSample(ComputeTWiseSample other) {
+        super(other);
+    }
+
+    @Override
+    protected List<Object> getCacheKeyParameters(List<Object> dependencyList) {
+        return List.of(T.get(dependencyList));
+    }
+
+    @Override
+    protected Result<List<ValueAssignment>> analyze(List<Object> dependencyList, Progress progress) {
+        final int t = T.get(dependencyList);
+        final int parallelism = Math.max(
+                1, Math.min(PARALLELISM.get(dependencyList), getSolverContextPool().getMaximumSize()));
+        final Worker[] workers = new Worker[parallelism];
+        ExecutorService executor = null;
+        try {
+            final JavaSMTSolver firstSolver = initializeSolver(dependencyList);
+            final List<Variable> variables = firstSolver.getSolverFormula().getTranslator().getVariables();
+            final int[] variableIndices = new int[variables.size()];
+            int variableCount = 0;
+            for (int i = 0; i < variableIndices.length; i++) {
+                if (variables.get(i).getType() == Boolean.class) {
+                    variableIndices[variableCount++] = i;
+                }
+            }
+            final int[] booleanIndices = Arrays.copyOf(variableIndices, variableCount);
+            workers[0] = new Worker(firstSolver, booleanIndices);
+            if (booleanIndices.length < t) {
+                return Result.empty(new Problem(
+                        "formula has fewer than " + t + " boolean variables", Problem.Severity.ERROR));
+            }
+            final InteractionCoverage coverage;
+            try {
+                coverage = new InteractionCoverage(booleanIndices.length, t);
+            } catch (final IllegalArgumentException e) {
+                return Result.empty(new Problem(e.getMessage(), Problem.Severity.ERROR));
+            }
+            // the first context is already held, so waiting for further ones could deadlock with other analyses
+            int workerCount = 1;
+            while (workerCount < parallelism) {
+                final JavaSMTSolver solver = tryInitializeSolver(dependencyList, firstSolver.getBackend());
+                if (solver == null) {
+                    break;
+                }
+                workers[workerCount++] = new Worker(solver, booleanIndices);
+            }
+            if (workerCount > 1) {
+                executor = Executors.newFixedThreadPool(workerCount);
+            }
+            final Sampling sampling = new Sampling(
+                    variables, booleanIndices, coverage, Arrays.copyOf(workers, workerCount), executor);
+            progress.setTotalSteps(coverage.getCombinationCount());
+
+            final int[] positions = new int[t];
+            for (int i = 0; i < t; i++) {
+                positions[i] = i;
+            }
+            do {
+                for (int values = 0; values < 1 << t; values++) {
+                    if (!coverage.isDone(coverage.indexOf(positions, values))) {
+                        final Result<?> result = sampling.cover(positions, values);
+                        if (result.isEmpty()) {
+                            return Result.empty(result.getProblems());
+                        }
+                    }
+                }
+                progress.incrementCurrentStep();
+            } while (nextCombination(positions, booleanIndices.length));
+
+            final ArrayList<ValueAssignment> sample = new ArrayList<>(sampling.configurations.size());
+            for (Configuration configuration : sampling.configurations) {
+                sample.add(sampling.complete(configuration));
+            }
+            return Result.of(sample);
+        } catch (final ExecutionException e) {
+            return Result.empty(new Problem(e.getCause()));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.empty(e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            for (Worker worker : workers) {
+                if (worker != null) {
+                    worker.close();
+                }
+            }
+        }
+    }
+
+    private static boolean nextCombination(int[] combination, int n) {
+        final int k = combination.length;
+        int i = k - 1;
+        while (i >= 0 && combination[i] == n - k + i) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        combination[i]++;
+        for (int j = i + 1; j < k; j++) {
+            combination[j] = combination[j - 1] + 1;
+        }
+        return true;
+    }
+}
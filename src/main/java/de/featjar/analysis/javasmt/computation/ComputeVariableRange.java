@@ -21,12 +21,17 @@
 package de.featjar.analysis.javasmt.computation;
 
 import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
 import de.featjar.formula.structure.IExpression;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.sosy_lab.java_smt.api.Formula;
 
 /**
@@ -49,7 +54,11 @@ public class ComputeVariableRange extends AJavaSMTAnalysis<Object[]> {
     public static final Dependency<String> VARIABLE = Dependency.newDependency(String.class);
 
     public ComputeVariableRange(IComputation<? extends IExpression> formula) {
-        super(formula);
+        this(formula, Computations.of(""));
+    }
+
+    public ComputeVariableRange(IComputation<? extends IExpression> formula, IComputation<String> variable) {
+        super(formula, variable);
     }
 
     protected ComputeVariableRange(AJavaSMTAnalysis<Object[]> other) {
@@ -57,16 +66,25 @@ public class ComputeVariableRange extends AJavaSMTAnalysis<Object[]> {
     }
 
     @Override
-    public Result<Object[]> compute(List<Object> dependencyList, Progress progress) {
-        JavaSMTSolver solver = initializeSolver(dependencyList);
-        String variableName = VARIABLE.get(dependencyList);
-        final Object[] result = new Object[2];
-        Formula variable = solver.getSolverFormula()
-                .getTranslator()
-                .getVariableFormula(variableName)
-                .orElseThrow();
-        result[0] = solver.minimize(variable);
-        result[1] = solver.maximize(variable);
-        return Result.ofNullable(result);
+    protected Set<SolverSelection.Capability> getRequiredCapabilities(List<Object> dependencyList) {
+        return Set.of(SolverSelection.Capability.OPTIMIZATION);
+    }
+
+    @Override
+    protected Result<Object[]> analyze(List<Object> dependencyList, Progress progress) {
+        try (JavaSMTSolver solver = initializeSolver(dependencyList)) {
+            String variableName = VARIABLE.get(dependencyList);
+            Optional<Formula> variable =
+                    solver.getSolverFormula().getTranslator().getVariableFormula(variableName);
+            if (variable.isEmpty()) {
+                return Result.empty(new Problem("unknown variable " + variableName, Problem.Severity.ERROR));
+            }
+            progress.setTotalSteps(1);
+            final Result<List<Object[]>> ranges = solver.computeRanges(List.of(variable.get()), progress);
+            if (ranges.isEmpty()) {
+                return Result.empty(ranges.getProblems());
+            }
+            return Result.of(ranges.get().get(0));
+        }
     }
 }
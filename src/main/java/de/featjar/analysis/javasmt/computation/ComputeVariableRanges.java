@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.term.value.Variable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.sosy_lab.java_smt.api.Formula;
+
+/**
+ * Finds the minimum and maximum value of many numeric variables at once.
+ * All bounds of a group of variables are computed with a single optimization prover (see
+ * {@link JavaSMTSolver#computeRanges(List)}), instead of one prover per bound as in {@link ComputeVariableRange}.
+ * With a {@link #PARALLELISM} greater than one, the variables are split into disjoint groups that are solved in
+ * parallel, each with its own solver context.
+ * The result maps each variable name to an array containing its lower and upper bound.
+ */
+public class ComputeVariableRanges extends AJavaSMTAnalysis<Map<String, Object[]>> {
+
+    /**
+     * Names of the numeric variables to compute ranges for. If empty, all numeric variables of the formula are used.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Dependency<List<String>> VARIABLES = (Dependency) Dependency.newDependency(List.class);
+
+    public static final Dependency<Integer> PARALLELISM = Dependency.newDependency(Integer.class);
+
+    public ComputeVariableRanges(IComputation<? extends IExpression> formula) {
+        super(formula, Computations.of(List.of()), Computations.of(1));
+    }
+
+    protected ComputeVariableRanges(ComputeVariableRanges other) {
+        super(other);
+    }
+
+    @Override
+    protected Set<SolverSelection.Capability> getRequiredCapabilities(List<Object> dependencyList) {
+        return Set.of(SolverSelection.Capability.OPTIMIZATION);
+    }
+
+    @Override
+    protected List<Object> getCacheKeyParameters(List<Object> dependencyList) {
+        return List.of(VARIABLES.get(dependencyList));
+    }
+
+    @Override
+    protected Result<Map<String, Object[]>> analyze(List<Object> dependencyList, Progress progress) {
+        List<String> variableNames = VARIABLES.get(dependencyList);
+        int parallelism = PARALLELISM.get(dependencyList);
+        if (variableNames.isEmpty()) {
+            variableNames = getNumericVariables(FORMULA.get(dependencyList));
+        }
+        progress.setTotalSteps(variableNames.size());
+        if (parallelism <= 1 || variableNames.size() <= 1) {
+            return computeGroup(dependencyList, variableNames, progress);
+        }
+        return computeGroups(dependencyList, variableNames, Math.min(parallelism, variableNames.size()), progress);
+    }
+
+    /**
+     * Collects the integer and real variables of a formula without translating it.
+     *
+     * @param formula the formula
+     * @return the names of the numeric variables, in order of occurrence
+     */
+    private static List<String> getNumericVariables(IExpression formula) {
+        final LinkedHashSet<String> variableNames = new LinkedHashSet<>();
+        final ArrayDeque<IExpression> stack = new ArrayDeque<>();
+        stack.push(formula);
+        while (!stack.isEmpty()) {
+            final IExpression node = stack.pop();
+            if (node instanceof Variable) {
+                final Class<?> type = ((Variable) node).getType();
+                if (type == Long.class || type == Double.class) {
+                    variableNames.add(((Variable) node).getName());
+                }
+            }
+            final List<? extends IExpression> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return new ArrayList<>(variableNames);
+    }
+
+    private Result<Map<String, Object[]>> computeGroups(
+            List<Object> dependencyList, List<String> variableNames, int groupCount, Progress progress) {
+        final ExecutorService executor = Executors.newFixedThreadPool(groupCount);
+        try {
+            final ArrayList<Future<Result<Map<String, Object[]>>>> futures = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                final List<String> group = new ArrayList<>();
+                for (int j = i; j < variableNames.size(); j += groupCount) {
+                    group.add(variableNames.get(j));
+                }
+                futures.add(executor.submit(
+                        SolverMetrics.propagate(() -> computeGroup(dependencyList, group, progress))));
+            }
+            final LinkedHashMap<String, Object[]> ranges = new LinkedHashMap<>();
+            for (Future<Result<Map<String, Object[]>>> future : futures) {
+                final Result<Map<String, Object[]>> result = future.get();
+                if (result.isEmpty()) {
+                    return result;
+                }
+                ranges.putAll(result.get());
+            }
+            final LinkedHashMap<String, Object[]> orderedRanges = new LinkedHashMap<>();
+            for (String name : variableNames) {
+                orderedRanges.put(name, ranges.get(name));
+            }
+            return Result.of(orderedRanges);
+        } catch (final ExecutionException e) {
+            return Result.empty(new Problem(e.getCause()));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.empty(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result<Map<String, Object[]>> computeGroup(
+            List<Object> dependencyList, List<String> variableNames, Progress progress) {
+        IExpression formula = FORMULA.get(dependencyList);
+        SolverSelection solvers = getSolvers(dependencyList);
+        Duration timeout = TIMEOUT.get(dependencyList);
+        try (JavaSMTSolver solver = newSolver(formula, solvers, TSEITIN.get(dependencyList))) {
+            solver.setTimeout(timeout);
+            final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator();
+            final ArrayList<Formula> variables = new ArrayList<>(variableNames.size());
+            for (String name : variableNames) {
+                final Optional<Formula> variable = translator.getVariableFormula(name);
+                if (variable.isEmpty()) {
+                    return Result.empty(new Problem("unknown variable " + name, Problem.Severity.ERROR));
+                }
+                variables.add(variable.get());
+            }
+            return solver.computeRanges(variables, progress).map(bounds -> {
+                final LinkedHashMap<String, Object[]> ranges = new LinkedHashMap<>();
+                for (int i = 0; i < variableNames.size(); i++) {
+                    ranges.put(variableNames.get(i), bounds.get(i));
+                }
+                return ranges;
+            });
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.computation;
+
+/**
+ * Tracks which t-wise interactions of boolean variables are done, i.e., covered by a configuration or known to be
+ * infeasible.
+ * An interaction assigns a value to each of t distinct variables. It is identified by the positions of its variables
+ * in ascending order and a bit mask of their values, where bit i is set if the i-th variable is selected.
+ * Each interaction is mapped to a unique index in a bit set of size {@code C(n, t) * 2^t}, using the combinatorial
+ * number system for the variable positions.
+ */
+public final class InteractionCoverage {
+
+    private final int t;
+    private final int variableCount;
+    private final long[][] binomials;
+    private final long[] words;
+    private final long size;
+    private long doneCount;
+
+    /**
+     * Creates a new coverage in which no interaction is done.
+     *
+     * @param variableCount the number of variables
+     * @param t the number of variables per interaction
+     * @throws IllegalArgumentException if t is not positive or there are too many interactions to track
+     */
+    public InteractionCoverage(int variableCount, int t) {
+        if (t < 1 || t > 30) {
+            throw new IllegalArgumentException("t must be between 1 and 30: " + t);
+        }
+        this.t = t;
+        this.variableCount = variableCount;
+        binomials = new long[t + 1][variableCount + 1];
+        for (int c = 0; c <= variableCount; c++) {
+            binomials[0][c] = 1;
+            for (int k = 1; k <= t && k <= c; k++) {
+                binomials[k][c] = binomials[k - 1][c - 1] + binomials[k][c - 1];
+                if (binomials[k][c] < 0 || binomials[k][c] > Long.MAX_VALUE >>> (t + 7)) {
+                    throw new IllegalArgumentException("too many interactions for " + variableCount + " variables");
+                }
+            }
+        }
+        size = binomials[t][variableCount] << t;
+        if ((size + 63) >>> 6 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many interactions for " + variableCount + " variables");
+        }
+        words = new long[(int) ((size + 63) >>> 6)];
+    }
+
+    public int getT() {
+        return t;
+    }
+
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * Returns the number of distinct variable combinations, which is {@code C(n, t)}.
+     *
+     * @return the number of distinct variable combinations
+     */
+    public long getCombinationCount() {
+        return binomials[t][variableCount];
+    }
+
+    /**
+     * Returns the number of interactions, which is {@code C(n, t) * 2^t}.
+     *
+     * @return the number of interactions
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of interactions that are done.
+     *
+     * @return the number of interactions that are done
+     */
+    public long getDoneCount() {
+        return doneCount;
+    }
+
+    /**
+     * Returns the index of an interaction.
+     *
+     * @param positions the positions of the variables in strictly ascending order
+     * @param values the bit mask of the variable values
+     * @return the index
+     */
+    public long indexOf(int[] positions, int values) {
+        long rank = 0;
+        for (int i = 0; i < t; i++) {
+            rank += binomials[i + 1][positions[i]];
+        }
+        return (rank << t) | values;
+    }
+
+    public boolean isDone(long index) {
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Marks an interaction as done.
+     *
+     * @param index the index of the interaction
+     * @return whether the interaction was not done before
+     */
+    public boolean markDone(long index) {
+        final int word = (int) (index >>> 6);
+        final long mask = 1L << index;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        doneCount++;
+        return true;
+    }
+}
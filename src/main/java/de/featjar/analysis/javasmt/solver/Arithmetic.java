@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import java.math.BigInteger;
+import java.util.List;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.NumeralFormula;
+import org.sosy_lab.java_smt.api.NumeralFormulaManager;
+
+/**
+ * Arithmetic over solver terms that may be integer or rational.
+ * If any term is rational, all operations use rational arithmetic, which also accepts integer terms.
+ */
+final class Arithmetic {
+
+    private final NumeralFormulaManager<NumeralFormula, ? extends NumeralFormula> manager;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Arithmetic(FormulaManager formulaManager, boolean rational) {
+        manager = rational
+                ? formulaManager.getRationalFormulaManager()
+                : (NumeralFormulaManager) formulaManager.getIntegerFormulaManager();
+    }
+
+    /**
+     * Returns arithmetic that is suitable for all given terms.
+     *
+     * @param formulaManager the formula manager
+     * @param terms the terms
+     * @return the arithmetic
+     */
+    static Arithmetic of(FormulaManager formulaManager, List<? extends NumeralFormula> terms) {
+        boolean rational = false;
+        for (NumeralFormula term : terms) {
+            rational |= formulaManager.getFormulaType(term).isRationalType();
+        }
+        return new Arithmetic(formulaManager, rational);
+    }
+
+    NumeralFormula sum(List<? extends NumeralFormula> terms) {
+        return terms.size() == 1 ? terms.get(0) : manager.sum(List.copyOf(terms));
+    }
+
+    NumeralFormula multiply(long factor, NumeralFormula term) {
+        return factor == 1 ? term : manager.multiply(manager.makeNumber(factor), term);
+    }
+
+    NumeralFormula negate(NumeralFormula term) {
+        return manager.negate(term);
+    }
+
+    /**
+     * Creates a constant from a value of a model.
+     *
+     * @param value the value, either {@link BigInteger} or {@link Rational}
+     * @return the constant
+     */
+    NumeralFormula makeNumber(Object value) {
+        if (value instanceof Rational) {
+            return manager.makeNumber((Rational) value);
+        } else if (value instanceof BigInteger) {
+            return manager.makeNumber((BigInteger) value);
+        } else {
+            throw new IllegalArgumentException("unsupported numeric value: " + value);
+        }
+    }
+
+    /**
+     * Returns a constraint that holds if a term is strictly better than a value.
+     *
+     * @param term the term
+     * @param value the value
+     * @param maximize whether greater values are better
+     * @return the constraint
+     */
+    BooleanFormula better(NumeralFormula term, NumeralFormula value, boolean maximize) {
+        return maximize ? manager.greaterThan(term, value) : manager.lessThan(term, value);
+    }
+
+    /**
+     * Returns a constraint that holds if a term is at least as good as a value.
+     *
+     * @param term the term
+     * @param value the value
+     * @param maximize whether greater values are better
+     * @return the constraint
+     */
+    BooleanFormula noWorse(NumeralFormula term, NumeralFormula value, boolean maximize) {
+        return maximize ? manager.greaterOrEquals(term, value) : manager.lessOrEquals(term, value);
+    }
+
+    BooleanFormula equal(NumeralFormula term, NumeralFormula value) {
+        return manager.equal(term, value);
+    }
+}
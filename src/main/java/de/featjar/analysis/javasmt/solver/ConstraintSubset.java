@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.structure.IExpression;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * A subset of the tracked constraints of a formula, found by an {@link UnsatisfiableSubsetEnumeration}.
+ * A minimal unsatisfiable subset (MUS) is unsatisfiable, but becomes satisfiable if any of its constraints is
+ * removed. A minimal correction subset (MCS) is a minimal set of constraints whose removal makes the formula
+ * satisfiable.
+ */
+public class ConstraintSubset {
+
+    public enum Kind {
+        MINIMAL_UNSATISFIABLE_SUBSET,
+        MINIMAL_CORRECTION_SUBSET
+    }
+
+    private final Kind kind;
+    private final List<Integer> indices;
+    private final List<BooleanFormula> formulas;
+    private final List<? extends IExpression> expressions;
+
+    ConstraintSubset(
+            Kind kind, List<Integer> indices, List<BooleanFormula> formulas, List<? extends IExpression> expressions) {
+        this.kind = kind;
+        this.indices = indices;
+        this.formulas = formulas;
+        this.expressions = expressions;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isMinimalUnsatisfiableSubset() {
+        return kind == Kind.MINIMAL_UNSATISFIABLE_SUBSET;
+    }
+
+    public boolean isMinimalCorrectionSubset() {
+        return kind == Kind.MINIMAL_CORRECTION_SUBSET;
+    }
+
+    /**
+     * @return the indices of the constraints in the list of tracked constraints, in ascending order
+     */
+    public List<Integer> getIndices() {
+        return indices;
+    }
+
+    /**
+     * Returns the translated constraints. They belong to the solver context of the enumeration and are only valid
+     * while its iterator is open, as the context is returned to its pool or closed afterwards. Use
+     * {@link #getIndices()} or {@link #getExpressions()} to keep a subset.
+     *
+     * @return the translated constraints
+     */
+    public List<BooleanFormula> getFormulas() {
+        return formulas;
+    }
+
+    /**
+     * @return the original constraints, or an empty list if the constraints were not given as expressions
+     */
+    public List<? extends IExpression> getExpressions() {
+        return expressions;
+    }
+
+    @Override
+    public String toString() {
+        return (isMinimalUnsatisfiableSubset() ? "MUS " : "MCS ")
+                + indices
+                + (expressions.isEmpty()
+                        ? ""
+                        : expressions.stream().map(String::valueOf).collect(Collectors.joining("; ", ": ", "")));
+    }
+}
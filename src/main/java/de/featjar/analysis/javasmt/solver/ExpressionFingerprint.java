@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Stable 128-bit structural fingerprint of an {@link IExpression}.
+ * Two expressions have the same fingerprint if they have the same shape, node types, variable names and types,
+ * literal signs, and constant values. The fingerprint does not depend on object identity, so it stays the same across
+ * separately loaded copies of a model and changes when an expression is modified.
+ */
+public final class ExpressionFingerprint {
+
+    private long high = 0xcbf29ce484222325L;
+    private long low = 0x84222325cbf29ce4L;
+    private int nodeCount;
+
+    /**
+     * Computes the fingerprint of an expression.
+     *
+     * @param expression the expression
+     * @return the fingerprint
+     */
+    public static ExpressionFingerprint of(IExpression expression) {
+        final ExpressionFingerprint fingerprint = new ExpressionFingerprint();
+        final ArrayDeque<IExpression> stack = new ArrayDeque<>();
+        stack.push(expression);
+        while (!stack.isEmpty()) {
+            final IExpression node = stack.pop();
+            fingerprint.nodeCount++;
+            fingerprint.add(node.getClass().getName());
+            if (node instanceof Literal) {
+                fingerprint.add(((Literal) node).isPositive() ? 1 : 0);
+            } else if (node instanceof Variable) {
+                fingerprint.add(((Variable) node).getName());
+                fingerprint.add(((Variable) node).getType().getName());
+            } else if (node instanceof Constant) {
+                final Object value = ((Constant) node).getValue();
+                fingerprint.add(value.getClass().getName());
+                fingerprint.add(String.valueOf(value));
+            }
+            final List<? extends IExpression> children = node.getChildren();
+            fingerprint.add(children.size());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return fingerprint;
+    }
+
+    private ExpressionFingerprint() {}
+
+    private void add(String value) {
+        add(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            add(value.charAt(i));
+        }
+    }
+
+    private void add(long value) {
+        high = (high ^ value) * 0x100000001b3L;
+        low = Long.rotateLeft(low + value * 0x9e3779b97f4a7c15L, 31) * 0xbf58476d1ce4e5b9L;
+    }
+
+    /**
+     * @return the number of nodes in the fingerprinted expression
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ExpressionFingerprint)) {
+            return false;
+        }
+        final ExpressionFingerprint other = (ExpressionFingerprint) obj;
+        return high == other.high && low == other.low && nodeCount == other.nodeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high ^ low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
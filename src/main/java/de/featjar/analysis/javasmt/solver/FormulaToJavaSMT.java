@@ -41,10 +41,13 @@ import de.featjar.formula.structure.term.function.AMultiply;
 import de.featjar.formula.structure.term.function.IFunction;
 import de.featjar.formula.structure.term.value.Constant;
 import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.BooleanFormula;
@@ -73,6 +76,14 @@ public class FormulaToJavaSMT {
     private boolean isPrincess = false;
     private boolean createVariables = true;
 
+    /**
+     * Prefix of all auxiliary variables introduced by the analyses, which are excluded from solutions.
+     */
+    public static final String AUXILIARY_VARIABLE_PREFIX = "__featjar_";
+
+    private static final int INITIAL_STACK_SIZE = 64;
+    private static final AtomicLong tseitinVariableCounter = new AtomicLong();
+
     private final Map<String, VariableReference> variableMap = new LinkedHashMap<>();
 
     private static class VariableReference {
@@ -81,11 +92,95 @@ public class FormulaToJavaSMT {
         private Formula javaSmtVariable;
     }
 
+    private final SubformulaCache cache;
+    private final List<BooleanFormula> definitions = new ArrayList<>();
+    private boolean tseitin;
+
     public FormulaToJavaSMT(SolverContext context) {
+        this(context, new SubformulaCache());
+    }
+
+    /**
+     * Creates a translator that memoizes translated subexpressions in the given cache.
+     *
+     * @param context the solver context
+     * @param cache the cache, exclusively used by this translator
+     */
+    public FormulaToJavaSMT(SolverContext context, SubformulaCache cache) {
+        this.cache = cache;
         setContext(context);
     }
 
+    /**
+     * Creates a scratch translator for translating further constraints or terms over the variables of this
+     * translator. The scratch translator uses the same context and encoding and knows all variables created so far,
+     * but has its own subformula cache and definitions. Variables and auxiliary definitions it introduces are not
+     * added to this translator, so a translator that is shared between solvers (e.g., by a {@link TranslationCache})
+     * is never modified.
+     *
+     * @return a new scratch translator
+     */
+    public FormulaToJavaSMT fork() {
+        final FormulaToJavaSMT fork = new FormulaToJavaSMT(new SubformulaCache());
+        fork.currentFormulaManager = currentFormulaManager;
+        fork.currentBooleanFormulaManager = currentBooleanFormulaManager;
+        fork.currentIntegerFormulaManager = currentIntegerFormulaManager;
+        fork.currentRationalFormulaManager = currentRationalFormulaManager;
+        fork.isPrincess = isPrincess;
+        fork.createVariables = createVariables;
+        fork.tseitin = tseitin;
+        fork.variableMap.putAll(variableMap);
+        return fork;
+    }
+
+    private FormulaToJavaSMT(SubformulaCache cache) {
+        this.cache = cache;
+    }
+
+    public SubformulaCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Enables a Tseitin encoding, in which every translated And, Or, Implies, and BiImplies node is replaced by a fresh
+     * auxiliary variable that is defined to be equivalent to the node.
+     * The definitions are collected in {@link #getDefinitions()} and must be asserted together with the translated
+     * formula. As each auxiliary variable is determined by the original variables, the encoding has exactly as many
+     * solutions as the original formula.
+     *
+     * @param tseitin whether to introduce auxiliary variables
+     */
+    public void setTseitin(boolean tseitin) {
+        if (this.tseitin != tseitin) {
+            cache.clear();
+        }
+        this.tseitin = tseitin;
+    }
+
+    public boolean isTseitin() {
+        return tseitin;
+    }
+
+    /**
+     * @return the definitions of all auxiliary variables introduced so far
+     */
+    public List<BooleanFormula> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Returns whether a variable was introduced by an analysis rather than taken from the input formula.
+     *
+     * @param name the variable name
+     * @return whether the variable is auxiliary
+     */
+    public static boolean isAuxiliaryVariable(String name) {
+        return name.startsWith(AUXILIARY_VARIABLE_PREFIX);
+    }
+
     public void setContext(SolverContext context) {
+        cache.clear();
+        definitions.clear();
         currentFormulaManager = context.getFormulaManager();
         currentBooleanFormulaManager = currentFormulaManager.getBooleanFormulaManager();
         currentIntegerFormulaManager = currentFormulaManager.getIntegerFormulaManager();
@@ -97,49 +192,175 @@ public class FormulaToJavaSMT {
         }
     }
 
+    /**
+     * Translates an expression into a JavaSMT formula.
+     * The expression tree is traversed in post-order with an explicit stack, so arbitrarily deep expressions can be
+     * translated without overflowing the call stack. Variables are created in the same left-to-right order as in a
+     * recursive traversal.
+     * Translated subexpressions are memoized in the {@link #getCache() cache}, so shared and structurally equal
+     * subexpressions are translated once and result in shared solver terms.
+     *
+     * @param expression the expression
+     * @return the translated formula
+     */
     public BooleanFormula nodeToFormula(IExpression expression) {
-        if (expression instanceof Reference) {
-            return nodeToFormula(expression.getChildren().get(0));
+        return (BooleanFormula) translate(expression);
+    }
+
+    /**
+     * Translates a numeric term, such as a sum or product of variables and constants, into a solver term.
+     * Variables that do not occur in translated formulas yet are created.
+     *
+     * @param term the term
+     * @return the translated term
+     */
+    public NumeralFormula termToFormula(ITerm term) {
+        return (NumeralFormula) translate(term);
+    }
+
+    private Formula translate(IExpression root) {
+        IExpression[] nodes = new IExpression[INITIAL_STACK_SIZE];
+        int[] nextChild = new int[INITIAL_STACK_SIZE];
+        Formula[] values = new Formula[INITIAL_STACK_SIZE];
+        int nodeCount = 0;
+        int valueCount = 0;
+
+        IExpression next = root;
+        while (true) {
+            if (next != null) {
+                Formula leaf = translateLeaf(next);
+                if (leaf == null) {
+                    leaf = cache.get(next);
+                }
+                if (leaf != null) {
+                    if (valueCount == values.length) {
+                        values = Arrays.copyOf(values, valueCount << 1);
+                    }
+                    values[valueCount++] = leaf;
+                } else {
+                    checkInnerNode(next);
+                    if (nodeCount == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, nodeCount << 1);
+                        nextChild = Arrays.copyOf(nextChild, nodeCount << 1);
+                    }
+                    nodes[nodeCount] = next;
+                    nextChild[nodeCount++] = 0;
+                }
+                next = null;
+            }
+            if (nodeCount == 0) {
+                return values[0];
+            }
+            final IExpression node = nodes[nodeCount - 1];
+            final List<? extends IExpression> children = node.getChildren();
+            final int childIndex = nextChild[nodeCount - 1];
+            if (childIndex < children.size()) {
+                nextChild[nodeCount - 1] = childIndex + 1;
+                next = children.get(childIndex);
+            } else {
+                nodeCount--;
+                nodes[nodeCount] = null;
+                final int arity = children.size();
+                valueCount -= arity;
+                final Formula[] childValues = values;
+                final int offset = valueCount;
+                final Formula value = node instanceof Reference
+                        ? values[offset]
+                        : cache.computeIfAbsent(
+                                node, values, offset, arity, () -> translateNode(node, childValues, offset, arity));
+                if (arity > 1) {
+                    Arrays.fill(values, valueCount + 1, valueCount + arity, null);
+                } else if (arity == 0 && valueCount == values.length) {
+                    values = Arrays.copyOf(values, valueCount << 1);
+                }
+                values[valueCount++] = value;
+            }
+        }
+    }
+
+    private Formula translateLeaf(IExpression expression) {
+        if (expression instanceof Literal) {
+            return handleLiteralNode((Literal) expression);
         } else if (expression instanceof True) {
             return currentBooleanFormulaManager.makeTrue();
         } else if (expression instanceof False) {
             return currentBooleanFormulaManager.makeFalse();
-        } else if (expression instanceof Not) {
-            return createNot(nodeToFormula(expression.getChildren().get(0)));
+        } else if (expression instanceof Constant) {
+            return createConstant(((Constant) expression).getValue());
+        } else if (expression instanceof Variable) {
+            return handleVariable((Variable) expression);
+        } else {
+            return null;
+        }
+    }
+
+    private void checkInnerNode(IExpression expression) {
+        if (!(expression instanceof Reference
+                || expression instanceof Not
+                || expression instanceof Or
+                || expression instanceof And
+                || expression instanceof BiImplies
+                || expression instanceof Implies
+                || expression instanceof LessThan
+                || expression instanceof GreaterThan
+                || expression instanceof LessEqual
+                || expression instanceof GreaterEqual
+                || expression instanceof Equals)) {
+            if (expression instanceof IFunction) {
+                return;
+            } else if (expression instanceof ITerm) {
+                throw new RuntimeException("The given term is not supported by JavaSMT: " + expression.getClass());
+            }
+            throw new RuntimeException(
+                    "The nodes of type: " + expression.getClass() + " are not supported by JavaSmt.");
+        }
+    }
+
+    private Formula combine(IExpression expression, Formula[] values, int offset, int arity) {
+        if (expression instanceof Not) {
+            return createNot((BooleanFormula) values[offset]);
         } else if (expression instanceof Or) {
-            return createOr(getChildren(expression));
+            return createOr(toBooleanFormulas(values, offset, arity));
         } else if (expression instanceof And) {
-            return createAnd(getChildren(expression));
+            return createAnd(toBooleanFormulas(values, offset, arity));
         } else if (expression instanceof BiImplies) {
-            return createBiimplies(
-                    nodeToFormula(expression.getChildren().get(0)),
-                    nodeToFormula(expression.getChildren().get(1)));
+            return createBiimplies((BooleanFormula) values[offset], (BooleanFormula) values[offset + 1]);
         } else if (expression instanceof Implies) {
-            return createImplies(
-                    nodeToFormula(expression.getChildren().get(0)),
-                    nodeToFormula(expression.getChildren().get(1)));
-        } else if (expression instanceof Literal) {
-            return handleLiteralNode((Literal) expression);
+            return createImplies((BooleanFormula) values[offset], (BooleanFormula) values[offset + 1]);
         } else if (expression instanceof LessThan) {
-            return handleLessThanNode((LessThan) expression);
+            return createLessThan((NumeralFormula) values[offset], (NumeralFormula) values[offset + 1]);
         } else if (expression instanceof GreaterThan) {
-            return handleGreaterThanNode((GreaterThan) expression);
+            return createGreaterThan((NumeralFormula) values[offset], (NumeralFormula) values[offset + 1]);
         } else if (expression instanceof LessEqual) {
-            return handleLessEqualNode((LessEqual) expression);
+            return createLessEqual((NumeralFormula) values[offset], (NumeralFormula) values[offset + 1]);
         } else if (expression instanceof GreaterEqual) {
-            return handleGreaterEqualNode((GreaterEqual) expression);
+            return createGreaterEqual((NumeralFormula) values[offset], (NumeralFormula) values[offset + 1]);
         } else if (expression instanceof Equals) {
-            return handleEqualNode((Equals) expression);
+            return createEqual((NumeralFormula) values[offset], (NumeralFormula) values[offset + 1]);
         } else {
-            throw new RuntimeException(
-                    "The nodes of type: " + expression.getClass() + " are not supported by JavaSmt.");
+            return handleFunction((IFunction) expression, values, offset);
+        }
+    }
+
+    private Formula translateNode(IExpression expression, Formula[] values, int offset, int arity) {
+        final Formula formula = combine(expression, values, offset, arity);
+        if (!tseitin
+                || !(expression instanceof And
+                        || expression instanceof Or
+                        || expression instanceof Implies
+                        || expression instanceof BiImplies)) {
+            return formula;
         }
+        final BooleanFormula variable = currentBooleanFormulaManager.makeVariable(
+                AUXILIARY_VARIABLE_PREFIX + "tseitin_" + tseitinVariableCounter.getAndIncrement());
+        definitions.add(currentBooleanFormulaManager.equivalence(variable, (BooleanFormula) formula));
+        return variable;
     }
 
-    private List<BooleanFormula> getChildren(IExpression expression) {
-        return expression.getChildren().stream() //
-                .map(this::nodeToFormula) //
-                .collect(Collectors.toList());
+    private static List<BooleanFormula> toBooleanFormulas(Formula[] values, int offset, int length) {
+        final BooleanFormula[] formulas = new BooleanFormula[length];
+        System.arraycopy(values, offset, formulas, 0, length);
+        return Arrays.asList(formulas);
     }
 
     public BooleanFormula createAnd(List<BooleanFormula> collect) {
@@ -162,12 +383,6 @@ public class FormulaToJavaSMT {
         return currentBooleanFormulaManager.not(childFormula);
     }
 
-    private BooleanFormula handleEqualNode(Equals node) {
-        final NumeralFormula leftTerm = termToFormula((ITerm) node.getLeftExpression());
-        final NumeralFormula rightTerm = termToFormula((ITerm) node.getRightExpression());
-        return createEqual(leftTerm, rightTerm);
-    }
-
     public BooleanFormula createEqual(final NumeralFormula leftTerm, final NumeralFormula rightTerm) {
         if (((leftTerm instanceof RationalFormula) || (rightTerm instanceof RationalFormula)) && !isPrincess) {
             return currentRationalFormulaManager.equal(leftTerm, rightTerm);
@@ -176,12 +391,6 @@ public class FormulaToJavaSMT {
         }
     }
 
-    private BooleanFormula handleGreaterEqualNode(GreaterEqual node) {
-        final NumeralFormula leftTerm = termToFormula((ITerm) node.getLeftExpression());
-        final NumeralFormula rightTerm = termToFormula((ITerm) node.getRightExpression());
-        return createGreaterEqual(leftTerm, rightTerm);
-    }
-
     public BooleanFormula createGreaterEqual(final NumeralFormula leftTerm, final NumeralFormula rightTerm) {
         if (((leftTerm instanceof RationalFormula) || (rightTerm instanceof RationalFormula)) && !isPrincess) {
             return currentRationalFormulaManager.greaterOrEquals(leftTerm, rightTerm);
@@ -190,12 +399,6 @@ public class FormulaToJavaSMT {
         }
     }
 
-    private BooleanFormula handleLessEqualNode(LessEqual node) {
-        final NumeralFormula leftTerm = termToFormula((ITerm) node.getLeftExpression());
-        final NumeralFormula rightTerm = termToFormula((ITerm) node.getRightExpression());
-        return createLessEqual(leftTerm, rightTerm);
-    }
-
     public BooleanFormula createLessEqual(final NumeralFormula leftTerm, final NumeralFormula rightTerm) {
         if (((leftTerm instanceof RationalFormula) || (rightTerm instanceof RationalFormula)) && !isPrincess) {
             return currentRationalFormulaManager.lessOrEquals(leftTerm, rightTerm);
@@ -204,12 +407,6 @@ public class FormulaToJavaSMT {
         }
     }
 
-    private BooleanFormula handleGreaterThanNode(GreaterThan node) {
-        final NumeralFormula leftTerm = termToFormula((ITerm) node.getLeftExpression());
-        final NumeralFormula rightTerm = termToFormula((ITerm) node.getRightExpression());
-        return createGreaterThan(leftTerm, rightTerm);
-    }
-
     public BooleanFormula createGreaterThan(final NumeralFormula leftTerm, final NumeralFormula rightTerm) {
         if (((leftTerm instanceof RationalFormula) || (rightTerm instanceof RationalFormula)) && !isPrincess) {
             return currentRationalFormulaManager.greaterThan(leftTerm, rightTerm);
@@ -218,12 +415,6 @@ public class FormulaToJavaSMT {
         }
     }
 
-    private BooleanFormula handleLessThanNode(LessThan node) {
-        final NumeralFormula leftTerm = termToFormula((ITerm) node.getLeftExpression());
-        final NumeralFormula rightTerm = termToFormula((ITerm) node.getRightExpression());
-        return createLessThan(leftTerm, rightTerm);
-    }
-
     public BooleanFormula createLessThan(final NumeralFormula leftTerm, final NumeralFormula rightTerm) {
         if (((leftTerm instanceof RationalFormula) || (rightTerm instanceof RationalFormula)) && !isPrincess) {
             return currentRationalFormulaManager.lessThan(leftTerm, rightTerm);
@@ -232,43 +423,26 @@ public class FormulaToJavaSMT {
         }
     }
 
-    private NumeralFormula termToFormula(ITerm term) {
-        if (term instanceof Constant) {
-            return createConstant(((Constant) term).getValue());
-        } else if (term instanceof Variable) {
-            final Variable variable = (Variable) term;
-            return handleVariable(variable);
-        } else if (term instanceof IFunction) {
-            return handleFunction((IFunction) term);
-        } else {
-            throw new RuntimeException("The given term is not supported by JavaSMT: " + term.getClass());
-        }
-    }
-
-    private NumeralFormula handleFunction(IFunction function) {
-        final NumeralFormula[] children = new NumeralFormula[function.getChildrenCount()];
-        int index = 0;
-        for (final IExpression term : function.getChildren()) {
-            children[index++] = termToFormula((ITerm) term);
-        }
+    private NumeralFormula handleFunction(IFunction function, Formula[] values, int offset) {
+        final NumeralFormula left = (NumeralFormula) values[offset];
+        final NumeralFormula right = (NumeralFormula) values[offset + 1];
         if (function.getType() == Double.class) {
             if (isPrincess) {
                 throw new UnsupportedOperationException("Princess does not support variables from type: Double");
             }
             if (function instanceof AAdd) {
-                return currentRationalFormulaManager.add(children[0], children[1]);
+                return currentRationalFormulaManager.add(left, right);
             } else if (function instanceof AMultiply) {
-                return currentRationalFormulaManager.multiply(children[0], children[1]);
+                return currentRationalFormulaManager.multiply(left, right);
             } else {
                 throw new RuntimeException(
                         "The given function is not supported by JavaSMT Rational Numbers: " + function.getClass());
             }
         } else if (function.getType() == Long.class) {
             if (function instanceof AAdd) {
-                return currentIntegerFormulaManager.add((IntegerFormula) children[0], (IntegerFormula) children[1]);
+                return currentIntegerFormulaManager.add((IntegerFormula) left, (IntegerFormula) right);
             } else if (function instanceof AMultiply) {
-                return currentIntegerFormulaManager.multiply(
-                        (IntegerFormula) children[0], (IntegerFormula) children[1]);
+                return currentIntegerFormulaManager.multiply((IntegerFormula) left, (IntegerFormula) right);
             } else {
                 throw new RuntimeException(
                         "The given function is not supported by JavaSMT Rational Numbers: " + function.getClass());
@@ -24,6 +24,7 @@ import de.featjar.formula.structure.IExpression;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.SolverContext;
 
 /**
@@ -34,21 +35,63 @@ import org.sosy_lab.java_smt.api.SolverContext;
 public class JavaSMTFormula {
 
     private final BooleanFormula formula;
+    private final BooleanFormula root;
+    private final BooleanFormula definitions;
     private final FormulaToJavaSMT translator;
 
     public JavaSMTFormula(SolverContext solverContext, IExpression expression) {
+        this(solverContext, expression, false);
+    }
+
+    /**
+     * Translates an expression.
+     *
+     * @param solverContext the solver context
+     * @param expression the expression
+     * @param tseitin whether to use a Tseitin encoding (see {@link FormulaToJavaSMT#setTseitin(boolean)})
+     */
+    public JavaSMTFormula(SolverContext solverContext, IExpression expression, boolean tseitin) {
         translator = new FormulaToJavaSMT(solverContext);
-        formula = translator.nodeToFormula(expression);
+        translator.setTseitin(tseitin);
+        root = translator.nodeToFormula(expression);
+        final BooleanFormulaManager booleanFormulaManager =
+                solverContext.getFormulaManager().getBooleanFormulaManager();
+        definitions = booleanFormulaManager.and(translator.getDefinitions());
+        formula = tseitin ? booleanFormulaManager.and(definitions, root) : root;
     }
 
+    /**
+     * Returns the translator of this formula, which may be shared with other solvers on the same context.
+     * It must only be used to look up variables; further expressions must be translated with a
+     * {@link FormulaToJavaSMT#fork() scratch translator}.
+     *
+     * @return the translator
+     */
     public FormulaToJavaSMT getTranslator() {
         return translator;
     }
 
+    /**
+     * @return the translated formula, including the definitions of auxiliary variables
+     */
     public BooleanFormula getFormula() {
         return formula;
     }
 
+    /**
+     * @return the translated formula without the definitions of auxiliary variables
+     */
+    public BooleanFormula getRoot() {
+        return root;
+    }
+
+    /**
+     * @return the conjunction of the definitions of all auxiliary variables, {@code true} if there are none
+     */
+    public BooleanFormula getDefinitions() {
+        return definitions;
+    }
+
     public List<BooleanFormula> getBooleanVariables() {
         return translator.getVariableFormulas().stream()
                 .filter(f -> f instanceof BooleanFormula)
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Function;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.NumeralFormula;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Incremental session over a single {@link JavaSMTFormula}.
+ * The formula is added once to a long-lived prover, such that follow-up queries can reuse everything the solver has
+ * learned so far. Additional constraints can be scoped with {@link #push(BooleanFormula)} and {@link #pop()}, or
+ * passed as assumptions that only hold for a single query.
+ * A session must be closed before its solver is closed.
+ */
+public class JavaSMTSession implements AutoCloseable {
+
+    private static final class Constraints {
+        private final ArrayList<BooleanFormula> literals = new ArrayList<>();
+        private final ArrayList<BooleanFormula> equalities = new ArrayList<>();
+    }
+
+    private final JavaSMTSolver solver;
+    private final JavaSMTFormula formula;
+    private final ProverEnvironment prover;
+
+    JavaSMTSession(JavaSMTSolver solver) throws InterruptedException {
+        this.solver = solver;
+        formula = solver.getSolverFormula();
+        prover = solver.context.newProverEnvironment(
+                ProverOptions.GENERATE_MODELS, ProverOptions.GENERATE_UNSAT_CORE_OVER_ASSUMPTIONS);
+        try {
+            SolverMetrics.addConstraint(prover, formula.getFormula(), solver.getBackend());
+        } catch (final InterruptedException | RuntimeException e) {
+            prover.close();
+            throw e;
+        }
+    }
+
+    public JavaSMTFormula getFormula() {
+        return formula;
+    }
+
+    /**
+     * Opens a new scope and adds the given constraint to it.
+     *
+     * @param constraint the constraint
+     * @throws InterruptedException if the solver was shut down
+     */
+    public void push(BooleanFormula constraint) throws InterruptedException {
+        prover.push(constraint);
+    }
+
+    /**
+     * Opens a new scope and adds all values of the given assignment as constraints.
+     *
+     * @param assignment the (partial) assignment
+     * @throws InterruptedException if the solver was shut down
+     * @throws IllegalArgumentException if a value does not match the type of its variable
+     */
+    public void push(ValueAssignment assignment) throws InterruptedException {
+        final Result<Constraints> constraints = toConstraints(assignment);
+        if (constraints.isEmpty()) {
+            throw new IllegalArgumentException(Problem.printProblems(constraints.getProblems()));
+        }
+        prover.push();
+        for (BooleanFormula constraint : constraints.get().literals) {
+            SolverMetrics.addConstraint(prover, constraint, solver.getBackend());
+        }
+        for (BooleanFormula constraint : constraints.get().equalities) {
+            SolverMetrics.addConstraint(prover, constraint, solver.getBackend());
+        }
+    }
+
+    /**
+     * Removes the constraints of the most recently opened scope.
+     */
+    public void pop() {
+        prover.pop();
+    }
+
+    /**
+     * @return the number of open scopes
+     */
+    public int getScopeCount() {
+        return prover.size();
+    }
+
+    public Result<Boolean> hasSolution() {
+        return hasSolution(Collections.emptyList());
+    }
+
+    /**
+     * Checks whether the formula and all open scopes are satisfiable under the given assignment.
+     * Boolean values are passed as assumptions, and numeric values as constraints of a scope that only exists for
+     * this query.
+     *
+     * @param assumptions the (partial) assignment
+     * @return whether there is a solution, or an empty result if a value does not match the type of its variable
+     */
+    public Result<Boolean> hasSolution(ValueAssignment assumptions) {
+        return query(assumptions, this::hasSolution);
+    }
+
+    /**
+     * Checks whether the formula and all open scopes are satisfiable under the given assumptions.
+     *
+     * @param assumptions boolean atoms or their negations that hold for this query only
+     * @return whether there is a solution
+     */
+    public Result<Boolean> hasSolution(List<BooleanFormula> assumptions) {
+        try {
+            return Result.of(!SolverMetrics.isUnsatWithAssumptions(prover, assumptions, solver.getBackend()));
+        } catch (final Exception e) {
+            return solver.failure(e);
+        }
+    }
+
+    public Result<ValueAssignment> findSolution() {
+        return findSolution(Collections.emptyList());
+    }
+
+    /**
+     * Finds a solution under the given assignment (see {@link #hasSolution(ValueAssignment)}).
+     *
+     * @param assumptions the (partial) assignment
+     * @return a solution or an empty result if there is none or a value does not match the type of its variable
+     */
+    public Result<ValueAssignment> findSolution(ValueAssignment assumptions) {
+        return query(assumptions, this::findSolution);
+    }
+
+    private <T> Result<T> query(ValueAssignment assignment, Function<List<BooleanFormula>, Result<T>> query) {
+        final Result<Constraints> constraints = toConstraints(assignment);
+        if (constraints.isEmpty()) {
+            return Result.empty(constraints.getProblems());
+        }
+        if (constraints.get().equalities.isEmpty()) {
+            return query.apply(constraints.get().literals);
+        }
+        prover.push();
+        try {
+            for (BooleanFormula equality : constraints.get().equalities) {
+                SolverMetrics.addConstraint(prover, equality, solver.getBackend());
+            }
+            return query.apply(constraints.get().literals);
+        } catch (final InterruptedException e) {
+            return solver.failure(e);
+        } finally {
+            prover.pop();
+        }
+    }
+
+    /**
+     * Finds a solution under the given assumptions.
+     *
+     * @param assumptions boolean atoms or their negations that hold for this query only
+     * @return a solution or an empty result if there is none
+     */
+    public Result<ValueAssignment> findSolution(List<BooleanFormula> assumptions) {
+        try {
+            if (SolverMetrics.isUnsatWithAssumptions(prover, assumptions, solver.getBackend())) {
+                return Result.empty();
+            }
+            return Result.of(JavaSMTSolver.toValueAssignment(prover.getModelAssignments()));
+        } catch (final Exception e) {
+            return solver.failure(e);
+        }
+    }
+
+    /**
+     * Returns a subset of the given assumptions that is unsatisfiable together with the formula and all open scopes.
+     *
+     * @param assumptions boolean atoms or their negations
+     * @return the unsat core, or an empty optional if the formula is satisfiable under the assumptions
+     * @throws Exception if the solver fails or was shut down
+     */
+    public Optional<List<BooleanFormula>> getUnsatCore(List<BooleanFormula> assumptions) throws Exception {
+        return prover.unsatCoreOverAssumptions(assumptions);
+    }
+
+    /**
+     * Converts an assignment into literals for boolean variables and equalities for numeric variables of the formula.
+     * Variables that do not occur in the formula are ignored, as they cannot affect satisfiability.
+     *
+     * @param assignment the assignment
+     * @return the constraints, or an empty result if a value does not match the type of its variable
+     */
+    private Result<Constraints> toConstraints(ValueAssignment assignment) {
+        final FormulaToJavaSMT translator = formula.getTranslator();
+        final Constraints constraints = new Constraints();
+        for (Entry<String, Object> entry : assignment.getAll().entrySet()) {
+            final Optional<Formula> variable = translator.getVariableFormula(entry.getKey());
+            if (variable.isEmpty()) {
+                continue;
+            }
+            final Object value = entry.getValue();
+            if (value instanceof Boolean && variable.get() instanceof BooleanFormula) {
+                final BooleanFormula atom = (BooleanFormula) variable.get();
+                constraints.literals.add((Boolean) value ? atom : translator.createNot(atom));
+            } else if (value instanceof Number && variable.get() instanceof NumeralFormula) {
+                final Object constant = value instanceof Double || value instanceof Float
+                        ? (Object) ((Number) value).doubleValue()
+                        : (Object) ((Number) value).longValue();
+                try {
+                    constraints.equalities.add(translator.createEqual(
+                            (NumeralFormula) variable.get(), translator.createConstant(constant)));
+                } catch (final UnsupportedOperationException e) {
+                    return Result.empty(new Problem(
+                            "unsupported value for " + entry.getKey() + ": " + e.getMessage(),
+                            Problem.Severity.ERROR));
+                }
+            } else {
+                return Result.empty(new Problem(
+                        "value " + value + " does not match the type of variable " + entry.getKey(),
+                        Problem.Severity.ERROR));
+            }
+        }
+        return Result.of(constraints);
+    }
+
+    @Override
+    public void close() {
+        prover.close();
+    }
+}
@@ -21,13 +21,18 @@
 package de.featjar.analysis.javasmt.solver;
 
 import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
 import de.featjar.formula.structure.IExpression;
+import java.lang.ref.Cleaner;
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.sosy_lab.common.ShutdownManager;
@@ -38,8 +43,8 @@ import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.common.rationals.Rational;
 import org.sosy_lab.java_smt.SolverContextFactory;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
-import org.sosy_lab.java_smt.api.BasicProverEnvironment.AllSatCallback;
 import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model.ValueAssignment;
 import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
@@ -47,31 +52,18 @@ import org.sosy_lab.java_smt.api.OptimizationProverEnvironment.OptStatus;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
 import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
-import org.sosy_lab.java_smt.api.SolverException;
 
 /**
  * SMT solver using JavaSMT.
+ * Solvers must be {@link #close() closed} after use to release their solver context.
  *
  * @author Joshua Sprey
  */
-public class JavaSMTSolver {
+public class JavaSMTSolver implements AutoCloseable {
 
-    private static final class SatCallback implements AllSatCallback<Result<BigInteger>> {
-        BigInteger count = BigInteger.ZERO;
-
-        @Override
-        public void apply(List<BooleanFormula> model) {
-            if (!model.isEmpty()) {
-                count = count.add(BigInteger.ONE);
-            }
-        }
-
-        @Override
-        public Result<BigInteger> getResult() throws InterruptedException {
-            return Result.of(count);
-        }
-    }
+    private static final Cleaner cleaner = Cleaner.create();
 
+    private IExpression expression;
     private JavaSMTFormula formula;
 
     /**
@@ -80,107 +72,423 @@ public class JavaSMTSolver {
      */
     public SolverContext context;
 
+    private PooledSolverContext pooledContext;
+    private ShutdownManager shutdownManager;
+    private SolverWatchdog.Watch watch;
+
+    @SuppressWarnings("try")
     public JavaSMTSolver(IExpression expression, Solvers solver) {
+        this.expression = expression;
         try {
             final Configuration config = Configuration.defaultConfiguration();
             final LogManager logManager = BasicLogManager.create(config);
-            final ShutdownManager shutdownManager = ShutdownManager.create();
-            context =
-                    SolverContextFactory.createSolverContext(config, logManager, shutdownManager.getNotifier(), solver);
-            this.formula = new JavaSMTFormula(context, expression);
+            shutdownManager = ShutdownManager.create();
+            try (SolverMetrics.Timer timer = SolverMetrics.start(SolverMetrics.Phase.CONTEXT_CREATION, solver)) {
+                context = SolverContextFactory.createSolverContext(
+                        config, logManager, shutdownManager.getNotifier(), solver);
+            }
+            try (SolverMetrics.Timer timer = SolverMetrics.start(SolverMetrics.Phase.TRANSLATION, solver)) {
+                this.formula = new JavaSMTFormula(context, expression);
+            }
         } catch (final InvalidConfigurationException e) {
             FeatJAR.log().error(e);
         }
     }
 
+    /**
+     * Creates a solver that uses a context from a {@link SolverContextPool}.
+     * The context is returned to its pool when this solver is closed. If the same expression was translated in this
+     * context before, the translation is taken from its {@link PooledSolverContext#getTranslationCache() cache}.
+     *
+     * @param expression the formula
+     * @param pooledContext the checked out context
+     */
+    public JavaSMTSolver(IExpression expression, PooledSolverContext pooledContext) {
+        this(expression, pooledContext, false);
+    }
+
+    /**
+     * Creates a solver that uses a context from a {@link SolverContextPool} and optionally a Tseitin encoding of the
+     * expression (see {@link FormulaToJavaSMT#setTseitin(boolean)}).
+     *
+     * @param expression the formula
+     * @param pooledContext the checked out context
+     * @param tseitin whether to use a Tseitin encoding
+     */
+    @SuppressWarnings("try")
+    public JavaSMTSolver(IExpression expression, PooledSolverContext pooledContext, boolean tseitin) {
+        this.expression = expression;
+        this.pooledContext = pooledContext;
+        context = pooledContext.getContext();
+        shutdownManager = pooledContext.getShutdownManager();
+        try (SolverMetrics.Timer timer =
+                SolverMetrics.start(SolverMetrics.Phase.TRANSLATION, pooledContext.getSolver())) {
+            this.formula = pooledContext.getTranslationCache().get(context, expression, tseitin);
+        } catch (final RuntimeException e) {
+            pooledContext.invalidate();
+            pooledContext.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the backend of this solver, which labels its {@link SolverMetrics measurements}.
+     *
+     * @return the backend
+     */
+    public Solvers getBackend() {
+        return context.getSolverName();
+    }
+
+    /**
+     * Stops this solver when the given time has elapsed or the current thread is interrupted.
+     * A stopped solver returns an empty result and its context is discarded when the solver is closed.
+     *
+     * @param timeout the wall-clock time limit, or zero for no limit
+     */
+    public void setTimeout(Duration timeout) {
+        if (watch != null) {
+            watch.close();
+        }
+        watch = SolverWatchdog.watch(shutdownManager, Thread.currentThread(), timeout);
+    }
+
+    /**
+     * Shortens the time limit of this solver to the given duration, unless the limit set by
+     * {@link #setTimeout(Duration)} ends earlier.
+     *
+     * @param timeout the time limit, or zero for no additional limit
+     */
+    public void restrictTimeout(Duration timeout) {
+        if (watch == null) {
+            setTimeout(timeout);
+        } else {
+            watch.restrict(timeout);
+        }
+    }
+
+    /**
+     * Pauses the time limit, such as while a lazy iterator waits for its consumer to request the next element.
+     */
+    public void suspendTimeout() {
+        if (watch != null) {
+            watch.suspend();
+        }
+    }
+
+    /**
+     * Continues the time limit paused by {@link #suspendTimeout()}. Afterwards, interrupting the current thread stops
+     * this solver.
+     */
+    public void resumeTimeout() {
+        if (watch != null) {
+            watch.resume();
+        }
+    }
+
+    /**
+     * Stops the currently running and all following solver calls.
+     *
+     * @param reason the reason for stopping
+     */
+    public void cancel(String reason) {
+        shutdownManager.requestShutdown(reason);
+    }
+
+    public boolean isCancelled() {
+        return shutdownManager.getNotifier().shouldShutdown();
+    }
+
+    <T> Result<T> failure(Exception e) {
+        if (isCancelled()) {
+            return Result.empty(new Problem(
+                    "solver stopped: " + shutdownManager.getNotifier().getReason(), Problem.Severity.ERROR));
+        }
+        return Result.empty(e);
+    }
+
     public Result<BigInteger> countSolutions() {
-        try (ProverEnvironment prover = context.newProverEnvironment(ProverOptions.GENERATE_ALL_SAT)) {
-            prover.addConstraint(formula.getFormula());
-            return prover.allSat(new SatCallback(), formula.getBooleanVariables());
-        } catch (final Exception e) {
-            return Result.empty(e);
+        return countSolutions(null);
+    }
+
+    public Result<BigInteger> countSolutions(Progress progress) {
+        return new SolutionCounter(this).count(progress);
+    }
+
+    /**
+     * Counts the solutions projected onto the given boolean variables.
+     * Variables that do not occur in the formula are unconstrained and double the count.
+     *
+     * @param variableNames the names of the projected variables
+     * @param progress the progress, incremented for each counted cube
+     * @return the number of distinct assignments to the projected variables that can be extended to a solution
+     */
+    public Result<BigInteger> countSolutions(List<String> variableNames, Progress progress) {
+        final FormulaToJavaSMT translator = formula.getTranslator();
+        final ArrayList<BooleanFormula> projection = new ArrayList<>(variableNames.size());
+        int freeVariables = 0;
+        for (String name : variableNames) {
+            final Optional<Formula> variable = translator.getVariableFormula(name);
+            if (variable.isEmpty()) {
+                freeVariables++;
+            } else if (variable.get() instanceof BooleanFormula) {
+                projection.add((BooleanFormula) variable.get());
+            } else {
+                return Result.empty(new Problem("cannot project onto non-boolean variable " + name));
+            }
         }
+        return new SolutionCounter(this, projection, freeVariables).count(progress);
     }
 
     public de.featjar.formula.assignment.ValueAssignment getSolution() {
-        try (ProverEnvironment prover = context.newProverEnvironment()) {
-            prover.addConstraint(formula.getFormula());
-            if (!prover.isUnsat()) {
-                final LinkedHashMap<String, Object> solution = new LinkedHashMap<>();
-                for (ValueAssignment assignment : prover.getModel()) {
-                    solution.put(assignment.getName(), assignment.getValue());
-                }
-                return new de.featjar.formula.assignment.ValueAssignment(solution);
+        return findSolution().orElse(null);
+    }
+
+    public Result<de.featjar.formula.assignment.ValueAssignment> findSolution() {
+        try (ProverEnvironment prover = context.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+            SolverMetrics.addConstraint(prover, formula.getFormula(), getBackend());
+            if (!SolverMetrics.isUnsat(prover, getBackend())) {
+                return Result.of(toValueAssignment(prover.getModelAssignments()));
             } else {
-                return null;
+                return Result.empty();
             }
-        } catch (final SolverException e) {
-            return null;
-        } catch (final InterruptedException e) {
-            return null;
+        } catch (final Exception e) {
+            return failure(e);
         }
     }
 
-    public Result<de.featjar.formula.assignment.ValueAssignment> findSolution() {
-        return Result.ofNullable(getSolution());
+    static de.featjar.formula.assignment.ValueAssignment toValueAssignment(Iterable<ValueAssignment> model) {
+        final LinkedHashMap<String, Object> solution = new LinkedHashMap<>();
+        for (ValueAssignment assignment : model) {
+            if (FormulaToJavaSMT.isAuxiliaryVariable(assignment.getName())) {
+                continue;
+            }
+            solution.put(assignment.getName(), assignment.getValue());
+        }
+        return new de.featjar.formula.assignment.ValueAssignment(solution);
+    }
+
+    /**
+     * Starts an incremental session that keeps a single prover for the formula of this solver alive.
+     *
+     * @return a new session that must be closed after use
+     * @throws InterruptedException if the solver was shut down
+     */
+    public JavaSMTSession newSession() throws InterruptedException {
+        return new JavaSMTSession(this);
+    }
+
+    public Result<List<Object[]>> computeRanges(List<Formula> variables) {
+        return computeRanges(variables, null);
     }
 
-    public Rational minimize(Formula formula) {
+    /**
+     * Computes the minimum and maximum of several numeric variables using a single optimization prover.
+     * The formula is added once and each objective is optimized in its own scope.
+     *
+     * @param variables the numeric variables
+     * @param progress the progress, incremented for each variable, or {@code null}
+     * @return for each variable, an array with its lower and upper bound, each {@code null} if unbounded
+     */
+    public Result<List<Object[]>> computeRanges(List<Formula> variables, Progress progress) {
+        final Rational epsilon = Rational.ofString("1/1000");
         try (OptimizationProverEnvironment prover = context.newOptimizationProverEnvironment()) {
-            prover.addConstraint(this.formula.getFormula());
-            final int handleY = prover.minimize(formula);
-            final OptStatus status = prover.check();
-            assert status == OptStatus.OPT;
-            final Optional<Rational> lower = prover.lower(handleY, Rational.ofString("1/1000"));
-            return lower.orElse(null);
+            SolverMetrics.addConstraint(prover, this.formula.getFormula(), getBackend());
+            final ArrayList<Object[]> ranges = new ArrayList<>(variables.size());
+            for (Formula variable : variables) {
+                final Object[] range = new Object[2];
+                prover.push();
+                int handle = prover.minimize(variable);
+                OptStatus status = SolverMetrics.check(prover, getBackend());
+                if (status == OptStatus.UNSAT) {
+                    return Result.empty(new Problem("formula is unsatisfiable", Problem.Severity.ERROR));
+                } else if (status != OptStatus.OPT) {
+                    return stopped("minimizing " + variable, status);
+                }
+                range[0] = prover.lower(handle, epsilon).orElse(null);
+                prover.pop();
+                prover.push();
+                handle = prover.maximize(variable);
+                status = SolverMetrics.check(prover, getBackend());
+                if (status != OptStatus.OPT) {
+                    return stopped("maximizing " + variable, status);
+                }
+                range[1] = prover.upper(handle, epsilon).orElse(null);
+                prover.pop();
+                ranges.add(range);
+                if (progress != null) {
+                    synchronized (progress) {
+                        progress.incrementCurrentStep();
+                    }
+                }
+            }
+            return Result.of(ranges);
         } catch (final Exception e) {
-            FeatJAR.log().error(e);
-            return null;
+            return failure(e);
         }
     }
 
-    public Rational maximize(Formula formula) {
-        try (OptimizationProverEnvironment prover = context.newOptimizationProverEnvironment()) {
-            prover.addConstraint(this.formula.getFormula());
-            final int handleX = prover.maximize(formula);
-            final OptStatus status = prover.check();
-            assert status == OptStatus.OPT;
-            final Optional<Rational> upper = prover.upper(handleX, Rational.ofString("1/1000"));
-            return upper.orElse(null);
-        } catch (final Exception e) {
-            FeatJAR.log().error(e);
-            return null;
+    private <T> Result<T> stopped(String objective, OptStatus status) {
+        if (isCancelled()) {
+            return failure(null);
         }
+        return Result.empty(new Problem(objective + " stopped with status " + status, Problem.Severity.ERROR));
     }
 
     public Result<Boolean> hasSolution() {
         try (ProverEnvironment prover = context.newProverEnvironment()) {
-            prover.addConstraint(formula.getFormula());
-            return Result.of(!prover.isUnsat());
+            SolverMetrics.addConstraint(prover, formula.getFormula(), getBackend());
+            return Result.of(!SolverMetrics.isUnsat(prover, getBackend()));
         } catch (final Exception e) {
-            return Result.empty(e);
+            return failure(e);
         }
     }
 
+    /**
+     * Computes a minimal unsatisfiable subset of the top-level conjuncts of the expression, independent of its
+     * encoding. Each conjunct is tracked by its own selector variable and the core is minimized by deletion in a
+     * single prover.
+     *
+     * @return a minimal unsatisfiable subset, empty if the formula is satisfiable, or {@code null} if the solver fails
+     */
     public List<BooleanFormula> getMinimalUnsatisfiableSubset() throws IllegalStateException {
-        try (ProverEnvironment prover = context.newProverEnvironment()) {
-            prover.addConstraint(formula.getFormula());
-            if (prover.isUnsat()) {
-                final List<BooleanFormula> formula = prover.getUnsatCore();
-                return formula.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        final List<BooleanFormula> constraints = translateTopLevelConstraints();
+        try (SelectorProver prover = new SelectorProver(this, getBooleanFormulaManager().makeTrue(), constraints)) {
+            final BitSet subset = prover.findMinimalUnsatisfiableSubset();
+            if (subset == null) {
+                return Collections.emptyList();
             }
-            return Collections.emptyList();
+            return subset.stream().mapToObj(constraints::get).collect(Collectors.toList());
         } catch (final Exception e) {
             FeatJAR.log().error(e);
             return null;
         }
     }
 
+    /**
+     * Computes a minimal unsatisfiable subset of the given constraints, which are translated with the variables of
+     * this solver's formula. Typically, the constraints are the top-level conjuncts of the solver's expression.
+     * Each constraint is tracked by its own selector variable and the core is minimized by deletion in a single
+     * prover.
+     *
+     * @param <T> the type of the constraints
+     * @param constraints the constraints
+     * @return the constraints of a minimal unsatisfiable subset in their original order, empty if they are
+     *         satisfiable
+     */
+    public <T extends IExpression> Result<List<T>> findMinimalUnsatisfiableSubset(List<T> constraints) {
+        final FormulaToJavaSMT translator = formula.getTranslator().fork();
+        final ArrayList<BooleanFormula> formulas = new ArrayList<>(constraints.size());
+        try {
+            for (T constraint : constraints) {
+                formulas.add(translator.nodeToFormula(constraint));
+            }
+        } catch (final RuntimeException e) {
+            return Result.empty(e);
+        }
+        final BooleanFormula definitions = translator.createAnd(translator.getDefinitions());
+        try (SelectorProver prover = new SelectorProver(this, definitions, formulas)) {
+            final BitSet subset = prover.findMinimalUnsatisfiableSubset();
+            if (subset == null) {
+                return Result.of(List.of());
+            }
+            return Result.of(subset.stream().mapToObj(constraints::get).collect(Collectors.toList()));
+        } catch (final Exception e) {
+            return failure(e);
+        }
+    }
+
+    /**
+     * Enumerates all minimal unsatisfiable subsets of the top-level conjuncts of the expression, independent of its
+     * encoding.
+     *
+     * @return all minimal unsatisfiable subsets, empty if the formula is satisfiable
+     * @throws IllegalStateException if the solver fails
+     * @see UnsatisfiableSubsetEnumeration
+     */
     public List<List<BooleanFormula>> getAllMinimalUnsatisfiableSubsets() throws IllegalStateException {
-        return Collections.singletonList(getMinimalUnsatisfiableSubset());
+        final List<BooleanFormula> constraints = translateTopLevelConstraints();
+        final ArrayList<List<BooleanFormula>> subsets = new ArrayList<>();
+        try (UnsatisfiableSubsetEnumeration.SubsetIterator iterator = new UnsatisfiableSubsetEnumeration.SubsetIterator(
+                this,
+                false,
+                getBooleanFormulaManager().makeTrue(),
+                constraints,
+                UnsatisfiableSubsetEnumeration.getTopLevelConstraints(expression),
+                Long.MAX_VALUE,
+                Duration.ZERO)) {
+            while (iterator.hasNext()) {
+                final ConstraintSubset subset = iterator.next();
+                if (subset.isMinimalUnsatisfiableSubset()) {
+                    subsets.add(subset.getFormulas());
+                }
+            }
+        }
+        return subsets;
+    }
+
+    /**
+     * Translates the top-level conjuncts of the expression of this solver without auxiliary variables, such that each
+     * translated constraint corresponds to one constraint of the input, even if the formula of this solver uses a
+     * Tseitin encoding.
+     *
+     * @return the translated constraints
+     */
+    private List<BooleanFormula> translateTopLevelConstraints() {
+        final FormulaToJavaSMT translator = formula.getTranslator().fork();
+        translator.setTseitin(false);
+        final List<? extends IExpression> expressions =
+                UnsatisfiableSubsetEnumeration.getTopLevelConstraints(expression);
+        final ArrayList<BooleanFormula> constraints = new ArrayList<>(expressions.size());
+        for (IExpression constraint : expressions) {
+            constraints.add(translator.nodeToFormula(constraint));
+        }
+        return constraints;
+    }
+
+    private BooleanFormulaManager getBooleanFormulaManager() {
+        return context.getFormulaManager().getBooleanFormulaManager();
     }
 
     public JavaSMTFormula getSolverFormula() {
         return formula;
     }
+
+    /**
+     * Closes the given resources and then this solver as soon as the owner becomes unreachable, so that a lazy
+     * iterator that is abandoned without being closed does not keep its pooled context forever.
+     * The owner must close them by calling {@link Cleaner.Cleanable#clean()} on the returned handle.
+     *
+     * @param owner the object owning this solver
+     * @param resources the resources to close before this solver, such as provers
+     * @return the handle that closes the resources and this solver at most once
+     */
+    Cleaner.Cleanable closeWhenUnreachable(Object owner, AutoCloseable... resources) {
+        return cleaner.register(owner, () -> {
+            for (AutoCloseable resource : resources) {
+                try {
+                    resource.close();
+                } catch (final Exception e) {
+                    FeatJAR.log().error(e);
+                }
+            }
+            close();
+        });
+    }
+
+    /**
+     * Returns the solver context to its pool, or closes it if it is not pooled.
+     */
+    @Override
+    public void close() {
+        if (watch != null) {
+            watch.close();
+            watch = null;
+        }
+        if (pooledContext != null) {
+            pooledContext.close();
+        } else if (context != null) {
+            context.close();
+        }
+    }
 }
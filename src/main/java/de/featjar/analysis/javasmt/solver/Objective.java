@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.structure.term.ITerm;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.NumeralFormula;
+
+/**
+ * An objective for optimizing configurations.
+ * Its value is the sum of a numeric term, built from {@code AAdd} and {@code AMultiply} over numeric variables and
+ * constants, and the attribute values of all selected boolean variables, as in attributed feature models.
+ * The weight is only used by weighted sums of several objectives.
+ */
+public final class Objective {
+
+    private final ITerm term;
+    private final Map<String, Number> attributes;
+    private final boolean maximize;
+    private final long weight;
+
+    private Objective(ITerm term, Map<String, Number> attributes, boolean maximize, long weight) {
+        this.term = term;
+        this.attributes = attributes;
+        this.maximize = maximize;
+        this.weight = weight;
+    }
+
+    /**
+     * Creates an objective that minimizes a numeric term.
+     *
+     * @param term the term
+     * @return the objective
+     */
+    public static Objective minimize(ITerm term) {
+        return new Objective(Objects.requireNonNull(term), Map.of(), false, 1);
+    }
+
+    /**
+     * Creates an objective that minimizes the sum of the attribute values of all selected boolean variables.
+     *
+     * @param attributes the attribute value of each boolean variable, either {@link Long} or {@link Double}
+     * @return the objective
+     */
+    public static Objective minimize(Map<String, ? extends Number> attributes) {
+        return new Objective(null, Collections.unmodifiableMap(new LinkedHashMap<>(attributes)), false, 1);
+    }
+
+    /**
+     * Returns an objective with the same value that is maximized instead of minimized.
+     *
+     * @return the objective
+     */
+    public Objective maximized() {
+        return new Objective(term, attributes, true, weight);
+    }
+
+    /**
+     * Returns an objective with the same value and direction and another weight.
+     *
+     * @param weight the weight
+     * @return the objective
+     */
+    public Objective weighted(long weight) {
+        return new Objective(term, attributes, maximize, weight);
+    }
+
+    /**
+     * Returns an objective whose value also includes the given term.
+     *
+     * @param term the term
+     * @return the objective
+     */
+    public Objective plus(ITerm term) {
+        if (this.term != null) {
+            throw new IllegalStateException("objective already has a term");
+        }
+        return new Objective(Objects.requireNonNull(term), attributes, maximize, weight);
+    }
+
+    public Optional<ITerm> getTerm() {
+        return Optional.ofNullable(term);
+    }
+
+    public Map<String, Number> getAttributes() {
+        return attributes;
+    }
+
+    public boolean isMaximize() {
+        return maximize;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Translates this objective into a solver term.
+     *
+     * @param translator the translator of the formula
+     * @param manager the formula manager of the translator's context
+     * @return the solver term
+     * @throws IllegalArgumentException if an attribute refers to a variable that is not a boolean variable of the
+     *     formula
+     */
+    NumeralFormula toFormula(FormulaToJavaSMT translator, FormulaManager manager) {
+        final BooleanFormulaManager bfm = manager.getBooleanFormulaManager();
+        final ArrayList<NumeralFormula> summands = new ArrayList<>(attributes.size() + 1);
+        if (term != null) {
+            summands.add(translator.termToFormula(term));
+        }
+        for (Map.Entry<String, Number> attribute : attributes.entrySet()) {
+            final Optional<Formula> variable = translator.getVariableFormula(attribute.getKey());
+            if (variable.isEmpty() || !(variable.get() instanceof BooleanFormula)) {
+                throw new IllegalArgumentException("not a boolean variable of the formula: " + attribute.getKey());
+            }
+            final Number value = attribute.getValue();
+            final Object constant = value instanceof Double || value instanceof Float
+                    ? (Object) value.doubleValue()
+                    : (Object) value.longValue();
+            summands.add(bfm.ifThenElse(
+                    (BooleanFormula) variable.get(),
+                    translator.createConstant(constant),
+                    translator.createConstant(constant instanceof Double ? (Object) 0.0 : (Object) 0L)));
+        }
+        if (summands.isEmpty()) {
+            return translator.createConstant(0L);
+        }
+        return Arithmetic.of(manager, summands).sum(summands);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Objective[%s, term=%s, attributes=%s, weight=%d]",
+                maximize ? "maximize" : "minimize", term, attributes, weight);
+    }
+}
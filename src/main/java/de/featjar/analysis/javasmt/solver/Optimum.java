@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.assignment.ValueAssignment;
+import java.util.List;
+
+/**
+ * A solution found by an {@link OptimumEnumeration}, together with the values of all objectives.
+ */
+public class Optimum {
+
+    private final ValueAssignment solution;
+    private final List<Object> values;
+
+    Optimum(ValueAssignment solution, List<Object> values) {
+        this.solution = solution;
+        this.values = values;
+    }
+
+    public ValueAssignment getSolution() {
+        return solution;
+    }
+
+    /**
+     * @return the value of each objective in this solution, either {@link java.math.BigInteger} or
+     *     {@link org.sosy_lab.common.rationals.Rational}
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values + ": " + solution;
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.FormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.NumeralFormula;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment.OptStatus;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Lazily computes optimal solutions of a formula with respect to several {@link Objective objectives}.
+ * In {@link Mode#LEXICOGRAPHIC lexicographic} and {@link Mode#WEIGHTED_SUM weighted-sum} mode, a single optimum is
+ * computed with an optimization prover, which requires a solver such as Z3 or MathSAT5.
+ * In {@link Mode#PARETO Pareto} mode, the Pareto front is enumerated with the guided improvement algorithm, which
+ * works with any solver: a solution that is not dominated by any known optimum is improved until no solution
+ * dominates it, and the region it dominates is then blocked. Each optimum is returned as soon as it is proven.
+ * An iterator stops when all optima are found, the limit is reached, or the time budget is exhausted.
+ */
+public class OptimumEnumeration implements Iterable<Optimum> {
+
+    /**
+     * How several objectives are combined.
+     */
+    public enum Mode {
+        /**
+         * Optimizes the objectives one after another, each among the optima of all previous objectives.
+         */
+        LEXICOGRAPHIC,
+        /**
+         * Minimizes the sum of all objectives multiplied by their weights, where maximized objectives are negated.
+         */
+        WEIGHTED_SUM,
+        /**
+         * Enumerates one solution for each point of the Pareto front.
+         */
+        PARETO;
+
+        /**
+         * Returns the mode with the given name, ignoring case and allowing hyphens instead of underscores.
+         *
+         * @param name the name
+         * @return the mode
+         * @throws IllegalArgumentException if there is no mode with the given name
+         */
+        public static Mode parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    /**
+     * Iterator over optima that must be closed if it is not consumed completely.
+     */
+    public static final class OptimumIterator implements Iterator<Optimum>, AutoCloseable {
+        private final JavaSMTSolver solver;
+        private final Mode mode;
+        private final List<Objective> objectives;
+        private final List<NumeralFormula> terms;
+        private final Arithmetic arithmetic;
+        private final BooleanFormulaManager bfm;
+        private final BasicProverEnvironment<?> prover;
+        private final Cleaner.Cleanable cleanable;
+        private final long deadline;
+        private long remaining;
+        private Optimum next;
+        private boolean complete;
+        private boolean closed;
+
+        private OptimumIterator(
+                JavaSMTSolver solver, Mode mode, List<Objective> objectives, long limit, Duration timeBudget) {
+            this.solver = solver;
+            this.mode = mode;
+            this.objectives = objectives;
+            remaining = mode == Mode.PARETO ? limit : Math.min(limit, 1);
+            deadline = timeBudget.isZero() ? 0 : System.nanoTime() + timeBudget.toNanos();
+            final FormulaManager manager = solver.context.getFormulaManager();
+            bfm = manager.getBooleanFormulaManager();
+            try {
+                final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator().fork();
+                final ArrayList<NumeralFormula> objectiveTerms = new ArrayList<>(objectives.size());
+                for (Objective objective : objectives) {
+                    objectiveTerms.add(objective.toFormula(translator, manager));
+                }
+                terms = Collections.unmodifiableList(objectiveTerms);
+                arithmetic = Arithmetic.of(manager, terms);
+                prover = mode == Mode.PARETO
+                        ? solver.context.newProverEnvironment(ProverOptions.GENERATE_MODELS)
+                        : solver.context.newOptimizationProverEnvironment();
+            } catch (final RuntimeException e) {
+                solver.close();
+                throw e;
+            }
+            cleanable = solver.closeWhenUnreachable(this, prover);
+            try {
+                SolverMetrics.addConstraint(prover, solver.getSolverFormula().getFormula(), solver.getBackend());
+            } catch (final InterruptedException e) {
+                close();
+                throw new IllegalStateException(e);
+            }
+            solver.suspendTimeout();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                solver.resumeTimeout();
+                try {
+                    advance();
+                } finally {
+                    solver.suspendTimeout();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Optimum next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Optimum optimum = next;
+            next = null;
+            return optimum;
+        }
+
+        /**
+         * @return whether all optima were computed, as opposed to stopping at the limit or time budget
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        private boolean isBudgetExhausted() {
+            return deadline != 0 && System.nanoTime() - deadline >= 0;
+        }
+
+        private void advance() {
+            try {
+                if (remaining > 0 && !complete && !isBudgetExhausted()) {
+                    switch (mode) {
+                        case LEXICOGRAPHIC:
+                            next = computeLexicographicOptimum();
+                            break;
+                        case WEIGHTED_SUM:
+                            next = computeWeightedSumOptimum();
+                            break;
+                        case PARETO:
+                            next = computeParetoOptimum();
+                            break;
+                        default:
+                            throw new IllegalStateException(String.valueOf(mode));
+                    }
+                    if (next != null) {
+                        remaining--;
+                        return;
+                    }
+                }
+                close();
+            } catch (final Exception e) {
+                close();
+                if (solver.isCancelled() && isBudgetExhausted()) {
+                    return;
+                }
+                throw new IllegalStateException(solver.failure(e).getProblems().get(0).getMessage(), e);
+            }
+        }
+
+        private Optimum computeLexicographicOptimum() throws Exception {
+            final OptimizationProverEnvironment optimizationProver = (OptimizationProverEnvironment) prover;
+            for (int i = 0; i < terms.size(); i++) {
+                final NumeralFormula term = terms.get(i);
+                final Object value;
+                optimizationProver.push();
+                try {
+                    if (!optimize(optimizationProver, term, objectives.get(i).isMaximize(), i)) {
+                        return null;
+                    }
+                    try (Model model = optimizationProver.getModel()) {
+                        value = evaluate(model, term);
+                    }
+                } finally {
+                    optimizationProver.pop();
+                }
+                optimizationProver.addConstraint(arithmetic.equal(term, arithmetic.makeNumber(value)));
+            }
+            complete = true;
+            if (SolverMetrics.isUnsat(optimizationProver, solver.getBackend())) {
+                return null;
+            }
+            return readOptimum();
+        }
+
+        private Optimum computeWeightedSumOptimum() throws Exception {
+            final OptimizationProverEnvironment optimizationProver = (OptimizationProverEnvironment) prover;
+            final ArrayList<NumeralFormula> summands = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                final Objective objective = objectives.get(i);
+                final NumeralFormula term = objective.isMaximize() ? arithmetic.negate(terms.get(i)) : terms.get(i);
+                summands.add(arithmetic.multiply(objective.getWeight(), term));
+            }
+            final boolean satisfiable = optimize(optimizationProver, arithmetic.sum(summands), false, -1);
+            complete = true;
+            return satisfiable ? readOptimum() : null;
+        }
+
+        private boolean optimize(
+                OptimizationProverEnvironment optimizationProver, NumeralFormula term, boolean maximize, int index)
+                throws Exception {
+            final int handle = maximize ? optimizationProver.maximize(term) : optimizationProver.minimize(term);
+            final OptStatus status = SolverMetrics.check(optimizationProver, solver.getBackend());
+            if (status == OptStatus.UNSAT) {
+                complete = true;
+                return false;
+            } else if (status != OptStatus.OPT) {
+                throw new IllegalStateException("optimization stopped with status " + status);
+            }
+            final Rational epsilon = Rational.ofString("1/1000");
+            if ((maximize ? optimizationProver.upper(handle, epsilon) : optimizationProver.lower(handle, epsilon))
+                    .isEmpty()) {
+                throw new IllegalStateException(
+                        index < 0 ? "weighted sum of objectives is unbounded" : "objective " + index + " is unbounded");
+            }
+            return true;
+        }
+
+        private Optimum computeParetoOptimum() throws Exception {
+            if (SolverMetrics.isUnsat(prover, solver.getBackend())) {
+                complete = true;
+                return null;
+            }
+            Optimum candidate = readOptimum();
+            prover.push();
+            try {
+                while (true) {
+                    if (isBudgetExhausted()) {
+                        return null;
+                    }
+                    prover.addConstraint(dominating(candidate.getValues()));
+                    if (SolverMetrics.isUnsat(prover, solver.getBackend())) {
+                        break;
+                    }
+                    candidate = readOptimum();
+                }
+            } finally {
+                prover.pop();
+            }
+            final ArrayList<BooleanFormula> notDominated = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                notDominated.add(better(i, candidate.getValues().get(i)));
+            }
+            prover.addConstraint(bfm.or(notDominated));
+            return candidate;
+        }
+
+        /**
+         * Returns a constraint for all solutions that are at least as good in all objectives and better in one.
+         */
+        private BooleanFormula dominating(List<Object> values) {
+            final ArrayList<BooleanFormula> noWorse = new ArrayList<>(terms.size());
+            final ArrayList<BooleanFormula> better = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                final NumeralFormula value = arithmetic.makeNumber(values.get(i));
+                noWorse.add(arithmetic.noWorse(terms.get(i), value, objectives.get(i).isMaximize()));
+                better.add(better(i, values.get(i)));
+            }
+            noWorse.add(bfm.or(better));
+            return bfm.and(noWorse);
+        }
+
+        private BooleanFormula better(int index, Object value) {
+            return arithmetic.better(
+                    terms.get(index), arithmetic.makeNumber(value), objectives.get(index).isMaximize());
+        }
+
+        private Optimum readOptimum() throws Exception {
+            try (Model model = prover.getModel()) {
+                final Object[] values = new Object[terms.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = evaluate(model, terms.get(i));
+                }
+                return new Optimum(JavaSMTSolver.toValueAssignment(model), Arrays.asList(values));
+            }
+        }
+
+        private static Object evaluate(Model model, NumeralFormula term) {
+            final Object value = model.evaluate(term);
+            if (value == null) {
+                throw new IllegalStateException("model does not assign a value to " + term);
+            }
+            return value;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                cleanable.clean();
+            }
+        }
+    }
+
+    private final Supplier<JavaSMTSolver> solverFactory;
+    private final Mode mode;
+    private final List<Objective> objectives;
+    private final long limit;
+    private final Duration timeBudget;
+
+    /**
+     * Creates a new enumeration.
+     *
+     * @param solverFactory creates a new solver for each iteration; the solver is closed by the iterator
+     * @param mode how the objectives are combined
+     * @param objectives the objectives
+     * @param limit the maximum number of optima per iteration, only relevant in Pareto mode
+     * @param timeBudget the maximum time per iteration, or zero for no limit; it shortens, but never extends, the
+     *     timeout of the solvers
+     */
+    public OptimumEnumeration(
+            Supplier<JavaSMTSolver> solverFactory,
+            Mode mode,
+            List<Objective> objectives,
+            long limit,
+            Duration timeBudget) {
+        if (objectives.isEmpty()) {
+            throw new IllegalArgumentException("no objectives");
+        }
+        this.solverFactory = solverFactory;
+        this.mode = mode;
+        this.objectives = List.copyOf(objectives);
+        this.limit = limit;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public OptimumIterator iterator() {
+        final JavaSMTSolver solver = solverFactory.get();
+        solver.restrictTimeout(timeBudget);
+        return new OptimumIterator(solver, mode, objectives, limit, timeBudget);
+    }
+
+    /**
+     * Returns a sequential stream of optima, which releases its solver when it is closed.
+     *
+     * @return a new stream that should be used in a try-with-resources statement
+     */
+    public Stream<Optimum> stream() {
+        final OptimumIterator iterator = iterator();
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(
+                                iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+}
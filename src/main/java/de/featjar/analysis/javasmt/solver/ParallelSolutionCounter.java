@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Variable;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.Formula;
+
+/**
+ * Counts solutions in parallel by splitting the search space into cubes (cube and conquer).
+ * The formula is split on the projected boolean variables that occur most often, and each cube is counted with a
+ * {@link SolutionCounter} restricted to the cube. Cubes are scheduled on a {@link ForkJoinPool}, whose work stealing
+ * balances cubes of different difficulty. Before counting starts, up to the given parallelism of contexts are checked
+ * out of a {@link SolverContextPool}, by default the shared one: the first context waits for the pool, and further
+ * contexts are only taken if they are available without waiting, so no thread waits for a context while holding
+ * another one. Counting then runs with as many workers as contexts were obtained, and each cube borrows an idle
+ * context for the time it is counted. Thus, the number of contexts does not depend on how many threads the fork-join
+ * pool starts.
+ */
+public class ParallelSolutionCounter {
+
+    /**
+     * Number of cubes per worker thread, such that idle workers have enough cubes to steal.
+     */
+    private static final int CUBES_PER_THREAD = 8;
+
+    private static final class Worker {
+        private final JavaSMTSolver solver;
+        private final List<BooleanFormula> projection;
+        private final int freeVariables;
+
+        private Worker(JavaSMTSolver solver, List<BooleanFormula> projection, int freeVariables) {
+            this.solver = solver;
+            this.projection = projection;
+            this.freeVariables = freeVariables;
+        }
+    }
+
+    private final class CubeTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean[] values;
+        private final int depth;
+
+        private CubeTask(boolean[] values, int depth) {
+            this.values = values;
+            this.depth = depth;
+        }
+
+        @Override
+        @SuppressWarnings("try")
+        protected BigInteger compute() {
+            if (depth < values.length) {
+                final boolean[] positive = values.clone();
+                positive[depth] = true;
+                final CubeTask negativeTask = new CubeTask(values, depth + 1);
+                negativeTask.fork();
+                final BigInteger positiveCount = new CubeTask(positive, depth + 1).compute();
+                return positiveCount.add(negativeTask.join());
+            }
+            final Worker worker;
+            try {
+                worker = idleWorkers.take();
+            } catch (final InterruptedException e) {
+                throw new CompletionException(e);
+            }
+            final Result<BigInteger> count;
+            try {
+                final FormulaToJavaSMT translator = worker.solver.getSolverFormula().getTranslator();
+                final ArrayList<BooleanFormula> cube = new ArrayList<>(values.length);
+                for (int i = 0; i < values.length; i++) {
+                    final BooleanFormula variable = (BooleanFormula)
+                            translator.getVariableFormula(splitVariables.get(i)).orElseThrow();
+                    cube.add(values[i] ? variable : translator.createNot(variable));
+                }
+                final SolutionCounter counter =
+                        new SolutionCounter(worker.solver, worker.projection, worker.freeVariables);
+                counter.setAssumptions(cube);
+                try (SolverMetrics.Scope scope = SolverMetrics.enterAnalysis(analysis)) {
+                    count = counter.count(null);
+                }
+            } finally {
+                idleWorkers.add(worker);
+            }
+            if (count.isEmpty()) {
+                throw new CompletionException(new IllegalStateException(Problem.printProblems(count.getProblems())));
+            }
+            if (progress != null) {
+                synchronized (progress) {
+                    progress.incrementCurrentStep();
+                }
+            }
+            return count.get();
+        }
+    }
+
+    private final IExpression expression;
+    private final SolverSelection solvers;
+    private final int parallelism;
+    private List<String> projection = List.of();
+    private Duration timeout = Duration.ZERO;
+    private boolean tseitin;
+    private SolverContextPool pool = SolverContextPool.getDefault();
+
+    private BlockingQueue<Worker> idleWorkers;
+    private List<String> splitVariables;
+    private Progress progress;
+    private String analysis;
+
+    /**
+     * Creates a new counter.
+     *
+     * @param expression the formula
+     * @param solvers the solver backends
+     * @param parallelism the number of worker threads and solver contexts
+     */
+    public ParallelSolutionCounter(IExpression expression, SolverSelection solvers, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.expression = expression;
+        this.solvers = solvers;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the names of the boolean variables to project the count onto. If empty, all boolean variables are counted.
+     *
+     * @param projection the variable names
+     */
+    public void setProjection(List<String> projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Sets the wall-clock time limit for each worker.
+     *
+     * @param timeout the time limit, or zero for no limit
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets whether the workers use a Tseitin encoding of the formula.
+     *
+     * @param tseitin whether to use a Tseitin encoding
+     */
+    public void setTseitin(boolean tseitin) {
+        this.tseitin = tseitin;
+    }
+
+    /**
+     * Sets the pool the contexts of the workers are checked out of.
+     *
+     * @param pool the pool
+     */
+    public void setSolverContextPool(SolverContextPool pool) {
+        this.pool = pool;
+    }
+
+    public Result<BigInteger> count(Progress progress) throws InterruptedException {
+        this.progress = progress;
+        analysis = SolverMetrics.getAnalysis();
+        final ArrayList<Worker> workers = new ArrayList<>(parallelism);
+        ForkJoinPool forkJoinPool = null;
+        try {
+            Result<Worker> worker = newWorker(pool.checkout(solvers));
+            while (worker.isPresent()) {
+                workers.add(worker.get());
+                if (workers.size() == parallelism) {
+                    break;
+                }
+                final PooledSolverContext context = pool.tryCheckout(workers.get(0).solver.getBackend());
+                if (context == null) {
+                    break;
+                }
+                worker = newWorker(context);
+            }
+            if (worker.isEmpty()) {
+                return Result.empty(worker.getProblems());
+            }
+            splitVariables = selectSplitVariables(workers.size());
+            idleWorkers = new ArrayBlockingQueue<>(workers.size(), false, workers);
+            if (progress != null) {
+                progress.setTotalSteps(1L << splitVariables.size());
+            }
+            forkJoinPool = new ForkJoinPool(workers.size());
+            final ForkJoinTask<BigInteger> task =
+                    forkJoinPool.submit(new CubeTask(new boolean[splitVariables.size()], 0));
+            return Result.of(task.get());
+        } catch (final InvalidConfigurationException e) {
+            return Result.empty(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            return Result.empty(new Problem(cause));
+        } catch (final InterruptedException e) {
+            for (Worker worker : workers) {
+                worker.solver.cancel("cancelled");
+            }
+            throw e;
+        } finally {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdownNow();
+                forkJoinPool.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            for (Worker worker : workers) {
+                worker.solver.close();
+            }
+            idleWorkers = null;
+        }
+    }
+
+    private Result<Worker> newWorker(PooledSolverContext context) {
+        final JavaSMTSolver solver = new JavaSMTSolver(expression, context, tseitin);
+        solver.setTimeout(timeout);
+        if (projection.isEmpty()) {
+            return Result.of(new Worker(solver, solver.getSolverFormula().getBooleanVariables(), 0));
+        }
+        final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator();
+        final ArrayList<BooleanFormula> projectedVariables = new ArrayList<>(projection.size());
+        int freeVariables = 0;
+        for (String name : projection) {
+            final Optional<Formula> variable = translator.getVariableFormula(name);
+            if (variable.isEmpty()) {
+                freeVariables++;
+            } else if (variable.get() instanceof BooleanFormula) {
+                projectedVariables.add((BooleanFormula) variable.get());
+            } else {
+                solver.close();
+                return Result.empty(new Problem("cannot project onto non-boolean variable " + name));
+            }
+        }
+        return Result.of(new Worker(solver, projectedVariables, freeVariables));
+    }
+
+    /**
+     * Selects the projected boolean variables with the most occurrences in the formula, enough for the given number
+     * of workers to steal cubes from each other.
+     */
+    private List<String> selectSplitVariables(int workerCount) {
+        final LinkedHashMap<String, Integer> occurrences = new LinkedHashMap<>();
+        final ArrayDeque<IExpression> stack = new ArrayDeque<>();
+        stack.push(expression);
+        while (!stack.isEmpty()) {
+            final IExpression node = stack.pop();
+            if (node instanceof Literal) {
+                final IExpression variable = ((Literal) node).getExpression();
+                if (variable instanceof Variable) {
+                    occurrences.merge(((Variable) variable).getName(), 1, Integer::sum);
+                }
+            } else {
+                for (IExpression child : node.getChildren()) {
+                    stack.push(child);
+                }
+            }
+        }
+        final Collection<String> candidates =
+                projection.isEmpty() ? occurrences.keySet() : new LinkedHashSet<>(projection);
+        final int depth = workerCount == 1
+                ? 0
+                : 32 - Integer.numberOfLeadingZeros(workerCount * CUBES_PER_THREAD - 1);
+        return candidates.stream()
+                .filter(occurrences::containsKey)
+                .sorted(Comparator.comparing(occurrences::get, Comparator.reverseOrder()))
+                .limit(depth)
+                .collect(Collectors.toList());
+    }
+}
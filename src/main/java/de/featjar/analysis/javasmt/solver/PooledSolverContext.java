@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * A {@link SolverContext} that is managed by a {@link SolverContextPool}.
+ * Closing a pooled context returns it to its pool instead of closing the native context.
+ */
+public class PooledSolverContext implements AutoCloseable {
+
+    private final SolverContextPool pool;
+    private final Solvers solver;
+    private final SolverContext context;
+    private final ShutdownManager shutdownManager;
+    private final TranslationCache translationCache = new TranslationCache();
+
+    private int useCount;
+    private long lastReleaseTime;
+    private boolean checkedOut;
+    private boolean valid = true;
+
+    PooledSolverContext(
+            SolverContextPool pool, Solvers solver, SolverContext context, ShutdownManager shutdownManager) {
+        this.pool = pool;
+        this.solver = solver;
+        this.context = context;
+        this.shutdownManager = shutdownManager;
+    }
+
+    public SolverContext getContext() {
+        return context;
+    }
+
+    public ShutdownManager getShutdownManager() {
+        return shutdownManager;
+    }
+
+    /**
+     * @return the cache of formulas translated in this context
+     */
+    public TranslationCache getTranslationCache() {
+        return translationCache;
+    }
+
+    public Solvers getSolver() {
+        return solver;
+    }
+
+    public int getUseCount() {
+        return useCount;
+    }
+
+    /**
+     * Marks this context as unusable, such that it is closed instead of being reused when it is returned.
+     * This must be called if a shutdown was requested or the context was left in an inconsistent state.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid && !shutdownManager.getNotifier().shouldShutdown();
+    }
+
+    /**
+     * Returns this context to its pool.
+     */
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    void checkout() {
+        checkedOut = true;
+        useCount++;
+    }
+
+    boolean release() {
+        if (!checkedOut) {
+            return false;
+        }
+        checkedOut = false;
+        lastReleaseTime = System.nanoTime();
+        return true;
+    }
+
+    long getLastReleaseTime() {
+        return lastReleaseTime;
+    }
+
+    void closeContext() {
+        valid = false;
+        translationCache.clear();
+        context.close();
+    }
+}
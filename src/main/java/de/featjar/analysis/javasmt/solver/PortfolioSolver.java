@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.IExpression;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+/**
+ * Runs the same query on several solver backends in parallel and returns the first definitive result.
+ * Each backend translates the formula into its own pooled context. As soon as one backend answers, the others are
+ * stopped via the {@link org.sosy_lab.common.ShutdownManager} of their context, which is then discarded.
+ */
+public class PortfolioSolver {
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "javasmt-portfolio");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class Statistics {
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder winningNanos = new LongAdder();
+    }
+
+    private static final Map<Solvers, Statistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * @return the number of races won by each backend so far
+     */
+    public static Map<Solvers, Long> getWins() {
+        final EnumMap<Solvers, Long> wins = new EnumMap<>(Solvers.class);
+        statistics.forEach((solver, s) -> wins.put(solver, s.wins.sum()));
+        return wins;
+    }
+
+    /**
+     * @return the accumulated time each backend needed for the races it won
+     */
+    public static Map<Solvers, Duration> getWinningTimes() {
+        final EnumMap<Solvers, Duration> times = new EnumMap<>(Solvers.class);
+        statistics.forEach((solver, s) -> times.put(solver, Duration.ofNanos(s.winningNanos.sum())));
+        return times;
+    }
+
+    public static void resetStatistics() {
+        statistics.clear();
+    }
+
+    private final IExpression expression;
+    private final SolverSelection solvers;
+    private final SolverContextPool pool;
+    private Duration timeout = Duration.ZERO;
+    private boolean tseitin;
+
+    public PortfolioSolver(IExpression expression, SolverSelection solvers, SolverContextPool pool) {
+        this.expression = expression;
+        this.solvers = solvers;
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the wall-clock time limit for each backend.
+     *
+     * @param timeout the time limit, or zero for no limit
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets whether the backends use a Tseitin encoding of the formula.
+     *
+     * @param tseitin whether to use a Tseitin encoding
+     */
+    public void setTseitin(boolean tseitin) {
+        this.tseitin = tseitin;
+    }
+
+    /**
+     * Races all available backends of the selection on the given query.
+     *
+     * @param <R> the type of the result
+     * @param query the query to run on each backend
+     * @return the first definitive result (i.e., a result that is present or has no problems),
+     *         or an empty result with the problems of all backends
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public <R> Result<R> solve(Function<JavaSMTSolver, Result<R>> query) throws InterruptedException {
+        final List<Solvers> backends = solvers.getAvailableSolvers();
+        if (backends.isEmpty()) {
+            return Result.empty(new Problem("none of the solvers " + solvers + " is available"));
+        }
+        final CompletableFuture<Result<R>> winner = new CompletableFuture<>();
+        final AtomicReference<PooledSolverContext> winningContext = new AtomicReference<>();
+        final List<PooledSolverContext> contexts = new ArrayList<>(backends.size());
+        final List<Problem> problems = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger pending = new AtomicInteger(backends.size());
+        final long start = System.nanoTime();
+
+        for (Solvers backend : backends) {
+            executor.execute(SolverMetrics.propagate(() -> {
+                try {
+                    race(backend, query, winner, winningContext, contexts, start);
+                } catch (final Exception e) {
+                    if (!winner.isDone()) {
+                        problems.add(new Problem(e));
+                    }
+                } finally {
+                    if (pending.decrementAndGet() == 0) {
+                        winner.complete(Result.empty(new ArrayList<>(problems)));
+                    }
+                }
+            }));
+        }
+
+        try {
+            return winner.get();
+        } catch (final ExecutionException e) {
+            return Result.empty(new Problem(e.getCause()));
+        } catch (final InterruptedException e) {
+            winner.complete(Result.empty());
+            throw e;
+        } finally {
+            cancel(contexts, winningContext.get());
+        }
+    }
+
+    private <R> void race(
+            Solvers backend,
+            Function<JavaSMTSolver, Result<R>> query,
+            CompletableFuture<Result<R>> winner,
+            AtomicReference<PooledSolverContext> winningContext,
+            List<PooledSolverContext> contexts,
+            long start)
+            throws Exception {
+        final PooledSolverContext context = pool.checkout(backend);
+        synchronized (contexts) {
+            if (winner.isDone()) {
+                context.close();
+                return;
+            }
+            contexts.add(context);
+        }
+        JavaSMTSolver solver = null;
+        try {
+            solver = new JavaSMTSolver(expression, context, tseitin);
+            solver.setTimeout(timeout);
+            final Result<R> result = query.apply(solver);
+            if (result.isPresent() || result.getProblems().isEmpty()) {
+                if (!winner.isDone() && winningContext.compareAndSet(null, context)) {
+                    recordWin(backend, System.nanoTime() - start);
+                    cancel(contexts, context);
+                    winner.complete(result);
+                }
+            } else if (!winner.isDone()) {
+                throw new IllegalStateException(backend + ": " + Problem.printProblems(result.getProblems()));
+            }
+        } finally {
+            synchronized (contexts) {
+                contexts.remove(context);
+            }
+            if (solver != null) {
+                solver.close();
+            } else {
+                context.close();
+            }
+        }
+    }
+
+    private static void recordWin(Solvers backend, long nanos) {
+        final Statistics s = statistics.computeIfAbsent(backend, b -> new Statistics());
+        s.wins.increment();
+        s.winningNanos.add(nanos);
+        FeatJAR.log().debug("portfolio won by " + backend + " after " + Duration.ofNanos(nanos));
+    }
+
+    private static void cancel(List<PooledSolverContext> contexts, PooledSolverContext winner) {
+        synchronized (contexts) {
+            for (PooledSolverContext context : contexts) {
+                if (context != winner) {
+                    context.invalidate();
+                    context.getShutdownManager().requestShutdown("portfolio already decided");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.IntegerFormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment.OptStatus;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Computes pairwise distinct solutions of a formula that are spread over its solution space.
+ * All solutions are computed in a single prover, which is blocked from returning any solution twice.
+ * Solutions are distinct with respect to their boolean variables; numeric variables are assigned some witness value.
+ * For a fixed formula, solver, and random generator, the same sequence of solutions is computed.
+ * A sampler must be closed before its solver is closed.
+ */
+public class RandomSampler implements AutoCloseable {
+
+    /**
+     * Strategies for randomizing solutions.
+     */
+    public enum Strategy {
+        /**
+         * Assumes a random value for each boolean variable in a random order and keeps the longest satisfiable prefix
+         * of these assumptions, which takes a logarithmic number of solver calls per solution.
+         */
+        RANDOM_PHASE,
+        /**
+         * Restricts each solution to a random cell of the solution space that is defined by random parity
+         * constraints. The number of parity constraints is adapted until a cell contains at least one and at most
+         * {@value RandomSampler#CELL_SIZE} solutions, which are all enumerated and one of which is picked uniformly
+         * at random. This spreads the sample more evenly than {@link #RANDOM_PHASE} at the cost of more solver calls,
+         * but, as the cells still differ in size, the sample is not guaranteed to be uniform.
+         */
+        XOR_HASHING,
+        /**
+         * Maximizes a random linear objective over the boolean variables for each solution.
+         * This requires a solver that supports optimization, such as Z3 or MathSAT5.
+         */
+        RANDOM_OBJECTIVE;
+
+        /**
+         * Returns the strategy with the given name, ignoring case and allowing hyphens instead of underscores.
+         *
+         * @param name the name
+         * @return the strategy
+         * @throws IllegalArgumentException if there is no strategy with the given name
+         */
+        public static Strategy parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private static final int MAXIMUM_WEIGHT = 1000;
+
+    /**
+     * Maximum number of solutions in a cell of {@link Strategy#XOR_HASHING}.
+     */
+    static final int CELL_SIZE = 16;
+
+    /**
+     * Maximum number of cells tried for one solution of {@link Strategy#XOR_HASHING} before a cell with too many
+     * solutions is accepted.
+     */
+    private static final int MAXIMUM_CELL_ATTEMPTS = 64;
+
+    private final JavaSMTSolver solver;
+    private final Strategy strategy;
+    private final Random random;
+    private final BasicProverEnvironment<?> prover;
+    private final List<BooleanFormula> variables;
+    private final BooleanFormulaManager bfm;
+    private int xorCount;
+
+    /**
+     * Creates a new sampler.
+     *
+     * @param solver the solver, which must not be used for anything else while the sampler is open
+     * @param strategy the strategy for randomizing solutions
+     * @param random the random generator
+     * @throws InterruptedException if the solver was shut down
+     */
+    public RandomSampler(JavaSMTSolver solver, Strategy strategy, Random random) throws InterruptedException {
+        this.solver = solver;
+        this.strategy = strategy;
+        this.random = random;
+        variables = solver.getSolverFormula().getBooleanVariables();
+        bfm = solver.context.getFormulaManager().getBooleanFormulaManager();
+        prover = strategy == Strategy.RANDOM_OBJECTIVE
+                ? solver.context.newOptimizationProverEnvironment()
+                : solver.context.newProverEnvironment(ProverOptions.GENERATE_MODELS);
+        try {
+            SolverMetrics.addConstraint(prover, solver.getSolverFormula().getFormula(), solver.getBackend());
+        } catch (final InterruptedException | RuntimeException e) {
+            prover.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Computes up to the given number of solutions.
+     * Fewer solutions are returned if the formula does not have enough distinct solutions.
+     *
+     * @param size the maximum number of solutions
+     * @param progress the progress, which is advanced once per solution
+     * @return the solutions
+     */
+    public Result<List<ValueAssignment>> sample(long size, Progress progress) {
+        progress.setTotalSteps(size);
+        final ArrayList<ValueAssignment> sample = new ArrayList<>();
+        while (sample.size() < size) {
+            final Result<ValueAssignment> solution = next();
+            if (solution.isEmpty()) {
+                if (!solution.getProblems().isEmpty()) {
+                    return Result.empty(solution.getProblems());
+                }
+                break;
+            }
+            sample.add(solution.get());
+            progress.incrementCurrentStep();
+        }
+        return Result.of(sample);
+    }
+
+    /**
+     * Computes a solution that differs from all solutions computed before.
+     *
+     * @return a new solution or an empty result if there is none
+     */
+    public Result<ValueAssignment> next() {
+        try {
+            final ArrayList<BooleanFormula> literals = new ArrayList<>(variables.size());
+            final ValueAssignment solution;
+            switch (strategy) {
+                case RANDOM_PHASE:
+                    solution = nextWithRandomPhases(literals);
+                    break;
+                case XOR_HASHING:
+                    solution = nextWithXorHashing(literals);
+                    break;
+                case RANDOM_OBJECTIVE:
+                    solution = nextWithRandomObjective(literals);
+                    break;
+                default:
+                    throw new IllegalStateException(String.valueOf(strategy));
+            }
+            if (solution == null) {
+                return Result.empty();
+            }
+            prover.addConstraint(bfm.not(bfm.and(literals)));
+            return Result.of(solution);
+        } catch (final Exception e) {
+            return solver.failure(e);
+        }
+    }
+
+    private ValueAssignment nextWithRandomPhases(List<BooleanFormula> literals) throws Exception {
+        final ArrayList<BooleanFormula> assumptions = new ArrayList<>(variables.size());
+        for (BooleanFormula variable : variables) {
+            assumptions.add(random.nextBoolean() ? variable : bfm.not(variable));
+        }
+        Collections.shuffle(assumptions, random);
+        if (!SolverMetrics.isUnsatWithAssumptions(prover, assumptions, solver.getBackend())) {
+            return readModel(literals);
+        }
+        if (SolverMetrics.isUnsat(prover, solver.getBackend())) {
+            return null;
+        }
+        int satisfiable = 0;
+        int unsatisfiable = assumptions.size();
+        while (unsatisfiable - satisfiable > 1) {
+            final int middle = (satisfiable + unsatisfiable) >>> 1;
+            if (SolverMetrics.isUnsatWithAssumptions(prover, assumptions.subList(0, middle), solver.getBackend())) {
+                unsatisfiable = middle;
+            } else {
+                satisfiable = middle;
+            }
+        }
+        SolverMetrics.isUnsatWithAssumptions(prover, assumptions.subList(0, satisfiable), solver.getBackend());
+        return readModel(literals);
+    }
+
+    private ValueAssignment nextWithXorHashing(List<BooleanFormula> literals) throws Exception {
+        final ArrayList<ValueAssignment> cell = new ArrayList<>(CELL_SIZE + 1);
+        final ArrayList<List<BooleanFormula>> cellLiterals = new ArrayList<>(CELL_SIZE + 1);
+        for (int attempt = 1; ; attempt++) {
+            cell.clear();
+            cellLiterals.clear();
+            prover.push();
+            try {
+                for (int i = 0; i < xorCount; i++) {
+                    prover.addConstraint(newRandomXor());
+                }
+                while (cell.size() <= CELL_SIZE && !SolverMetrics.isUnsat(prover, solver.getBackend())) {
+                    final ArrayList<BooleanFormula> solutionLiterals = new ArrayList<>(variables.size());
+                    cell.add(readModel(solutionLiterals));
+                    cellLiterals.add(solutionLiterals);
+                    prover.addConstraint(bfm.not(bfm.and(solutionLiterals)));
+                }
+            } finally {
+                prover.pop();
+            }
+            if (cell.isEmpty()) {
+                if (xorCount == 0) {
+                    return null;
+                }
+                xorCount--;
+            } else if (cell.size() > CELL_SIZE && xorCount < variables.size() && attempt < MAXIMUM_CELL_ATTEMPTS) {
+                xorCount++;
+            } else {
+                final int index = random.nextInt(cell.size());
+                literals.addAll(cellLiterals.get(index));
+                return cell.get(index);
+            }
+        }
+    }
+
+    private BooleanFormula newRandomXor() {
+        BooleanFormula xor = bfm.makeBoolean(random.nextBoolean());
+        for (BooleanFormula variable : variables) {
+            if (random.nextBoolean()) {
+                xor = bfm.xor(xor, variable);
+            }
+        }
+        return xor;
+    }
+
+    private ValueAssignment nextWithRandomObjective(List<BooleanFormula> literals) throws Exception {
+        final OptimizationProverEnvironment optimizationProver = (OptimizationProverEnvironment) prover;
+        final IntegerFormulaManager ifm = solver.context.getFormulaManager().getIntegerFormulaManager();
+        final IntegerFormula zero = ifm.makeNumber(0);
+        final ArrayList<IntegerFormula> summands = new ArrayList<>(variables.size());
+        for (BooleanFormula variable : variables) {
+            final int weight = random.nextInt(2 * MAXIMUM_WEIGHT + 1) - MAXIMUM_WEIGHT;
+            if (weight != 0) {
+                summands.add(bfm.ifThenElse(variable, ifm.makeNumber(weight), zero));
+            }
+        }
+        optimizationProver.push();
+        try {
+            optimizationProver.maximize(summands.isEmpty() ? zero : ifm.sum(summands));
+            if (SolverMetrics.check(optimizationProver, solver.getBackend()) == OptStatus.UNSAT) {
+                return null;
+            }
+            return readModel(literals);
+        } finally {
+            optimizationProver.pop();
+        }
+    }
+
+    private ValueAssignment readModel(List<BooleanFormula> literals) throws Exception {
+        try (Model model = prover.getModel()) {
+            for (BooleanFormula variable : variables) {
+                literals.add(Boolean.TRUE.equals(model.evaluate(variable)) ? variable : bfm.not(variable));
+            }
+            return JavaSMTSolver.toValueAssignment(model);
+        }
+    }
+
+    @Override
+    public void close() {
+        prover.close();
+    }
+}
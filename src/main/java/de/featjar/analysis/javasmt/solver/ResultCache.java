@@ -0,0 +1,436 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.FeatJAR;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Caches analysis results by key, such that repeated analyses of an unchanged formula are answered without a solver.
+ * Results are stored in encoded form, so cached values are never shared between callers.
+ * The memory tier is a bounded LRU cache. If a file is {@link #open(Path) opened}, every stored result is also
+ * appended to it, and results that are not in memory are read from it; the file thus persists results across
+ * processes. Each record of the file has a checksum; records whose checksum does not match are skipped, and an
+ * incomplete record at the end of the file, as left by an interrupted process, is discarded. The file is locked while
+ * it is opened, read for new records, and appended to, so several processes may share it: before a result is read
+ * from the file, records appended by other processes since the file was last read are indexed.
+ * Only results whose type is supported by the encoding are cached (see {@link #put(String, Object)}).
+ */
+public class ResultCache implements AutoCloseable {
+
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 1024;
+    public static final long DEFAULT_MAXIMUM_BYTES = 64L << 20;
+
+    private static final int MAGIC = 0x464a5243;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 16;
+
+    private static ResultCache defaultCache;
+
+    /**
+     * @return the cache shared by all analyses, which only has a memory tier unless a file is opened
+     */
+    public static synchronized ResultCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new ResultCache();
+        }
+        return defaultCache;
+    }
+
+    private static final class Location {
+        private final long position;
+        private final int length;
+
+        private Location(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    private final int maximumEntries;
+    private final long maximumBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private FileChannel file;
+    private final HashMap<String, Location> fileIndex = new HashMap<>();
+    private long indexedSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fileHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public ResultCache() {
+        this(DEFAULT_MAXIMUM_ENTRIES, DEFAULT_MAXIMUM_BYTES);
+    }
+
+    /**
+     * Creates a new cache with only a memory tier.
+     *
+     * @param maximumEntries the maximum number of results in memory, or zero to only use a file
+     * @param maximumBytes the maximum total size of encoded results in memory
+     */
+    public ResultCache(int maximumEntries, long maximumBytes) {
+        this.maximumEntries = maximumEntries;
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * Uses the given file as persistent tier, creating it if it does not exist.
+     * A previously opened file is closed.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be opened or is not a cache file
+     */
+    @SuppressWarnings("try")
+    public synchronized void open(Path path) throws IOException {
+        closeFile();
+        final FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try (FileLock lock = channel.lock()) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.size() == 0) {
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                writeFully(channel, header, 0);
+            } else {
+                readFully(channel, header, 0);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("not a result cache file: " + path);
+                }
+            }
+            indexedSize = readIndex(channel, HEADER_SIZE);
+            discardIncompleteRecord(channel);
+        } catch (final IOException | RuntimeException e) {
+            fileIndex.clear();
+            channel.close();
+            throw e;
+        }
+        file = channel;
+    }
+
+    /**
+     * Indexes all complete records from the given position on.
+     * Records with a mismatching checksum are skipped. If the lengths in a record header are invalid, the following
+     * records cannot be located, so the rest of the file is skipped, but kept.
+     *
+     * @param channel the file
+     * @param position the position of the first record to index
+     * @return the position after the last complete record, which is the end of the file unless the last record is
+     *     incomplete
+     * @throws IOException if the file cannot be read
+     */
+    private long readIndex(FileChannel channel, long position) throws IOException {
+        final long size = channel.size();
+        final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (position + RECORD_HEADER_SIZE <= size) {
+            recordHeader.clear();
+            readFully(channel, recordHeader, position);
+            final int keyLength = recordHeader.getInt(0);
+            final int valueLength = recordHeader.getInt(4);
+            final long checksum = recordHeader.getLong(8);
+            final long length = (long) keyLength + valueLength;
+            if (keyLength < 0 || valueLength < 0 || length > Integer.MAX_VALUE) {
+                FeatJAR.log().warning("skipping cache records after invalid record header at %d", position);
+                return size;
+            }
+            final long end = position + RECORD_HEADER_SIZE + length;
+            if (end > size) {
+                break;
+            }
+            final ByteBuffer record = ByteBuffer.allocate((int) length);
+            readFully(channel, record, position + RECORD_HEADER_SIZE);
+            if (checksum(record.array()) == checksum) {
+                final String key = new String(record.array(), 0, keyLength, StandardCharsets.UTF_8);
+                fileIndex.put(key, new Location(position + RECORD_HEADER_SIZE + keyLength, valueLength));
+            } else {
+                FeatJAR.log().warning("skipping cache record with invalid checksum at %d", position);
+            }
+            position = end;
+        }
+        return position;
+    }
+
+    /**
+     * Truncates an incomplete record after the indexed part of the file.
+     * As records are only appended while the file is locked, such a record is left by an interrupted process, if the
+     * lock is held by the caller.
+     *
+     * @param channel the file
+     * @throws IOException if the file cannot be truncated
+     */
+    private void discardIncompleteRecord(FileChannel channel) throws IOException {
+        if (indexedSize < channel.size()) {
+            FeatJAR.log().warning("discarding incomplete cache record at %d", indexedSize);
+            channel.truncate(indexedSize);
+        }
+    }
+
+    /**
+     * Returns the result stored for a key.
+     *
+     * @param key the key
+     * @return the result, or an empty optional if no result is stored or it cannot be read
+     */
+    public Optional<Object> get(String key) {
+        byte[] data;
+        synchronized (this) {
+            data = entries.get(key);
+            if (data == null) {
+                data = readFromFile(key);
+                if (data != null) {
+                    fileHits.increment();
+                    putInMemory(key, data);
+                }
+            } else {
+                hits.increment();
+            }
+        }
+        if (data == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(ResultCodec.decode(data));
+        } catch (final IOException e) {
+            FeatJAR.log().warning("discarding unreadable cached result for %s", key);
+            synchronized (this) {
+                entries.remove(key);
+                fileIndex.remove(key);
+            }
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("try")
+    private byte[] readFromFile(String key) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            if (file.size() > indexedSize) {
+                try (FileLock lock = file.lock(0, Long.MAX_VALUE, true)) {
+                    indexedSize = readIndex(file, indexedSize);
+                }
+            }
+            final Location location = fileIndex.get(key);
+            if (location == null) {
+                return null;
+            }
+            final ByteBuffer value = ByteBuffer.allocate(location.length);
+            readFully(file, value, location.position);
+            return value.array();
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the result for a key, replacing any previous result.
+     * Results are not stored if their type is not supported, that is, if they are not {@code null}, booleans,
+     * numbers as used in solutions and counts, strings, int arrays, object arrays, lists, maps with string keys, or
+     * value assignments, nested arbitrarily.
+     *
+     * @param key the key
+     * @param result the result
+     * @return whether the result was stored
+     */
+    public boolean put(String key, Object result) {
+        final byte[] data;
+        try {
+            data = ResultCodec.encode(result);
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+        synchronized (this) {
+            putInMemory(key, data);
+            if (file != null) {
+                try {
+                    appendToFile(key, data);
+                } catch (final IOException e) {
+                    FeatJAR.log().error(e);
+                }
+            }
+        }
+        stores.increment();
+        return true;
+    }
+
+    private void putInMemory(String key, byte[] data) {
+        if (maximumEntries <= 0 || data.length > maximumBytes) {
+            return;
+        }
+        final byte[] previous = entries.put(key, data);
+        bytes += data.length - (previous != null ? previous.length : 0);
+        final Iterator<byte[]> iterator = entries.values().iterator();
+        while (entries.size() > maximumEntries || bytes > maximumBytes) {
+            bytes -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    @SuppressWarnings("try")
+    private void appendToFile(String key, byte[] data) throws IOException {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + keyBytes.length + data.length);
+        record.putInt(keyBytes.length).putInt(data.length).putLong(0).put(keyBytes).put(data);
+        final long checksum = checksum(record.array(), RECORD_HEADER_SIZE);
+        record.putLong(8, checksum).flip();
+        try (FileLock lock = file.lock()) {
+            indexedSize = readIndex(file, indexedSize);
+            discardIncompleteRecord(file);
+            final long position = indexedSize;
+            writeFully(file, record, position);
+            fileIndex.put(key, new Location(position + RECORD_HEADER_SIZE + keyBytes.length, data.length));
+            indexedSize = position + record.limit();
+        }
+    }
+
+    /**
+     * Computes a digest of analysis parameters for use in a cache key.
+     * The parameters are digested in their binary encoding, which, in addition to the types supported for results
+     * (see {@link #put(String, Object)}), supports enums and durations.
+     *
+     * @param parameters the parameters
+     * @return the hexadecimal SHA-256 digest
+     * @throws IllegalArgumentException if a parameter or one of its elements is not supported
+     */
+    public static String digest(List<?> parameters) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(ResultCodec.encodeKey(parameters));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static long checksum(byte[] bytes) {
+        return checksum(bytes, 0);
+    }
+
+    private static long checksum(byte[] bytes, int offset) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, offset, bytes.length - offset);
+        return crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Removes all results from memory. Results in an opened file are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return the number of lookups answered from memory
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups answered from the file
+     */
+    public long getFileHits() {
+        return fileHits.sum();
+    }
+
+    /**
+     * @return the number of lookups without a stored result
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of stored results
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    private void closeFile() throws IOException {
+        if (file != null) {
+            fileIndex.clear();
+            try {
+                file.close();
+            } finally {
+                file = null;
+            }
+        }
+    }
+
+    /**
+     * Closes the file, if any. The memory tier remains usable.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            closeFile();
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ResultCache[hits=%d, fileHits=%d, misses=%d, stores=%d]",
+                getHits(), getFileHits(), getMisses(), getStores());
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.assignment.ValueAssignment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.sosy_lab.common.rationals.Rational;
+
+/**
+ * Binary encoding of analysis results for the {@link ResultCache}.
+ * Supported are {@code null}, booleans, numbers as used in solutions and counts, strings, int arrays, object arrays,
+ * lists, maps with string keys, and value assignments, nested arbitrarily.
+ * Analysis parameters are {@link #encodeKey(Object) encoded} the same way for cache keys, which additionally supports
+ * enums and durations.
+ */
+final class ResultCodec {
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BIG_INTEGER = 5;
+    private static final byte RATIONAL = 6;
+    private static final byte STRING = 7;
+    private static final byte INT_ARRAY = 8;
+    private static final byte INT_MATRIX = 9;
+    private static final byte OBJECT_ARRAY = 10;
+    private static final byte LIST = 11;
+    private static final byte MAP = 12;
+    private static final byte VALUE_ASSIGNMENT = 13;
+    private static final byte ENUM = 14;
+    private static final byte DURATION = 15;
+
+    private ResultCodec() {}
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value
+     * @return the encoded value
+     * @throws IllegalArgumentException if the value or one of its elements is not supported
+     */
+    static byte[] encode(Object value) {
+        return encode(value, false);
+    }
+
+    /**
+     * Encodes a value for use in a cache key.
+     * In contrast to {@link #encode(Object)}, enums and durations are supported, and the encoding cannot be decoded.
+     *
+     * @param value the value
+     * @return the encoded value
+     * @throws IllegalArgumentException if the value or one of its elements is not supported
+     */
+    static byte[] encodeKey(Object value) {
+        return encode(value, true);
+    }
+
+    private static byte[] encode(Object value, boolean key) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, value, key);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a value.
+     *
+     * @param data the encoded value
+     * @return the value
+     * @throws IOException if the data is not a valid encoding
+     */
+    static Object decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return read(in);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value, boolean key) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeBytes(out, ((BigInteger) value).toByteArray());
+        } else if (value instanceof Rational) {
+            out.writeByte(RATIONAL);
+            writeBytes(out, ((Rational) value).getNum().toByteArray());
+            writeBytes(out, ((Rational) value).getDen().toByteArray());
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof int[]) {
+            out.writeByte(INT_ARRAY);
+            writeInts(out, (int[]) value);
+        } else if (value instanceof int[][]) {
+            out.writeByte(INT_MATRIX);
+            final int[][] rows = (int[][]) value;
+            out.writeInt(rows.length);
+            for (int[] row : rows) {
+                out.writeBoolean(row != null);
+                if (row != null) {
+                    writeInts(out, row);
+                }
+            }
+        } else if (value instanceof Object[]) {
+            out.writeByte(OBJECT_ARRAY);
+            final Object[] elements = (Object[]) value;
+            out.writeInt(elements.length);
+            for (Object element : elements) {
+                write(out, element, key);
+            }
+        } else if (value instanceof List) {
+            out.writeByte(LIST);
+            final List<?> elements = (List<?>) value;
+            out.writeInt(elements.size());
+            for (Object element : elements) {
+                write(out, element, key);
+            }
+        } else if (value instanceof Map) {
+            out.writeByte(MAP);
+            writeMap(out, (Map<?, ?>) value, key);
+        } else if (value instanceof ValueAssignment) {
+            out.writeByte(VALUE_ASSIGNMENT);
+            writeMap(out, ((ValueAssignment) value).getAll(), key);
+        } else if (key && value instanceof Enum) {
+            out.writeByte(ENUM);
+            writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+            writeString(out, ((Enum<?>) value).name());
+        } else if (key && value instanceof Duration) {
+            out.writeByte(DURATION);
+            out.writeLong(((Duration) value).getSeconds());
+            out.writeInt(((Duration) value).getNano());
+        } else {
+            throw new IllegalArgumentException("cannot encode " + value.getClass().getName());
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeInts(DataOutputStream out, int[] ints) throws IOException {
+        out.writeInt(ints.length);
+        for (int i : ints) {
+            out.writeInt(i);
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<?, ?> map, boolean key) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new IllegalArgumentException("cannot encode map key " + entry.getKey());
+            }
+            writeString(out, (String) entry.getKey());
+            write(out, entry.getValue(), key);
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        final byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BIG_INTEGER:
+                return new BigInteger(readBytes(in));
+            case RATIONAL:
+                return Rational.of(new BigInteger(readBytes(in)), new BigInteger(readBytes(in)));
+            case STRING:
+                return readString(in);
+            case INT_ARRAY:
+                return readInts(in);
+            case INT_MATRIX: {
+                final int[][] rows = new int[readLength(in)][];
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = in.readBoolean() ? readInts(in) : null;
+                }
+                return rows;
+            }
+            case OBJECT_ARRAY: {
+                final Object[] elements = new Object[readLength(in)];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = read(in);
+                }
+                return elements;
+            }
+            case LIST: {
+                final int size = readLength(in);
+                final ArrayList<Object> elements = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    elements.add(read(in));
+                }
+                return elements;
+            }
+            case MAP:
+                return readMap(in);
+            case VALUE_ASSIGNMENT:
+                return new ValueAssignment(readMap(in));
+            default:
+                throw new IOException("invalid tag " + tag);
+        }
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("invalid length " + length);
+        }
+        return length;
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        final int[] ints = new int[readLength(in)];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = in.readInt();
+        }
+        return ints;
+    }
+
+    private static LinkedHashMap<String, Object> readMap(DataInputStream in) throws IOException {
+        final int size = readLength(in);
+        final LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), read(in));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Single prover in which each of a list of constraints is guarded by its own selector variable, such that arbitrary
+ * subsets of the constraints can be checked incrementally.
+ * Each check asserts the selectors of a subset in a temporary scope and reads the unsat core or the model afterwards.
+ * This is used instead of unsat cores over assumptions, which some solvers (e.g., SMTInterpol) only support on an empty
+ * assertion stack.
+ */
+class SelectorProver implements AutoCloseable {
+
+    private static final AtomicLong selectorCounter = new AtomicLong();
+
+    private final Solvers backend;
+    private final BooleanFormulaManager bfm;
+    private final ProverEnvironment prover;
+    private final List<BooleanFormula> constraints;
+    private final BooleanFormula[] selectors;
+    private final HashMap<BooleanFormula, Integer> selectorIndices;
+
+    /**
+     * Contains an unsatisfiable subset of the last checked subset, if it was unsatisfiable.
+     */
+    final BitSet core = new BitSet();
+
+    /**
+     * Contains all constraints satisfied by the model of the last checked subset, if it was satisfiable.
+     */
+    final BitSet satisfied = new BitSet();
+
+    /**
+     * Creates a new prover.
+     *
+     * @param solver the solver providing the context
+     * @param definitions the definitions of the auxiliary variables occurring in the constraints
+     * @param constraints the tracked constraints
+     * @throws InterruptedException if the solver was shut down
+     */
+    SelectorProver(JavaSMTSolver solver, BooleanFormula definitions, List<BooleanFormula> constraints)
+            throws InterruptedException {
+        this.constraints = constraints;
+        backend = solver.getBackend();
+        bfm = solver.context.getFormulaManager().getBooleanFormulaManager();
+        selectors = new BooleanFormula[constraints.size()];
+        selectorIndices = new HashMap<>();
+        prover = solver.context.newProverEnvironment(ProverOptions.GENERATE_MODELS, ProverOptions.GENERATE_UNSAT_CORE);
+        try {
+            prover.addConstraint(definitions);
+            for (int i = 0; i < selectors.length; i++) {
+                selectors[i] = bfm.makeVariable(
+                        FormulaToJavaSMT.AUXILIARY_VARIABLE_PREFIX + "selector_" + selectorCounter.getAndIncrement());
+                selectorIndices.put(selectors[i], i);
+                prover.addConstraint(bfm.implication(selectors[i], constraints.get(i)));
+            }
+        } catch (final InterruptedException e) {
+            prover.close();
+            throw e;
+        }
+    }
+
+    int size() {
+        return selectors.length;
+    }
+
+    BooleanFormula getSelector(int index) {
+        return selectors[index];
+    }
+
+    BooleanFormula getConstraint(int index) {
+        return constraints.get(index);
+    }
+
+    /**
+     * Checks whether the given constraints are satisfiable together. Afterwards, {@link #satisfied} contains all
+     * constraints satisfied by the found model, or {@link #core} contains an unsatisfiable subset of them.
+     *
+     * @param subset the indices of the constraints
+     * @return whether the constraints are satisfiable
+     * @throws Exception if the solver fails
+     */
+    boolean isSatisfiable(BitSet subset) throws Exception {
+        prover.push();
+        try {
+            for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+                prover.addConstraint(selectors[i]);
+            }
+            if (SolverMetrics.isUnsat(prover, backend)) {
+                core.clear();
+                for (BooleanFormula formula : prover.getUnsatCore()) {
+                    final Integer index = selectorIndices.get(formula);
+                    if (index != null && subset.get(index)) {
+                        core.set(index);
+                    }
+                }
+                return false;
+            }
+            satisfied.clear();
+            satisfied.or(subset);
+            try (Model model = prover.getModel()) {
+                for (int i = 0; i < selectors.length; i++) {
+                    if (!satisfied.get(i) && Boolean.TRUE.equals(model.evaluate(constraints.get(i)))) {
+                        satisfied.set(i);
+                    }
+                }
+            }
+            return true;
+        } finally {
+            prover.pop();
+        }
+    }
+
+    /**
+     * Grows the last satisfiable subset into a maximal one and returns its complement, a minimal correction subset.
+     *
+     * @return the indices of a minimal correction subset
+     * @throws Exception if the solver fails
+     */
+    BitSet grow() throws Exception {
+        final BitSet maximal = (BitSet) satisfied.clone();
+        for (int i = maximal.nextClearBit(0); i < selectors.length; i = maximal.nextClearBit(i + 1)) {
+            final BitSet candidate = (BitSet) maximal.clone();
+            candidate.set(i);
+            if (isSatisfiable(candidate)) {
+                maximal.or(satisfied);
+            }
+        }
+        final BitSet complement = new BitSet(selectors.length);
+        complement.set(0, selectors.length);
+        complement.andNot(maximal);
+        return complement;
+    }
+
+    /**
+     * Shrinks the last unsatisfiable core into a minimal unsatisfiable subset by deleting one constraint at a time.
+     * Whenever a deletion keeps the subset unsatisfiable, the subset is reduced to the new core. A constraint that
+     * cannot be deleted stays critical for all subsets, so each constraint is tested at most once.
+     *
+     * @return the indices of a minimal unsatisfiable subset
+     * @throws Exception if the solver fails
+     */
+    BitSet shrink() throws Exception {
+        BitSet minimal = (BitSet) core.clone();
+        for (int i = minimal.nextSetBit(0); i >= 0; i = minimal.nextSetBit(i + 1)) {
+            final BitSet candidate = (BitSet) minimal.clone();
+            candidate.clear(i);
+            if (!isSatisfiable(candidate)) {
+                minimal = (BitSet) core.clone();
+            }
+        }
+        return minimal;
+    }
+
+    /**
+     * Computes a minimal unsatisfiable subset of all constraints.
+     *
+     * @return the indices of a minimal unsatisfiable subset, or {@code null} if all constraints are satisfiable
+     * @throws Exception if the solver fails
+     */
+    BitSet findMinimalUnsatisfiableSubset() throws Exception {
+        final BitSet all = new BitSet(selectors.length);
+        all.set(0, selectors.length);
+        return isSatisfiable(all) ? null : shrink();
+    }
+
+    @Override
+    public void close() {
+        prover.close();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Counts the solutions of a formula projected onto a set of boolean variables.
+ * Instead of enumerating every model, each model is generalized into a cube by dropping literals whose value does
+ * not matter, and the cube contributes 2^k solutions for its k dropped literals.
+ * A second prover holds the negated formula together with all cubes found so far, such that a cube is only
+ * generalized as far as it remains a subset of the formula and disjoint from all previous cubes.
+ * Definitions of auxiliary variables (e.g., from a Tseitin encoding) are asserted in both provers, such that the
+ * negation only applies to the defined formula and the count is projected onto the original variables.
+ */
+public class SolutionCounter {
+
+    private static final AtomicLong auxiliaryVariableCounter = new AtomicLong();
+
+    /**
+     * Sum of powers of two that stays primitive until it exceeds {@code long} precision.
+     */
+    private static final class Count {
+        private static final long SPILL_LIMIT = 1L << 62;
+
+        private long low;
+        private BigInteger high = BigInteger.ZERO;
+
+        private void addPowerOfTwo(int exponent) {
+            if (exponent < 62) {
+                low += 1L << exponent;
+                if (low >= SPILL_LIMIT) {
+                    high = high.add(BigInteger.valueOf(low));
+                    low = 0;
+                }
+            } else {
+                high = high.add(BigInteger.ONE.shiftLeft(exponent));
+            }
+        }
+
+        private BigInteger get() {
+            return high.add(BigInteger.valueOf(low));
+        }
+    }
+
+    private final JavaSMTSolver solver;
+    private final List<BooleanFormula> projection;
+    private final int freeVariables;
+    private List<BooleanFormula> assumptions = List.of();
+
+    /**
+     * Creates a counter projected onto all boolean variables of the solver's formula.
+     *
+     * @param solver the solver
+     */
+    public SolutionCounter(JavaSMTSolver solver) {
+        this(solver, solver.getSolverFormula().getBooleanVariables(), 0);
+    }
+
+    /**
+     * Creates a counter projected onto the given variables.
+     *
+     * @param solver the solver
+     * @param projection boolean variables of the solver's formula
+     * @param freeVariables number of additional projected variables that do not occur in the formula
+     */
+    public SolutionCounter(JavaSMTSolver solver, List<BooleanFormula> projection, int freeVariables) {
+        this.solver = solver;
+        this.projection = projection;
+        this.freeVariables = freeVariables;
+    }
+
+    /**
+     * Restricts counting to solutions that satisfy the given literals.
+     *
+     * @param assumptions boolean atoms or their negations
+     */
+    public void setAssumptions(List<BooleanFormula> assumptions) {
+        this.assumptions = assumptions;
+    }
+
+    public Result<BigInteger> count(Progress progress) {
+        final BooleanFormulaManager bfm = solver.context.getFormulaManager().getBooleanFormulaManager();
+        final ArrayList<BooleanFormula> constraints = new ArrayList<>(assumptions.size() + 1);
+        constraints.add(solver.getSolverFormula().getRoot());
+        constraints.addAll(assumptions);
+        final BooleanFormula formula = bfm.and(constraints);
+        try (ProverEnvironment prover = solver.context.newProverEnvironment(ProverOptions.GENERATE_MODELS);
+                ProverEnvironment dual =
+                        solver.context.newProverEnvironment(ProverOptions.GENERATE_UNSAT_CORE)) {
+            final BooleanFormula definitions = solver.getSolverFormula().getDefinitions();
+            prover.addConstraint(definitions);
+            SolverMetrics.addConstraint(prover, formula, solver.getBackend());
+            BooleanFormula open = newAuxiliaryVariable(bfm);
+            dual.addConstraint(definitions);
+            dual.addConstraint(bfm.or(bfm.not(formula), open));
+
+            final Count count = new Count();
+            final ArrayList<BooleanFormula> cube = new ArrayList<>(projection.size() + 1);
+            boolean canGeneralize = true;
+            while (!SolverMetrics.isUnsat(prover, solver.getBackend())) {
+                cube.clear();
+                cube.add(bfm.not(open));
+                try (Model model = prover.getModel()) {
+                    for (BooleanFormula variable : projection) {
+                        cube.add(Boolean.TRUE.equals(model.evaluate(variable)) ? variable : bfm.not(variable));
+                    }
+                }
+                if (canGeneralize) {
+                    try {
+                        generalize(dual, cube);
+                    } catch (final UnsupportedOperationException e) {
+                        canGeneralize = false;
+                    }
+                }
+                final List<BooleanFormula> literals = cube.subList(1, cube.size());
+                count.addPowerOfTwo(projection.size() - literals.size() + freeVariables);
+                if (progress != null) {
+                    progress.incrementCurrentStep();
+                }
+
+                final BooleanFormula cubeFormula = bfm.and(literals);
+                prover.addConstraint(bfm.not(cubeFormula));
+                final BooleanFormula next = newAuxiliaryVariable(bfm);
+                dual.addConstraint(bfm.implication(open, bfm.or(cubeFormula, next)));
+                open = next;
+            }
+            return solver.isCancelled() ? solver.failure(new InterruptedException()) : Result.of(count.get());
+        } catch (final Exception e) {
+            return solver.failure(e);
+        }
+    }
+
+    /**
+     * Shrinks a cube (whose first element is the negated open selector) to the literals of an unsat core of the dual
+     * prover. The remaining literals still imply the formula and exclude all previous cubes.
+     * Some solvers only support cores over assumptions on an empty assertion stack, so the cube is asserted in a
+     * temporary scope instead.
+     */
+    private void generalize(ProverEnvironment dual, ArrayList<BooleanFormula> cube) throws Exception {
+        dual.push();
+        try {
+            for (BooleanFormula literal : cube) {
+                dual.addConstraint(literal);
+            }
+            if (SolverMetrics.isUnsat(dual, solver.getBackend())) {
+                final BooleanFormula selector = cube.get(0);
+                final HashSet<BooleanFormula> core = new HashSet<>(dual.getUnsatCore());
+                cube.removeIf(literal -> literal != selector && !core.contains(literal));
+            }
+        } finally {
+            dual.pop();
+        }
+    }
+
+    private static BooleanFormula newAuxiliaryVariable(BooleanFormulaManager bfm) {
+        return bfm.makeVariable(
+                FormulaToJavaSMT.AUXILIARY_VARIABLE_PREFIX + "count_" + auxiliaryVariableCounter.getAndIncrement());
+    }
+}
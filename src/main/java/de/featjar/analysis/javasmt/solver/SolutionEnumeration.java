@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.assignment.ValueAssignment;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Lazily enumerates distinct solutions of a formula.
+ * Each iteration checks out its own solver and computes the next solution only when it is requested, so consumers
+ * control the pace and never hold more than one solution at a time.
+ * Solutions are distinct with respect to their boolean variables; numeric variables are assigned some witness value.
+ * An iterator releases its solver when it is exhausted, reaches the limit, or is closed, and at the latest when it is
+ * garbage collected.
+ * The time limit of the solver only elapses while the iterator computes a solution, not while the consumer processes
+ * it.
+ */
+public class SolutionEnumeration implements Iterable<ValueAssignment> {
+
+    /**
+     * Iterator over solutions that must be closed if it is not consumed completely.
+     */
+    public static final class SolutionIterator implements Iterator<ValueAssignment>, AutoCloseable {
+        private final JavaSMTSolver solver;
+        private final ProverEnvironment prover;
+        private final List<BooleanFormula> variables;
+        private final BooleanFormulaManager bfm;
+        private final Cleaner.Cleanable cleanable;
+        private long remaining;
+        private ValueAssignment next;
+        private boolean closed;
+
+        private SolutionIterator(JavaSMTSolver solver, long limit) {
+            this.solver = solver;
+            remaining = limit;
+            variables = solver.getSolverFormula().getBooleanVariables();
+            bfm = solver.context.getFormulaManager().getBooleanFormulaManager();
+            prover = solver.context.newProverEnvironment(ProverOptions.GENERATE_MODELS);
+            cleanable = solver.closeWhenUnreachable(this, prover);
+            try {
+                SolverMetrics.addConstraint(prover, solver.getSolverFormula().getFormula(), solver.getBackend());
+            } catch (final InterruptedException e) {
+                close();
+                throw new IllegalStateException(e);
+            }
+            solver.suspendTimeout();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                solver.resumeTimeout();
+                try {
+                    advance();
+                } finally {
+                    solver.suspendTimeout();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ValueAssignment next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ValueAssignment solution = next;
+            next = null;
+            return solution;
+        }
+
+        private void advance() {
+            try {
+                if (remaining <= 0 || SolverMetrics.isUnsat(prover, solver.getBackend())) {
+                    close();
+                    return;
+                }
+                final ArrayList<BooleanFormula> literals = new ArrayList<>(variables.size());
+                try (Model model = prover.getModel()) {
+                    next = JavaSMTSolver.toValueAssignment(model);
+                    for (BooleanFormula variable : variables) {
+                        literals.add(Boolean.TRUE.equals(model.evaluate(variable)) ? variable : bfm.not(variable));
+                    }
+                }
+                remaining--;
+                prover.addConstraint(bfm.not(bfm.and(literals)));
+            } catch (final Exception e) {
+                close();
+                throw new IllegalStateException(solver.failure(e).getProblems().get(0).getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                cleanable.clean();
+            }
+        }
+    }
+
+    private final Supplier<JavaSMTSolver> solverFactory;
+    private final long limit;
+
+    /**
+     * Creates a new enumeration.
+     *
+     * @param solverFactory creates a new solver for each iteration; the solver is closed by the iterator
+     * @param limit the maximum number of solutions per iteration
+     */
+    public SolutionEnumeration(Supplier<JavaSMTSolver> solverFactory, long limit) {
+        this.solverFactory = solverFactory;
+        this.limit = limit;
+    }
+
+    @Override
+    public SolutionIterator iterator() {
+        return new SolutionIterator(solverFactory.get(), limit);
+    }
+
+    /**
+     * Returns a sequential stream of solutions, which releases its solver when it is closed.
+     *
+     * @return a new stream that should be used in a try-with-resources statement
+     */
+    public Stream<ValueAssignment> stream() {
+        final SolutionIterator iterator = iterator();
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(
+                                iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for a phase timed by {@link SolverMetrics}, such as a single solver call.
+ * The event is only created while a recording is running, for example one started with
+ * {@code -XX:StartFlightRecording}, and can be excluded from it with
+ * {@code de.featjar.javasmt.SolverCall#enabled=false}.
+ */
+@Name("de.featjar.javasmt.SolverCall")
+@Label("Solver Call")
+@Description("A phase of a JavaSMT analysis, such as translation or a satisfiability check")
+@Category({"FeatJAR", "JavaSMT"})
+@StackTrace(false)
+final class SolverCallEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Label")
+    @Description("The solver backend or the analysis")
+    String label;
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.FeatJAR;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Bounded pool of warm {@link SolverContext solver contexts}, separated by solver backend.
+ * Contexts are checked out exclusively and returned by {@link PooledSolverContext#close()}.
+ * Contexts are closed when they exceed their maximum number of uses, stay idle for too long, are invalidated, or when
+ * the pool is closed.
+ */
+public class SolverContextPool implements AutoCloseable {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_MAXIMUM_USES = 1000;
+    public static final Duration DEFAULT_MAXIMUM_IDLE_TIME = Duration.ofMinutes(5);
+
+    private static SolverContextPool defaultPool;
+    private static boolean shutdownHookRegistered;
+
+    /**
+     * Returns the shared pool used by all analyses.
+     * The pool is closed automatically when the JVM shuts down.
+     *
+     * @return the default pool
+     */
+    public static synchronized SolverContextPool getDefault() {
+        if (defaultPool == null || defaultPool.isClosed()) {
+            defaultPool = new SolverContextPool(DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_USES, DEFAULT_MAXIMUM_IDLE_TIME);
+            if (!shutdownHookRegistered) {
+                Runtime.getRuntime()
+                        .addShutdownHook(new Thread(SolverContextPool::closeDefault, "javasmt-pool-shutdown"));
+                shutdownHookRegistered = true;
+            }
+        }
+        return defaultPool;
+    }
+
+    private static synchronized void closeDefault() {
+        if (defaultPool != null) {
+            defaultPool.close();
+        }
+    }
+
+    private static final class Backend {
+        private final ArrayDeque<PooledSolverContext> idle = new ArrayDeque<>();
+        private int size;
+    }
+
+    private final EnumMap<Solvers, Backend> backends = new EnumMap<>(Solvers.class);
+    private final int maximumSize;
+    private final int maximumUses;
+    private final long maximumIdleNanos;
+    private boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maximumSize the maximum number of open contexts per solver backend
+     * @param maximumUses the number of checkouts after which a context is closed and replaced
+     * @param maximumIdleTime the time after which an unused context is closed
+     */
+    public SolverContextPool(int maximumSize, int maximumUses, Duration maximumIdleTime) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (maximumUses < 1) {
+            throw new IllegalArgumentException("maximumUses must be positive: " + maximumUses);
+        }
+        this.maximumSize = maximumSize;
+        this.maximumUses = maximumUses;
+        this.maximumIdleNanos = maximumIdleTime.toNanos();
+    }
+
+    /**
+     * Checks out a context for the given solver backend.
+     * Reuses an idle context if available, creates a new one if the pool is not full, and waits otherwise.
+     *
+     * @param solver the solver backend
+     * @return an exclusively owned context that must be closed after use
+     * @throws InvalidConfigurationException if the solver backend cannot be loaded
+     * @throws InterruptedException if the thread is interrupted while waiting for a context
+     */
+    public PooledSolverContext checkout(Solvers solver) throws InvalidConfigurationException, InterruptedException {
+        return checkout(solver, true);
+    }
+
+    /**
+     * Checks out a context for the given solver backend if this is possible without waiting.
+     * A thread that already holds a context must use this method to acquire further contexts, as two threads that
+     * hold contexts while waiting for each other's contexts would never continue.
+     *
+     * @param solver the solver backend
+     * @return an exclusively owned context that must be closed after use, or {@code null} if all contexts of the
+     *     backend are in use
+     * @throws InvalidConfigurationException if the solver backend cannot be loaded
+     */
+    public PooledSolverContext tryCheckout(Solvers solver) throws InvalidConfigurationException {
+        try {
+            return checkout(solver, false);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private PooledSolverContext checkout(Solvers solver, boolean wait)
+            throws InvalidConfigurationException, InterruptedException {
+        final Backend backend;
+        long waitStart = 0;
+        synchronized (this) {
+            ensureOpen();
+            backend = backends.computeIfAbsent(solver, s -> new Backend());
+            evictIdle(backend, System.nanoTime());
+            while (true) {
+                final PooledSolverContext context = backend.idle.pollFirst();
+                if (context != null) {
+                    hits.increment();
+                    recordWait(waitStart);
+                    context.checkout();
+                    return context;
+                }
+                if (backend.size < maximumSize) {
+                    backend.size++;
+                    break;
+                }
+                if (!wait) {
+                    return null;
+                }
+                if (waitStart == 0) {
+                    waitStart = System.nanoTime();
+                    waits.increment();
+                }
+                wait();
+                ensureOpen();
+            }
+        }
+        misses.increment();
+        recordWait(waitStart);
+        boolean created = false;
+        try {
+            final PooledSolverContext context = createContext(solver);
+            context.checkout();
+            created = true;
+            return context;
+        } finally {
+            if (!created) {
+                synchronized (this) {
+                    backend.size--;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks out a context for the first available backend of the given selection.
+     * Backends that fail to load are marked as unavailable and skipped, as are backends without the capabilities
+     * required by the selection.
+     *
+     * @param selection the solver backends in order of preference
+     * @return an exclusively owned context that must be closed after use
+     * @throws InvalidConfigurationException if none of the backends can be loaded
+     * @throws InterruptedException if the thread is interrupted while waiting for a context
+     */
+    public PooledSolverContext checkout(SolverSelection selection)
+            throws InvalidConfigurationException, InterruptedException {
+        InvalidConfigurationException failure = null;
+        for (Solvers solver : selection.getAvailableSolvers()) {
+            try {
+                return checkout(solver);
+            } catch (final InvalidConfigurationException e) {
+                FeatJAR.log().warning("could not load solver " + solver + ", trying next: " + e.getMessage());
+                SolverSelection.markUnavailable(solver);
+                failure = e;
+            } catch (final LinkageError e) {
+                FeatJAR.log().warning("could not load solver " + solver + ", trying next: " + e.getMessage());
+                SolverSelection.markUnavailable(solver);
+                failure = new InvalidConfigurationException(e.getMessage(), e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        throw new InvalidConfigurationException("none of the solvers " + selection
+                + (selection.getCapabilities().isEmpty() ? "" : " with " + selection.getCapabilities())
+                + " is available");
+    }
+
+    @SuppressWarnings("try")
+    private PooledSolverContext createContext(Solvers solver) throws InvalidConfigurationException {
+        final Configuration config = Configuration.defaultConfiguration();
+        final LogManager logManager = BasicLogManager.create(config);
+        final ShutdownManager shutdownManager = ShutdownManager.create();
+        final SolverContext context;
+        try (SolverMetrics.Timer timer = SolverMetrics.start(SolverMetrics.Phase.CONTEXT_CREATION, solver)) {
+            context = SolverContextFactory.createSolverContext(
+                    config, logManager, shutdownManager.getNotifier(), solver);
+        }
+        return new PooledSolverContext(this, solver, context, shutdownManager);
+    }
+
+    synchronized void release(PooledSolverContext context) {
+        if (!context.release()) {
+            return;
+        }
+        final Backend backend = backends.get(context.getSolver());
+        if (closed || !context.isValid() || context.getUseCount() >= maximumUses) {
+            discard(backend, context);
+        } else {
+            backend.idle.addFirst(context);
+        }
+        notifyAll();
+    }
+
+    private void evictIdle(Backend backend, long now) {
+        for (Iterator<PooledSolverContext> it = backend.idle.descendingIterator(); it.hasNext(); ) {
+            final PooledSolverContext context = it.next();
+            if (now - context.getLastReleaseTime() < maximumIdleNanos) {
+                break;
+            }
+            it.remove();
+            discard(backend, context);
+        }
+    }
+
+    private void discard(Backend backend, PooledSolverContext context) {
+        backend.size--;
+        evictions.increment();
+        try {
+            context.closeContext();
+        } catch (final RuntimeException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    private void recordWait(long waitStart) {
+        if (waitStart != 0) {
+            waitNanos.add(System.nanoTime() - waitStart);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("solver context pool is closed");
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes all idle contexts. Contexts that are currently checked out are closed as soon as they are returned.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Backend backend : backends.values()) {
+            while (!backend.idle.isEmpty()) {
+                discard(backend, backend.idle.pollFirst());
+            }
+        }
+        notifyAll();
+    }
+
+    /**
+     * @return the maximum number of open contexts per solver backend
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of checkouts served by an idle context
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of checkouts that required creating a new context
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of checkouts that had to wait for a context to be returned
+     */
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     * @return the accumulated time spent waiting for a context
+     */
+    public Duration getWaitTime() {
+        return Duration.ofNanos(waitNanos.sum());
+    }
+
+    /**
+     * @return the number of closed contexts
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "SolverContextPool[hits=%d, misses=%d, waits=%d, waitTime=%s, evictions=%d]",
+                getHits(), getMisses(), getWaits(), getWaitTime(), getEvictions());
+    }
+}
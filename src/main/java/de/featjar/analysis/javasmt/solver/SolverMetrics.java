@@ -0,0 +1,441 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.EventType;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment;
+import org.sosy_lab.java_smt.api.OptimizationProverEnvironment.OptStatus;
+import org.sosy_lab.java_smt.api.SolverException;
+
+/**
+ * Collects the time spent in each phase of an analysis, per solver backend or analysis, together with the latest
+ * statistics reported by each backend in each analysis. The analysis of a thread is set with
+ * {@link #enterAnalysis(String)} and must be {@link #propagate(Callable) propagated} to worker threads.
+ * Each timed phase is also emitted as a {@link SolverCallEvent} to Java Flight Recorder if a recording enables it.
+ * Collection is disabled unless {@link #ENABLED_PROPERTY} is {@code true} or {@link #setEnabled(boolean)} is called.
+ * While it is disabled and no recording enables the event, measuring a phase only costs a check of two flags.
+ */
+public final class SolverMetrics {
+
+    public static final String ENABLED_PROPERTY = "featjar.javasmt.metrics";
+
+    /**
+     * The phases of an analysis.
+     */
+    public enum Phase {
+        /** Creating a solver context. */
+        CONTEXT_CREATION,
+        /** Translating a formula into the solver's representation. */
+        TRANSLATION,
+        /** Asserting a translated formula in a prover. */
+        ADD_CONSTRAINT,
+        /** A satisfiability or optimization check. */
+        SOLVE,
+        /** A complete analysis, including all other phases. */
+        ANALYSIS
+    }
+
+    /**
+     * The accumulated durations of one phase for one label.
+     */
+    public static final class Measurement {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maximumNanos = new LongAccumulator(Math::max, 0);
+
+        private void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maximumNanos.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public Duration getTotalTime() {
+            return Duration.ofNanos(totalNanos.sum());
+        }
+
+        public Duration getMaximumTime() {
+            return Duration.ofNanos(maximumNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d calls, %.3f ms total, %.3f ms maximum",
+                    getCount(), totalNanos.sum() / 1e6, maximumNanos.get() / 1e6);
+        }
+    }
+
+    /**
+     * Measures one occurrence of a phase when closed.
+     */
+    public static final class Timer implements AutoCloseable {
+        private static final Timer DISABLED = new Timer(null, null, null);
+
+        private final Phase phase;
+        private final String label;
+        private final SolverCallEvent event;
+        private final long start;
+
+        private Timer(Phase phase, String label, SolverCallEvent event) {
+            this.phase = phase;
+            this.label = label;
+            this.event = event;
+            if (event != null) {
+                event.begin();
+            }
+            start = event != null && enabled ? System.nanoTime() : 0;
+        }
+
+        @Override
+        public void close() {
+            if (event == null) {
+                return;
+            }
+            if (start != 0) {
+                record(phase, label, System.nanoTime() - start);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.label = label;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Sets the analysis of the current thread until closed.
+     */
+    public static final class Scope implements AutoCloseable {
+        private static final Scope DISABLED = new Scope(null);
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (this != DISABLED) {
+                currentAnalysis.set(previous);
+            }
+        }
+    }
+
+    /**
+     * The analysis under which statistics are recorded if a thread has not {@link #enterAnalysis(String) entered} an
+     * analysis.
+     */
+    public static final String NO_ANALYSIS = "-";
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(SolverCallEvent.class);
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final Map<Phase, ConcurrentHashMap<String, Measurement>> measurements = new EnumMap<>(Phase.class);
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<Solvers, Map<String, String>>> statistics =
+            new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentAnalysis = new ThreadLocal<>();
+
+    static {
+        for (Phase phase : Phase.values()) {
+            measurements.put(phase, new ConcurrentHashMap<>());
+        }
+    }
+
+    private SolverMetrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the collection of measurements and statistics.
+     * Flight recorder events are emitted independently of this setting.
+     *
+     * @param enabled whether to collect measurements
+     */
+    public static void setEnabled(boolean enabled) {
+        SolverMetrics.enabled = enabled;
+    }
+
+    /**
+     * Starts measuring a phase.
+     *
+     * @param phase the phase
+     * @param label the solver backend or analysis
+     * @return a timer that must be closed at the end of the phase
+     */
+    public static Timer start(Phase phase, String label) {
+        if (!enabled && !EVENT_TYPE.isEnabled()) {
+            return Timer.DISABLED;
+        }
+        return new Timer(phase, label, new SolverCallEvent());
+    }
+
+    public static Timer start(Phase phase, Solvers backend) {
+        return start(phase, backend.name());
+    }
+
+    /**
+     * Records the statistics of solver calls on the current thread under the given analysis until the returned scope
+     * is closed.
+     *
+     * @param analysis the analysis
+     * @return a scope that must be closed at the end of the analysis
+     */
+    public static Scope enterAnalysis(String analysis) {
+        if (!enabled) {
+            return Scope.DISABLED;
+        }
+        final Scope scope = new Scope(currentAnalysis.get());
+        currentAnalysis.set(analysis);
+        return scope;
+    }
+
+    /**
+     * Returns the analysis of the current thread.
+     *
+     * @return the analysis, or {@link #NO_ANALYSIS} if none was entered
+     */
+    public static String getAnalysis() {
+        final String analysis = currentAnalysis.get();
+        return analysis != null ? analysis : NO_ANALYSIS;
+    }
+
+    /**
+     * Wraps a task such that it runs in the analysis of the current thread, for submitting it to a worker thread.
+     *
+     * @param <T> the type of the result
+     * @param task the task
+     * @return the wrapped task
+     */
+    @SuppressWarnings("try")
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        final String analysis = currentAnalysis.get();
+        if (analysis == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope scope = enterAnalysis(analysis)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task such that it runs in the analysis of the current thread, for submitting it to a worker thread.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    @SuppressWarnings("try")
+    public static Runnable propagate(Runnable task) {
+        final String analysis = currentAnalysis.get();
+        if (analysis == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope scope = enterAnalysis(analysis)) {
+                task.run();
+            }
+        };
+    }
+
+    private static void record(Phase phase, String label, long nanos) {
+        measurements.get(phase).computeIfAbsent(label, key -> new Measurement()).add(nanos);
+    }
+
+    /**
+     * Asserts a formula in a prover and measures it as {@link Phase#ADD_CONSTRAINT}.
+     *
+     * @param <T> the type of the constraint handle
+     * @param prover the prover
+     * @param formula the formula
+     * @param backend the backend of the prover
+     * @return the constraint handle
+     * @throws InterruptedException if the solver was shut down
+     */
+    @SuppressWarnings("try")
+    public static <T> T addConstraint(BasicProverEnvironment<T> prover, BooleanFormula formula, Solvers backend)
+            throws InterruptedException {
+        try (Timer timer = start(Phase.ADD_CONSTRAINT, backend)) {
+            return prover.addConstraint(formula);
+        }
+    }
+
+    /**
+     * Checks the satisfiability of a prover and measures it as {@link Phase#SOLVE}.
+     *
+     * @param prover the prover
+     * @param backend the backend of the prover
+     * @return whether the prover is unsatisfiable
+     * @throws SolverException if the solver fails
+     * @throws InterruptedException if the solver was shut down
+     */
+    @SuppressWarnings("try")
+    public static boolean isUnsat(BasicProverEnvironment<?> prover, Solvers backend)
+            throws SolverException, InterruptedException {
+        try (Timer timer = start(Phase.SOLVE, backend)) {
+            return prover.isUnsat();
+        } finally {
+            recordStatistics(prover, backend);
+        }
+    }
+
+    /**
+     * Checks the satisfiability of a prover under assumptions and measures it as {@link Phase#SOLVE}.
+     *
+     * @param prover the prover
+     * @param assumptions the assumed literals
+     * @param backend the backend of the prover
+     * @return whether the prover is unsatisfiable under the assumptions
+     * @throws SolverException if the solver fails
+     * @throws InterruptedException if the solver was shut down
+     */
+    @SuppressWarnings("try")
+    public static boolean isUnsatWithAssumptions(
+            BasicProverEnvironment<?> prover, Collection<BooleanFormula> assumptions, Solvers backend)
+            throws SolverException, InterruptedException {
+        try (Timer timer = start(Phase.SOLVE, backend)) {
+            return prover.isUnsatWithAssumptions(assumptions);
+        } finally {
+            recordStatistics(prover, backend);
+        }
+    }
+
+    /**
+     * Optimizes the objectives of a prover and measures it as {@link Phase#SOLVE}.
+     *
+     * @param prover the prover
+     * @param backend the backend of the prover
+     * @return the optimization status
+     * @throws SolverException if the solver fails
+     * @throws InterruptedException if the solver was shut down
+     */
+    @SuppressWarnings("try")
+    public static OptStatus check(OptimizationProverEnvironment prover, Solvers backend)
+            throws SolverException, InterruptedException {
+        try (Timer timer = start(Phase.SOLVE, backend)) {
+            return prover.check();
+        } finally {
+            recordStatistics(prover, backend);
+        }
+    }
+
+    private static void recordStatistics(BasicProverEnvironment<?> prover, Solvers backend) {
+        if (enabled) {
+            Map<String, String> proverStatistics;
+            try {
+                proverStatistics = prover.getStatistics();
+            } catch (final RuntimeException e) {
+                proverStatistics = Map.of();
+            }
+            statistics
+                    .computeIfAbsent(getAnalysis(), key -> new ConcurrentHashMap<>())
+                    .put(backend, proverStatistics);
+        }
+    }
+
+    /**
+     * Returns the measurements of a phase.
+     *
+     * @param phase the phase
+     * @return the measurement of each solver backend or analysis
+     */
+    public static Map<String, Measurement> getMeasurements(Phase phase) {
+        return Collections.unmodifiableMap(new TreeMap<>(measurements.get(phase)));
+    }
+
+    /**
+     * Returns the statistics the backend reported after its latest check in an analysis, such as the number of
+     * conflicts or decisions. Their names depend on the backend.
+     *
+     * @param analysis the analysis, or {@link #NO_ANALYSIS}
+     * @param backend the backend
+     * @return the statistics, which are empty if none were recorded
+     */
+    public static Map<String, String> getStatistics(String analysis, Solvers backend) {
+        final Map<Solvers, Map<String, String>> analysisStatistics = statistics.get(analysis);
+        return analysisStatistics != null ? analysisStatistics.getOrDefault(backend, Map.of()) : Map.of();
+    }
+
+    /**
+     * Removes all measurements and statistics.
+     */
+    public static void reset() {
+        for (ConcurrentHashMap<String, Measurement> phaseMeasurements : measurements.values()) {
+            phaseMeasurements.clear();
+        }
+        statistics.clear();
+    }
+
+    /**
+     * Returns a report of all measurements and statistics, with one line per phase and label, followed by the races
+     * won by each backend of a {@link PortfolioSolver} and the statistics of each backend in each analysis.
+     *
+     * @return the report
+     */
+    public static String report() {
+        final StringBuilder report = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            getMeasurements(phase)
+                    .forEach((label, measurement) -> report.append(phase)
+                            .append(' ')
+                            .append(label)
+                            .append(": ")
+                            .append(measurement)
+                            .append('\n'));
+        }
+        final Map<Solvers, Duration> winningTimes = PortfolioSolver.getWinningTimes();
+        PortfolioSolver.getWins()
+                .forEach((backend, wins) -> report.append(String.format(
+                        "PORTFOLIO %s: %d wins, %.3f ms total\n",
+                        backend, wins, winningTimes.getOrDefault(backend, Duration.ZERO).toNanos() / 1e6)));
+        for (String analysis : new TreeMap<>(statistics).keySet()) {
+            for (Solvers backend : Solvers.values()) {
+                final Map<String, String> backendStatistics = getStatistics(analysis, backend);
+                if (!backendStatistics.isEmpty()) {
+                    report.append(String.format(
+                            "STATISTICS %s %s: %s\n", analysis, backend, new TreeMap<>(backendStatistics)));
+                }
+            }
+        }
+        return report.toString();
+    }
+}
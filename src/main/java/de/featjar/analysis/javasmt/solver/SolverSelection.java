@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.base.FeatJAR;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Ordered list of solver backends to try.
+ * The first backend whose native libraries can be loaded is used, the remaining ones serve as fallbacks.
+ * Whether a backend is available is probed at most once per JVM.
+ */
+public final class SolverSelection {
+
+    /**
+     * System property that overrides the default order, given as a comma-separated list of solver names.
+     */
+    public static final String DEFAULT_ORDER_PROPERTY = "featjar.javasmt.solvers";
+
+    /**
+     * Features that only some backends provide. A selection that {@link #require(Collection) requires} a capability
+     * skips all backends without it.
+     */
+    public enum Capability {
+        /**
+         * Optimization provers, as used for variable ranges, optima, and random objectives.
+         */
+        OPTIMIZATION(Solvers.Z3, Solvers.MATHSAT5);
+
+        private final Set<Solvers> backends;
+
+        Capability(Solvers... backends) {
+            this.backends = Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(backends)));
+        }
+
+        /**
+         * @param solver the solver backend
+         * @return whether the backend provides this capability
+         */
+        public boolean isSupportedBy(Solvers solver) {
+            return backends.contains(solver);
+        }
+    }
+
+    private static final SolverSelection BUILTIN_DEFAULT =
+            of(Solvers.Z3, Solvers.MATHSAT5, Solvers.SMTINTERPOL, Solvers.PRINCESS);
+
+    private static final Map<Solvers, Boolean> availability = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the default order, which prefers the native backends and can be overridden with
+     * {@link #DEFAULT_ORDER_PROPERTY}.
+     *
+     * @return the default selection
+     */
+    public static SolverSelection getDefault() {
+        final String order = System.getProperty(DEFAULT_ORDER_PROPERTY);
+        return order == null || order.isBlank() ? BUILTIN_DEFAULT : parse(order);
+    }
+
+    public static SolverSelection of(Solvers... solvers) {
+        return new SolverSelection(Arrays.asList(solvers), Set.of());
+    }
+
+    /**
+     * Parses a comma-separated list of solver names, such as {@code z3,smtinterpol}.
+     *
+     * @param solvers the solver names
+     * @return the selection
+     */
+    public static SolverSelection parse(String solvers) {
+        final ArrayList<Solvers> list = new ArrayList<>();
+        for (String name : solvers.split(",")) {
+            name = name.trim();
+            if (!name.isEmpty()) {
+                try {
+                    list.add(Solvers.valueOf(name.toUpperCase(Locale.ROOT)));
+                } catch (final IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown solver: " + name + ", expected one of "
+                            + Arrays.toString(Solvers.values()));
+                }
+            }
+        }
+        return new SolverSelection(list, Set.of());
+    }
+
+    /**
+     * Checks whether a backend can be loaded. The check is performed only once per backend.
+     *
+     * @param solver the solver backend
+     * @return whether a context can be created for the backend
+     */
+    public static boolean isAvailable(Solvers solver) {
+        return availability.computeIfAbsent(solver, SolverSelection::probe);
+    }
+
+    /**
+     * Records that a backend failed to load, such that it is skipped from now on.
+     *
+     * @param solver the solver backend
+     */
+    public static void markUnavailable(Solvers solver) {
+        availability.put(solver, Boolean.FALSE);
+    }
+
+    private static boolean probe(Solvers solver) {
+        try (SolverContext context = SolverContextFactory.createSolverContext(
+                Configuration.defaultConfiguration(),
+                LogManager.createNullLogManager(),
+                ShutdownNotifier.createDummy(),
+                solver)) {
+            FeatJAR.log().debug("solver " + solver + " " + context.getVersion() + " is available");
+            return true;
+        } catch (final Exception | LinkageError e) {
+            FeatJAR.log().debug("solver " + solver + " is not available: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private final List<Solvers> solvers;
+    private final Set<Capability> capabilities;
+
+    private SolverSelection(List<Solvers> solvers, Collection<Capability> capabilities) {
+        if (solvers.isEmpty()) {
+            throw new IllegalArgumentException("at least one solver is required");
+        }
+        this.solvers = Collections.unmodifiableList(new ArrayList<>(solvers));
+        this.capabilities = capabilities.isEmpty()
+                ? Set.of()
+                : Collections.unmodifiableSet(EnumSet.copyOf(capabilities));
+    }
+
+    /**
+     * Returns a selection in the same order that skips all backends without the given capabilities.
+     *
+     * @param required the required capabilities
+     * @return the restricted selection
+     */
+    public SolverSelection require(Collection<Capability> required) {
+        if (capabilities.containsAll(required)) {
+            return this;
+        }
+        final EnumSet<Capability> union = EnumSet.noneOf(Capability.class);
+        union.addAll(capabilities);
+        union.addAll(required);
+        return new SolverSelection(solvers, union);
+    }
+
+    public SolverSelection require(Capability... required) {
+        return require(Arrays.asList(required));
+    }
+
+    /**
+     * @return the capabilities that every used backend must provide
+     */
+    public Set<Capability> getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * @param solver the solver backend
+     * @return whether the backend provides all required capabilities
+     */
+    public boolean isSupported(Solvers solver) {
+        return capabilities.stream().allMatch(capability -> capability.isSupportedBy(solver));
+    }
+
+    /**
+     * @return all selected backends in order of preference
+     */
+    public List<Solvers> getSolvers() {
+        return solvers;
+    }
+
+    /**
+     * @return all selected backends that provide the required capabilities and are available, in order of preference
+     */
+    public List<Solvers> getAvailableSolvers() {
+        return solvers.stream()
+                .filter(this::isSupported)
+                .filter(SolverSelection::isAvailable)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || (o instanceof SolverSelection
+                        && solvers.equals(((SolverSelection) o).solvers)
+                        && capabilities.equals(((SolverSelection) o).capabilities));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(solvers, capabilities);
+    }
+
+    @Override
+    public String toString() {
+        return solvers.stream().map(s -> s.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.sosy_lab.common.ShutdownManager;
+
+/**
+ * Stops solvers that exceed their time limit or whose thread was interrupted.
+ * A single daemon thread periodically checks all watched solvers and requests a shutdown of their context, which
+ * makes the running solver call return with an {@link InterruptedException}. The thread waits without polling while
+ * no solver is watched.
+ */
+public final class SolverWatchdog {
+
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    private static final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+    private static final Object lock = new Object();
+    private static Thread thread;
+
+    /**
+     * Handle for a watched solver. Closing it stops watching.
+     * The time limit only elapses while the watch is not {@link #suspend() suspended}.
+     */
+    public static final class Watch implements AutoCloseable {
+        private final ShutdownManager shutdownManager;
+        private Duration timeout;
+        private boolean limited;
+        private Thread owner;
+        private long deadline;
+        private long remainingNanos;
+        private boolean suspended;
+
+        private Watch(ShutdownManager shutdownManager, Thread owner, Duration timeout) {
+            this.shutdownManager = shutdownManager;
+            this.owner = owner;
+            this.timeout = timeout;
+            limited = !isUnlimited(timeout);
+            if (limited) {
+                deadline = System.nanoTime() + timeout.toNanos();
+            }
+        }
+
+        private synchronized boolean check(long now) {
+            if (shutdownManager.getNotifier().shouldShutdown()) {
+                return false;
+            } else if (suspended) {
+                return true;
+            } else if (owner.isInterrupted()) {
+                shutdownManager.requestShutdown("cancelled");
+                return false;
+            } else if (limited && now - deadline >= 0) {
+                shutdownManager.requestShutdown("timeout after " + timeout.toMillis() + " ms");
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Stops the time limit from elapsing and ignores interrupts until {@link #resume()} is called.
+         */
+        public synchronized void suspend() {
+            if (!suspended) {
+                suspended = true;
+                if (limited) {
+                    remainingNanos = Math.max(0, deadline - System.nanoTime());
+                }
+            }
+        }
+
+        /**
+         * Continues the time limit with the time that was left when it was suspended. From now on, the current thread
+         * is watched for interrupts.
+         */
+        public synchronized void resume() {
+            if (suspended) {
+                suspended = false;
+                owner = Thread.currentThread();
+                if (limited) {
+                    deadline = System.nanoTime() + remainingNanos;
+                }
+            }
+        }
+
+        /**
+         * Shortens the time limit to the given duration from now, unless the current limit ends earlier.
+         * While the watch is suspended, the given duration is compared to the time that is left.
+         *
+         * @param timeout the time limit, or zero for no additional limit
+         */
+        public synchronized void restrict(Duration timeout) {
+            if (isUnlimited(timeout)) {
+                return;
+            }
+            final long nanos = timeout.toNanos();
+            if (suspended) {
+                if (!limited || nanos < remainingNanos) {
+                    remainingNanos = nanos;
+                    this.timeout = timeout;
+                    limited = true;
+                }
+            } else {
+                final long restrictedDeadline = System.nanoTime() + nanos;
+                if (!limited || restrictedDeadline - deadline < 0) {
+                    deadline = restrictedDeadline;
+                    this.timeout = timeout;
+                    limited = true;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            watches.remove(this);
+        }
+    }
+
+    private SolverWatchdog() {}
+
+    private static boolean isUnlimited(Duration timeout) {
+        return timeout == null || timeout.isZero() || timeout.isNegative();
+    }
+
+    /**
+     * Watches a solver until the returned handle is closed.
+     *
+     * @param shutdownManager the shutdown manager of the solver context
+     * @param owner the thread that runs the solver; interrupting it cancels the solver
+     * @param timeout the time limit, or zero for no limit
+     * @return a handle that must be closed when the solver is not used anymore
+     */
+    public static Watch watch(ShutdownManager shutdownManager, Thread owner, Duration timeout) {
+        final Watch watch = new Watch(shutdownManager, owner, timeout);
+        synchronized (lock) {
+            watches.add(watch);
+            if (thread == null) {
+                thread = new Thread(SolverWatchdog::run, "javasmt-watchdog");
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                lock.notifyAll();
+            }
+        }
+        return watch;
+    }
+
+    private static void run() {
+        try {
+            while (true) {
+                synchronized (lock) {
+                    while (watches.isEmpty()) {
+                        lock.wait();
+                    }
+                }
+                final long now = System.nanoTime();
+                watches.removeIf(watch -> !watch.check(now));
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } catch (final InterruptedException e) {
+            synchronized (lock) {
+                thread = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.structure.IExpression;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.sosy_lab.java_smt.api.Formula;
+
+/**
+ * Bounded memo table for translated subexpressions, used by {@link FormulaToJavaSMT}.
+ * Entries are looked up by the identity of an {@link IExpression}, so that subtrees shared in a DAG are translated
+ * only once, and by a structural key consisting of the expression type and its already translated children, so that
+ * structurally equal subexpressions map to the same solver term.
+ * Both tables evict their least recently used entries once they exceed the maximum size.
+ * Translated formulas belong to a single {@link org.sosy_lab.java_smt.api.SolverContext}, so the cache must be
+ * cleared whenever the context changes. Cached expressions must not be modified while they are cached.
+ */
+public class SubformulaCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+
+    private static final class IdentityKey {
+        private final IExpression expression;
+
+        private IdentityKey(IExpression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).expression == expression;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(expression);
+        }
+    }
+
+    private static final class StructuralKey {
+        private final Class<?> type;
+        private final Formula[] children;
+        private final int hashCode;
+
+        private StructuralKey(Class<?> type, Formula[] children) {
+            this.type = type;
+            this.children = children;
+            hashCode = 31 * type.hashCode() + Arrays.hashCode(children);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StructuralKey)) {
+                return false;
+            }
+            final StructuralKey other = (StructuralKey) obj;
+            return hashCode == other.hashCode && type == other.type && Arrays.equals(children, other.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class LRUMap<K> extends LinkedHashMap<K, Formula> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+        private long evictions;
+
+        private LRUMap(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Formula> eldest) {
+            if (size() > maximumSize) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final int maximumSize;
+    private final LRUMap<IdentityKey> identityCache;
+    private final LRUMap<StructuralKey> structuralCache;
+
+    private long identityHits;
+    private long structuralHits;
+    private long misses;
+
+    public SubformulaCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum number of entries per table, {@code 0} disables caching
+     */
+    public SubformulaCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximum size must not be negative: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        identityCache = new LRUMap<>(maximumSize);
+        structuralCache = new LRUMap<>(maximumSize);
+    }
+
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the formula previously translated for the given expression instance.
+     *
+     * @param expression the expression
+     * @return the cached formula, or {@code null} if the expression instance was not translated yet
+     */
+    public Formula get(IExpression expression) {
+        if (maximumSize == 0) {
+            return null;
+        }
+        final Formula formula = identityCache.get(new IdentityKey(expression));
+        if (formula != null) {
+            identityHits++;
+        }
+        return formula;
+    }
+
+    /**
+     * Returns the formula for an expression of the given type with the given translated children, computing it with
+     * the given translation if no structurally equal expression was translated yet.
+     * The result is also stored for the identity of the expression.
+     *
+     * @param expression the expression
+     * @param children the translated children of the expression
+     * @param offset the index of the first child in {@code children}
+     * @param length the number of children
+     * @param translation computes the formula on a cache miss
+     * @return the formula for the expression
+     */
+    public Formula computeIfAbsent(
+            IExpression expression, Formula[] children, int offset, int length, Supplier<Formula> translation) {
+        if (maximumSize == 0) {
+            return translation.get();
+        }
+        final StructuralKey key =
+                new StructuralKey(expression.getClass(), Arrays.copyOfRange(children, offset, offset + length));
+        Formula formula = structuralCache.get(key);
+        if (formula != null) {
+            structuralHits++;
+        } else {
+            misses++;
+            formula = translation.get();
+            structuralCache.put(key, formula);
+        }
+        identityCache.put(new IdentityKey(expression), formula);
+        return formula;
+    }
+
+    public void clear() {
+        identityCache.clear();
+        structuralCache.clear();
+    }
+
+    public int size() {
+        return identityCache.size() + structuralCache.size();
+    }
+
+    /**
+     * @return the number of lookups answered by the identity of a shared expression
+     */
+    public long getIdentityHits() {
+        return identityHits;
+    }
+
+    /**
+     * @return the number of lookups answered by a structurally equal expression
+     */
+    public long getStructuralHits() {
+        return structuralHits;
+    }
+
+    /**
+     * @return the number of translations that were not cached
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of entries evicted from both tables
+     */
+    public long getEvictions() {
+        return identityCache.evictions + structuralCache.evictions;
+    }
+
+    /**
+     * @return the fraction of inner expressions that were answered from the cache
+     */
+    public double getHitRate() {
+        final long hits = identityHits + structuralHits;
+        return hits == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "SubformulaCache[identityHits=%d, structuralHits=%d, misses=%d, evictions=%d, size=%d]",
+                identityHits, structuralHits, misses, getEvictions(), size());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.structure.IExpression;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/**
+ * Cache of translated formulas for one {@link SolverContext}, keyed by the {@link ExpressionFingerprint} of the input
+ * expression. Repeated analyses of the same model on the same pooled context reuse the translated
+ * {@link JavaSMTFormula} and its variable map instead of translating the expression again.
+ * The least recently used entries are evicted once the cache exceeds its maximum number of entries or expression
+ * nodes. The cache is owned by a {@link PooledSolverContext} and cleared when the context is closed.
+ */
+public class TranslationCache {
+
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 16;
+    public static final long DEFAULT_MAXIMUM_NODES = 1L << 22;
+
+    private static final class Key {
+        private final ExpressionFingerprint fingerprint;
+        private final boolean tseitin;
+
+        private Key(ExpressionFingerprint fingerprint, boolean tseitin) {
+            this.fingerprint = fingerprint;
+            this.tseitin = tseitin;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key
+                    && ((Key) obj).tseitin == tseitin
+                    && ((Key) obj).fingerprint.equals(fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * fingerprint.hashCode() + Boolean.hashCode(tseitin);
+        }
+    }
+
+    private static final class Entry {
+        private final JavaSMTFormula formula;
+        private final int nodeCount;
+
+        private Entry(JavaSMTFormula formula, int nodeCount) {
+            this.formula = formula;
+            this.nodeCount = nodeCount;
+        }
+    }
+
+    private final int maximumEntries;
+    private final long maximumNodes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long nodeCount;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TranslationCache() {
+        this(DEFAULT_MAXIMUM_ENTRIES, DEFAULT_MAXIMUM_NODES);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumEntries the maximum number of cached formulas, {@code 0} disables caching
+     * @param maximumNodes the maximum total number of expression nodes of all cached formulas
+     */
+    public TranslationCache(int maximumEntries, long maximumNodes) {
+        if (maximumEntries < 0 || maximumNodes < 0) {
+            throw new IllegalArgumentException("cache limits must not be negative");
+        }
+        this.maximumEntries = maximumEntries;
+        this.maximumNodes = maximumNodes;
+    }
+
+    /**
+     * Returns the translation of the given expression in the given context, translating it only if no expression with
+     * the same fingerprint is cached.
+     *
+     * @param context the solver context owning this cache
+     * @param expression the expression
+     * @param tseitin whether to use a Tseitin encoding
+     * @return the translated formula
+     */
+    public synchronized JavaSMTFormula get(SolverContext context, IExpression expression, boolean tseitin) {
+        if (maximumEntries == 0) {
+            return new JavaSMTFormula(context, expression, tseitin);
+        }
+        final ExpressionFingerprint fingerprint = ExpressionFingerprint.of(expression);
+        final Key key = new Key(fingerprint, tseitin);
+        final Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry.formula;
+        }
+        misses++;
+        final JavaSMTFormula formula = new JavaSMTFormula(context, expression, tseitin);
+        if (fingerprint.getNodeCount() <= maximumNodes) {
+            entries.put(key, new Entry(formula, fingerprint.getNodeCount()));
+            nodeCount += fingerprint.getNodeCount();
+            evict();
+        }
+        return formula;
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maximumEntries || nodeCount > maximumNodes) && iterator.hasNext()) {
+            nodeCount -= iterator.next().getValue().nodeCount;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        nodeCount = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of lookups answered without translation
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups that required a translation
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of formulas evicted because a limit was exceeded
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "TranslationCache[hits=%d, misses=%d, evictions=%d, size=%d, nodes=%d]",
+                hits, misses, evictions, entries.size(), nodeCount);
+    }
+}
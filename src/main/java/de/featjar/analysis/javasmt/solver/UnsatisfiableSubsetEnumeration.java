@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.solver;
+
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Reference;
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+/**
+ * Lazily enumerates all minimal unsatisfiable subsets (MUSes) and minimal correction subsets (MCSes) of a list of
+ * tracked constraints, following the MARCO algorithm.
+ * Each constraint is guarded by a selector variable. A map prover over the selectors holds all subsets that are not
+ * yet explored. Each unexplored seed is either grown into a maximal satisfiable subset, whose complement is an MCS,
+ * or shrunk into an MUS by deletion, and the corresponding region is blocked in the map.
+ * Results are computed one at a time when requested. An iterator stops when all subsets are found, the limit is
+ * reached, or the time budget is exhausted.
+ */
+public class UnsatisfiableSubsetEnumeration implements Iterable<ConstraintSubset> {
+
+    /**
+     * Iterator over subsets that must be closed if it is not consumed completely.
+     */
+    public static final class SubsetIterator implements Iterator<ConstraintSubset>, AutoCloseable {
+        private final JavaSMTSolver solver;
+        private final boolean ownsSolver;
+        private final BooleanFormulaManager bfm;
+        private final SelectorProver prover;
+        private final ProverEnvironment map;
+        private final Cleaner.Cleanable cleanable;
+        private final List<? extends IExpression> expressions;
+        private final long deadline;
+        private long remaining;
+        private ConstraintSubset next;
+        private boolean complete;
+        private boolean closed;
+
+        SubsetIterator(
+                JavaSMTSolver solver,
+                boolean ownsSolver,
+                BooleanFormula definitions,
+                List<BooleanFormula> constraints,
+                List<? extends IExpression> expressions,
+                long limit,
+                Duration timeBudget) {
+            this.solver = solver;
+            this.ownsSolver = ownsSolver;
+            this.expressions = expressions;
+            remaining = limit;
+            deadline = timeBudget.isZero() ? 0 : System.nanoTime() + timeBudget.toNanos();
+            bfm = solver.context.getFormulaManager().getBooleanFormulaManager();
+            try {
+                prover = new SelectorProver(solver, definitions, constraints);
+            } catch (final InterruptedException e) {
+                if (ownsSolver) {
+                    solver.close();
+                }
+                throw new IllegalStateException(e);
+            }
+            map = solver.context.newProverEnvironment(ProverOptions.GENERATE_MODELS);
+            if (ownsSolver) {
+                cleanable = solver.closeWhenUnreachable(this, map, prover);
+                solver.suspendTimeout();
+            } else {
+                cleanable = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                if (ownsSolver) {
+                    solver.resumeTimeout();
+                }
+                try {
+                    advance();
+                } finally {
+                    if (ownsSolver) {
+                        solver.suspendTimeout();
+                    }
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ConstraintSubset next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ConstraintSubset subset = next;
+            next = null;
+            return subset;
+        }
+
+        /**
+         * @return whether all subsets were enumerated, as opposed to stopping at the limit or time budget
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        private boolean isBudgetExhausted() {
+            return deadline != 0 && System.nanoTime() - deadline >= 0;
+        }
+
+        private void advance() {
+            try {
+                while (remaining > 0 && !isBudgetExhausted()) {
+                    if (SolverMetrics.isUnsat(map, solver.getBackend())) {
+                        complete = true;
+                        break;
+                    }
+                    final BitSet seed = new BitSet(prover.size());
+                    try (Model model = map.getModel()) {
+                        for (int i = 0; i < prover.size(); i++) {
+                            if (!Boolean.FALSE.equals(model.evaluate(prover.getSelector(i)))) {
+                                seed.set(i);
+                            }
+                        }
+                    }
+                    if (prover.isSatisfiable(seed)) {
+                        final BitSet correctionSubset = prover.grow();
+                        map.addConstraint(bfm.or(getSelectors(correctionSubset, false)));
+                        if (!correctionSubset.isEmpty()) {
+                            next = newSubset(ConstraintSubset.Kind.MINIMAL_CORRECTION_SUBSET, correctionSubset);
+                        }
+                    } else {
+                        final BitSet unsatisfiableSubset = prover.shrink();
+                        map.addConstraint(bfm.or(getSelectors(unsatisfiableSubset, true)));
+                        next = newSubset(ConstraintSubset.Kind.MINIMAL_UNSATISFIABLE_SUBSET, unsatisfiableSubset);
+                    }
+                    if (next != null) {
+                        remaining--;
+                        return;
+                    }
+                }
+                close();
+            } catch (final Exception e) {
+                close();
+                if (solver.isCancelled() && isBudgetExhausted()) {
+                    return;
+                }
+                throw new IllegalStateException(solver.failure(e).getProblems().get(0).getMessage(), e);
+            }
+        }
+
+        private List<BooleanFormula> getSelectors(BitSet subset, boolean negated) {
+            final ArrayList<BooleanFormula> literals = new ArrayList<>(subset.cardinality());
+            for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+                literals.add(negated ? bfm.not(prover.getSelector(i)) : prover.getSelector(i));
+            }
+            return literals;
+        }
+
+        private ConstraintSubset newSubset(ConstraintSubset.Kind kind, BitSet subset) {
+            final ArrayList<Integer> indices = new ArrayList<>(subset.cardinality());
+            final ArrayList<BooleanFormula> formulas = new ArrayList<>(subset.cardinality());
+            final ArrayList<IExpression> subsetExpressions = new ArrayList<>(subset.cardinality());
+            for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+                indices.add(i);
+                formulas.add(prover.getConstraint(i));
+                if (!expressions.isEmpty()) {
+                    subsetExpressions.add(expressions.get(i));
+                }
+            }
+            return new ConstraintSubset(kind, indices, formulas, subsetExpressions);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (cleanable != null) {
+                    cleanable.clean();
+                } else {
+                    map.close();
+                    prover.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the constraints tracked individually, i.e., the children of a top-level conjunction or the expression
+     * itself.
+     *
+     * @param expression the expression
+     * @return the top-level constraints
+     */
+    public static List<? extends IExpression> getTopLevelConstraints(IExpression expression) {
+        while (expression instanceof Reference) {
+            expression = expression.getChildren().get(0);
+        }
+        return expression instanceof And ? expression.getChildren() : List.of(expression);
+    }
+
+    private final Supplier<JavaSMTSolver> solverFactory;
+    private final List<? extends IExpression> constraints;
+    private final long limit;
+    private final Duration timeBudget;
+
+    /**
+     * Creates a new enumeration.
+     *
+     * @param solverFactory creates a new solver for each iteration; the solver is closed by the iterator
+     * @param constraints the tracked constraints, typically the top-level conjuncts of the solver's formula
+     * @param limit the maximum number of subsets per iteration
+     * @param timeBudget the maximum time per iteration, or zero for no limit; it shortens, but never extends, the
+     *     timeout of the solvers
+     */
+    public UnsatisfiableSubsetEnumeration(
+            Supplier<JavaSMTSolver> solverFactory,
+            List<? extends IExpression> constraints,
+            long limit,
+            Duration timeBudget) {
+        this.solverFactory = solverFactory;
+        this.constraints = constraints;
+        this.limit = limit;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public SubsetIterator iterator() {
+        final JavaSMTSolver solver = solverFactory.get();
+        final List<BooleanFormula> formulas;
+        final BooleanFormula definitions;
+        try {
+            final FormulaToJavaSMT translator = solver.getSolverFormula().getTranslator().fork();
+            formulas = new ArrayList<>(constraints.size());
+            for (IExpression constraint : constraints) {
+                formulas.add(translator.nodeToFormula(constraint));
+            }
+            definitions = translator.createAnd(translator.getDefinitions());
+        } catch (final RuntimeException e) {
+            solver.close();
+            throw e;
+        }
+        solver.restrictTimeout(timeBudget);
+        return new SubsetIterator(solver, true, definitions, formulas, constraints, limit, timeBudget);
+    }
+
+    /**
+     * Returns a sequential stream of subsets, which releases its solver when it is closed.
+     *
+     * @return a new stream that should be used in a try-with-resources statement
+     */
+    public Stream<ConstraintSubset> stream() {
+        final SubsetIterator iterator = iterator();
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(
+                                iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.javasmt.computation.ComputeCoreDeadVariables;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class CoreDeadVariablesTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void findsCoreAndDeadVariables() {
+        final IFormula formula = new And(
+                Expressions.literal("a"),
+                new Implies(Expressions.literal("a"), Expressions.literal("b")),
+                new Implies(Expressions.literal("c"), Expressions.literal(false, "b")),
+                new Or(Expressions.literal("d"), Expressions.literal("e")));
+        final Result<ValueAssignment> result = Computations.of(formula)
+                .map(ComputeCoreDeadVariables::new)
+                .set(ComputeCoreDeadVariables.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .computeResult();
+        assertTrue(result.isPresent(), () -> Problem.printProblems(result.getProblems()));
+        assertEquals(Map.of("a", true, "b", true, "c", false), result.get().getAll());
+    }
+}
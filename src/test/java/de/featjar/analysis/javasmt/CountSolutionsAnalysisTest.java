@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.featjar.Common;
 import de.featjar.analysis.javasmt.computation.ComputeSolutionCount;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Problem;
@@ -37,9 +38,11 @@ import de.featjar.formula.structure.connective.Implies;
 import de.featjar.formula.structure.connective.Or;
 import de.featjar.formula.structure.predicate.Literal;
 import java.math.BigInteger;
+import java.util.List;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 
 public class CountSolutionsAnalysisTest extends Common {
 
@@ -74,10 +77,40 @@ public class CountSolutionsAnalysisTest extends Common {
         checkCount(formula, 960);
     }
 
+    @Test
+    public void projectedCountIgnoresOtherVariables() {
+        final IFormula formula = new Or(
+                new And(Expressions.literal("a"), Expressions.literal("b")),
+                new And(Expressions.literal(false, "a"), Expressions.literal("c")));
+        final Result<BigInteger> result = Computations.of(formula)
+                .map(ComputeSolutionCount::new)
+                .set(ComputeSolutionCount.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .set(ComputeSolutionCount.PROJECTION, List.of("a", "d"))
+                .computeResult();
+        assertTrue(result.isPresent(), () -> Problem.printProblems(result.getProblems()));
+        assertEquals(BigInteger.valueOf(4), result.get());
+    }
+
+    @Test
+    public void tseitinEncodingKeepsCount() {
+        final IFormula formula = new Implies(
+                new Or(new Implies(Expressions.literal("a"), Expressions.literal("b")), Expressions.literal("c")),
+                new And(new BiImplies(Expressions.literal("a"), Expressions.literal("b")), Expressions.literal("c")));
+        final Result<BigInteger> result = Computations.of(formula)
+                .map(ComputeSolutionCount::new)
+                .set(ComputeSolutionCount.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .set(ComputeSolutionCount.TSEITIN, Boolean.TRUE)
+                .computeResult();
+        assertTrue(result.isPresent(), () -> Problem.printProblems(result.getProblems()));
+        assertEquals(BigInteger.valueOf(3), result.get());
+    }
+
     private void checkCount(final IFormula formula, int count) {
         IFormula cnf = formula.toCNF().orElseThrow();
-        final Result<BigInteger> result =
-                Computations.of(cnf).map(ComputeSolutionCount::new).computeResult();
+        final Result<BigInteger> result = Computations.of(cnf)
+                .map(ComputeSolutionCount::new)
+                .set(ComputeSolutionCount.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .computeResult();
         assertTrue(result.isPresent(), () -> Problem.printProblems(result.getProblems()));
         assertEquals(BigInteger.valueOf(count), result.get());
     }
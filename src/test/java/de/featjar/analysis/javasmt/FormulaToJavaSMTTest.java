@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.FormulaToJavaSMT;
+import de.featjar.analysis.javasmt.solver.PooledSolverContext;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SubformulaCache;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.term.function.IntegerAdd;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.IntegerFormulaManager;
+import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
+
+public class FormulaToJavaSMTTest {
+
+    @Test
+    public void translatesConnectivesAndPredicates() throws Exception {
+        final IFormula formula = new And(
+                new Implies(Expressions.literal("a"), new Not(Expressions.literal(false, "b"))),
+                new BiImplies(Expressions.literal("b"), new Or(Expressions.literal("a"), Expressions.literal("c"))),
+                new LessEqual(
+                        new IntegerAdd(new Variable("x", Long.class), new Constant(1L)),
+                        new Variable("y", Long.class)));
+        try (PooledSolverContext context = SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL)) {
+            final FormulaToJavaSMT translator = new FormulaToJavaSMT(context.getContext());
+            final BooleanFormula translated = translator.nodeToFormula(formula);
+
+            final BooleanFormulaManager bmgr = context.getContext().getFormulaManager().getBooleanFormulaManager();
+            final IntegerFormulaManager imgr = context.getContext().getFormulaManager().getIntegerFormulaManager();
+            final BooleanFormula a = bmgr.makeVariable("a");
+            final BooleanFormula b = bmgr.makeVariable("b");
+            final BooleanFormula c = bmgr.makeVariable("c");
+            final IntegerFormula x = imgr.makeVariable("x");
+            final IntegerFormula y = imgr.makeVariable("y");
+            final BooleanFormula expected = bmgr.and(List.of(
+                    bmgr.implication(a, bmgr.not(bmgr.not(b))),
+                    bmgr.equivalence(b, bmgr.or(List.of(a, c))),
+                    imgr.lessOrEquals(imgr.add(x, imgr.makeNumber(1)), y)));
+
+            assertEquals(expected, translated);
+            assertEquals(
+                    List.of("a", "b", "c", "x", "y"),
+                    translator.getVariables().stream().map(Variable::getName).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void translatesDeepImplicationChains() throws Exception {
+        final int depth = 100_000;
+        IFormula formula = Expressions.literal("v0");
+        for (int i = 1; i <= depth; i++) {
+            formula = new Implies(formula, Expressions.literal("v" + i));
+        }
+        try (PooledSolverContext context = SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL)) {
+            final FormulaToJavaSMT translator = new FormulaToJavaSMT(context.getContext());
+            translator.nodeToFormula(formula);
+            assertEquals(depth + 1, translator.getVariables().size());
+            assertTrue(translator.getVariableIndex("v0").isPresent());
+        }
+    }
+
+    @Test
+    public void reusesSharedAndEqualSubexpressions() throws Exception {
+        final IFormula shared = new Or(Expressions.literal("a"), Expressions.literal(false, "b"));
+        final IFormula formula = new And(
+                new Implies(Expressions.literal("c"), shared),
+                new Implies(Expressions.literal("d"), shared),
+                new Or(Expressions.literal("a"), Expressions.literal(false, "b")));
+        try (PooledSolverContext context = SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL)) {
+            final FormulaToJavaSMT translator = new FormulaToJavaSMT(context.getContext(), new SubformulaCache(16));
+            final BooleanFormula cached = translator.nodeToFormula(formula);
+            final SubformulaCache cache = translator.getCache();
+            assertEquals(1, cache.getIdentityHits());
+            assertEquals(1, cache.getStructuralHits());
+            assertEquals(4, cache.getMisses());
+
+            final FormulaToJavaSMT uncached = new FormulaToJavaSMT(context.getContext(), new SubformulaCache(0));
+            assertEquals(uncached.nodeToFormula(formula), cached);
+            assertEquals(0, uncached.getCache().getMisses());
+        }
+    }
+
+    @Test
+    public void forkDoesNotModifyTranslator() throws Exception {
+        final IFormula formula = new Or(Expressions.literal("a"), Expressions.literal("b"));
+        try (PooledSolverContext context = SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL)) {
+            final FormulaToJavaSMT translator = new FormulaToJavaSMT(context.getContext());
+            translator.setTseitin(true);
+            translator.nodeToFormula(formula);
+            assertEquals(1, translator.getDefinitions().size());
+
+            final FormulaToJavaSMT fork = translator.fork();
+            fork.nodeToFormula(new And(Expressions.literal("a"), Expressions.literal("c")));
+            fork.termToFormula(new Variable("x", Long.class));
+            assertEquals(1, fork.getDefinitions().size());
+            assertEquals(
+                    List.of("a", "b", "c", "x"),
+                    fork.getVariables().stream().map(Variable::getName).collect(Collectors.toList()));
+            assertEquals(translator.getVariableFormula("a"), fork.getVariableFormula("a"));
+
+            assertEquals(1, translator.getDefinitions().size());
+            assertEquals(
+                    List.of("a", "b"),
+                    translator.getVariables().stream().map(Variable::getName).collect(Collectors.toList()));
+        }
+    }
+}
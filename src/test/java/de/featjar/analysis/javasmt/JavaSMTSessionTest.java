@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSession;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.GreaterEqual;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class JavaSMTSessionTest {
+
+    private static ValueAssignment assignment(Object... namesAndValues) {
+        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return new ValueAssignment(values);
+    }
+
+    @Test
+    public void answersRepeatedQueriesWithOneProver() throws Exception {
+        final And formula = new And(
+                new Implies(Expressions.literal("a"), Expressions.literal("b")),
+                new Or(Expressions.literal("a"), Expressions.literal("c")));
+        try (JavaSMTSolver solver =
+                        new JavaSMTSolver(formula, SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL));
+                JavaSMTSession session = solver.newSession()) {
+            assertTrue(session.hasSolution().get());
+            assertFalse(session.hasSolution(assignment("a", true, "b", false)).get());
+            assertFalse(session.hasSolution(assignment("a", false, "c", false)).get());
+            assertTrue(session.hasSolution(assignment("a", true)).get());
+
+            session.push(assignment("c", false));
+            assertEquals(Boolean.TRUE, session.findSolution().get().getValue("b").orElseThrow());
+            assertFalse(session.hasSolution(assignment("b", false)).get());
+            session.pop();
+            assertTrue(session.hasSolution(assignment("b", false)).get());
+        }
+    }
+
+    @Test
+    public void assumesNumericValuesInTemporaryScope() throws Exception {
+        final Variable x = new Variable("x", Long.class);
+        final And formula = new And(
+                new GreaterEqual(x, new Constant(0L)),
+                new LessEqual(x, new Constant(3L)),
+                new Implies(Expressions.literal("a"), new GreaterEqual(x, new Constant(2L))));
+        try (JavaSMTSolver solver =
+                        new JavaSMTSolver(formula, SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL));
+                JavaSMTSession session = solver.newSession()) {
+            assertTrue(session.hasSolution(assignment("x", 2L, "a", true)).get());
+            assertFalse(session.hasSolution(assignment("x", 1L, "a", true)).get());
+            assertFalse(session.hasSolution(assignment("x", 4L)).get());
+            assertTrue(session.hasSolution().get());
+            assertEquals(
+                    BigInteger.ONE, session.findSolution(assignment("x", 1L)).get().getValue("x").orElseThrow());
+            assertTrue(session.hasSolution(assignment("a", true)).get());
+
+            final Result<Boolean> mismatch = session.hasSolution(assignment("x", true));
+            assertFalse(mismatch.isPresent());
+            assertTrue(Problem.printProblems(mismatch.getProblems()).contains("does not match the type of variable x"));
+            assertFalse(session.hasSolution(assignment("a", 1L)).isPresent());
+            assertFalse(session.hasSolution(assignment("x", "1")).isPresent());
+            assertTrue(session.hasSolution(assignment("x", 3L, "a", true)).get());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.Objective;
+import de.featjar.analysis.javasmt.solver.Optimum;
+import de.featjar.analysis.javasmt.solver.OptimumEnumeration;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.GreaterEqual;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.term.function.IntegerAdd;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class OptimumEnumerationTest {
+
+    private static Set<List<Object>> computeParetoFront(IFormula formula, List<Objective> objectives) {
+        final OptimumEnumeration enumeration = new OptimumEnumeration(
+                TestSolverFactory.of(formula),
+                OptimumEnumeration.Mode.PARETO,
+                objectives,
+                Long.MAX_VALUE,
+                Duration.ZERO);
+        final Set<List<Object>> front = new HashSet<>();
+        try (OptimumEnumeration.OptimumIterator iterator = enumeration.iterator()) {
+            while (iterator.hasNext()) {
+                final Optimum optimum = iterator.next();
+                assertTrue(front.add(optimum.getValues()));
+            }
+            assertTrue(iterator.isComplete());
+        }
+        return front;
+    }
+
+    private static List<Object> point(long... values) {
+        return List.of(BigInteger.valueOf(values[0]), BigInteger.valueOf(values[1]));
+    }
+
+    @Test
+    public void enumeratesParetoFrontOfFeatureAttributes() {
+        final IFormula formula =
+                new Or(Expressions.literal("a"), Expressions.literal("b"), Expressions.literal("c"));
+        final Objective cost = Objective.minimize(Map.of("a", 3L, "b", 2L, "c", 4L));
+        final Objective performance =
+                Objective.minimize(Map.of("a", 5L, "b", 1L, "c", 4L)).maximized();
+        assertEquals(
+                Set.of(point(2, 1), point(3, 5), point(5, 6), point(7, 9), point(9, 10)),
+                computeParetoFront(formula, List.of(cost, performance)));
+    }
+
+    @Test
+    public void enumeratesParetoFrontOfNumericTerms() {
+        final Variable x = new Variable("x", Long.class);
+        final Variable y = new Variable("y", Long.class);
+        final IFormula formula = new And(
+                new GreaterEqual(x, new Constant(0L)),
+                new GreaterEqual(y, new Constant(0L)),
+                new LessEqual(new IntegerAdd(x, y), new Constant(3L)),
+                new Implies(Expressions.literal("a"), new GreaterEqual(x, new Constant(2L))));
+        final Objective value = Objective.minimize(new IntegerAdd(x, y)).maximized();
+        final Objective feature = Objective.minimize(Map.of("a", 1L)).maximized();
+        final Objective xOnly = Objective.minimize(x);
+        assertEquals(
+                Set.of(List.of(BigInteger.valueOf(3), BigInteger.ONE, BigInteger.valueOf(2)),
+                        List.of(BigInteger.valueOf(3), BigInteger.ZERO, BigInteger.ZERO)),
+                computeParetoFront(formula, List.of(value, feature, xOnly)));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.ParallelSolutionCounter;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.LessThan;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class ParallelSolutionCounterTest {
+
+    private static final SolverSelection SOLVERS = SolverSelection.of(Solvers.SMTINTERPOL);
+
+    /**
+     * Returns a chain of implications with a few alternatives, which has enough variables to be split into cubes.
+     */
+    private static IFormula newFormula() {
+        final ArrayList<IFormula> constraints = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            constraints.add(new Implies(Expressions.literal("x" + i), Expressions.literal("x" + (i + 1))));
+        }
+        for (int i = 0; i < 10; i += 3) {
+            constraints.add(new Or(Expressions.literal("x" + i), Expressions.literal("y" + i)));
+        }
+        return new And(constraints);
+    }
+
+    private static BigInteger countSequentially(IFormula formula, List<String> projection) throws Exception {
+        try (JavaSMTSolver solver =
+                new JavaSMTSolver(formula, SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL))) {
+            final Result<BigInteger> count = projection.isEmpty()
+                    ? solver.countSolutions(null)
+                    : solver.countSolutions(projection, null);
+            assertTrue(count.isPresent(), () -> Problem.printProblems(count.getProblems()));
+            return count.get();
+        }
+    }
+
+    private static Result<BigInteger> countInParallel(IFormula formula, List<String> projection, int parallelism)
+            throws Exception {
+        final ParallelSolutionCounter counter = new ParallelSolutionCounter(formula, SOLVERS, parallelism);
+        counter.setProjection(projection);
+        return counter.count(null);
+    }
+
+    @Test
+    public void parallelCountEqualsSequentialCount() throws Exception {
+        final IFormula formula = newFormula();
+        final BigInteger expected = countSequentially(formula, List.of());
+        for (int parallelism : new int[] {2, 4}) {
+            final Result<BigInteger> count = countInParallel(formula, List.of(), parallelism);
+            assertTrue(count.isPresent(), () -> Problem.printProblems(count.getProblems()));
+            assertEquals(expected, count.get());
+        }
+    }
+
+    @Test
+    public void parallelProjectedCountEqualsSequentialCount() throws Exception {
+        final IFormula formula = newFormula();
+        final List<String> projection = List.of("x0", "x4", "x8", "y3", "y9", "z");
+        final BigInteger expected = countSequentially(formula, projection);
+        final Result<BigInteger> count = countInParallel(formula, projection, 3);
+        assertTrue(count.isPresent(), () -> Problem.printProblems(count.getProblems()));
+        assertEquals(expected, count.get());
+    }
+
+    @Test
+    public void rejectsProjectionOntoNumericVariable() throws Exception {
+        final IFormula formula = new And(
+                newFormula(), new LessThan(new Variable("price", Long.class), new Constant(10L)));
+        final Result<BigInteger> count = countInParallel(formula, List.of("x0", "price"), 2);
+        assertTrue(count.isEmpty());
+        assertTrue(Problem.printProblems(count.getProblems()).contains("price"));
+    }
+
+    @Test
+    public void countsWithContextsAvailableInPool() throws Exception {
+        final IFormula formula = newFormula();
+        final BigInteger expected = countSequentially(formula, List.of());
+        try (SolverContextPool pool = new SolverContextPool(2, Integer.MAX_VALUE, Duration.ofMinutes(1))) {
+            for (int i = 0; i < 2; i++) {
+                final ParallelSolutionCounter counter = new ParallelSolutionCounter(formula, SOLVERS, 4);
+                counter.setSolverContextPool(pool);
+                final Result<BigInteger> count = counter.count(null);
+                assertTrue(count.isPresent(), () -> Problem.printProblems(count.getProblems()));
+                assertEquals(expected, count.get());
+            }
+            assertEquals(2, pool.getMisses());
+            assertEquals(2, pool.getHits());
+        }
+    }
+}
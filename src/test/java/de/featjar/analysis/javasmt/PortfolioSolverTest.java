@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.PortfolioSolver;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.connective.And;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class PortfolioSolverTest {
+
+    @Test
+    public void returnsFirstResultAndStopsOtherBackends() throws Exception {
+        PortfolioSolver.resetStatistics();
+        final AtomicInteger started = new AtomicInteger();
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final CountDownLatch loserStopped = new CountDownLatch(1);
+        try (SolverContextPool pool = new SolverContextPool(2, 10, Duration.ofMinutes(1))) {
+            final PortfolioSolver portfolio = new PortfolioSolver(
+                    new And(Expressions.literal("a"), Expressions.literal(false, "a")),
+                    SolverSelection.of(Solvers.SMTINTERPOL, Solvers.SMTINTERPOL),
+                    pool);
+            final Result<Boolean> result = portfolio.solve(solver -> {
+                bothStarted.countDown();
+                if (started.getAndIncrement() == 0) {
+                    try {
+                        bothStarted.await(10, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        return Result.empty(e);
+                    }
+                    return solver.hasSolution();
+                }
+                final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!solver.isCancelled() && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                if (solver.isCancelled()) {
+                    loserStopped.countDown();
+                }
+                return Result.empty();
+            });
+            assertTrue(result.isPresent());
+            assertFalse(result.get());
+            assertTrue(loserStopped.await(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1L, PortfolioSolver.getWins().get(Solvers.SMTINTERPOL));
+        assertTrue(SolverMetrics.report().contains("PORTFOLIO SMTINTERPOL: 1 wins"));
+        PortfolioSolver.resetStatistics();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.RandomSampler;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Or;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class RandomSamplerTest {
+
+    private static final IFormula FORMULA = new Or(
+            Expressions.literal("a"), Expressions.literal("b"), Expressions.literal("c"), Expressions.literal("d"));
+
+    private static List<Map<String, Object>> sample(RandomSampler.Strategy strategy, long seed) throws Exception {
+        final ArrayList<Map<String, Object>> sample = new ArrayList<>();
+        try (JavaSMTSolver solver =
+                        new JavaSMTSolver(FORMULA, SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL));
+                RandomSampler sampler = new RandomSampler(solver, strategy, new Random(seed))) {
+            for (Result<ValueAssignment> solution = sampler.next(); solution.isPresent(); solution = sampler.next()) {
+                sample.add(solution.get().getAll());
+            }
+            assertTrue(sampler.next().getProblems().isEmpty());
+        }
+        return sample;
+    }
+
+    private static void checkSample(RandomSampler.Strategy strategy) throws Exception {
+        final List<Map<String, Object>> sample = sample(strategy, 1);
+        assertEquals(15, sample.size());
+        assertEquals(15, new HashSet<>(sample).size());
+        for (Map<String, Object> solution : sample) {
+            assertTrue(solution.containsValue(Boolean.TRUE));
+        }
+        assertEquals(sample, sample(strategy, 1));
+    }
+
+    @Test
+    public void samplesWithRandomPhases() throws Exception {
+        checkSample(RandomSampler.Strategy.RANDOM_PHASE);
+    }
+
+    @Test
+    public void samplesWithXorHashing() throws Exception {
+        checkSample(RandomSampler.Strategy.XOR_HASHING);
+    }
+
+    @Test
+    public void xorHashingPicksFromWholeSmallCell() throws Exception {
+        final HashSet<Map<String, Object>> firstSolutions = new HashSet<>();
+        for (long seed = 0; seed < 300; seed++) {
+            firstSolutions.add(sample(RandomSampler.Strategy.XOR_HASHING, seed).get(0));
+        }
+        assertEquals(15, firstSolutions.size());
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.RandomSampler;
+import de.featjar.analysis.javasmt.solver.ResultCache;
+import de.featjar.formula.assignment.ValueAssignment;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void roundTripsSupportedResults() {
+        final ResultCache cache = new ResultCache();
+        final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+        values.put("a", Boolean.TRUE);
+        values.put("x", 42L);
+        final LinkedHashMap<String, Object[]> ranges = new LinkedHashMap<>();
+        ranges.put("x", new Object[] {0L, 7L});
+
+        assertTrue(cache.put("count", new BigInteger("123456789012345678901234567890")));
+        assertTrue(cache.put("graph", new int[][] {{2, -3}, null, {}}));
+        assertTrue(cache.put("solution", new ValueAssignment(values)));
+        assertTrue(cache.put("ranges", ranges));
+        assertTrue(cache.put("satisfiable", List.of(true, false)));
+        assertFalse(cache.put("unsupported", new Object()));
+
+        assertEquals(new BigInteger("123456789012345678901234567890"), cache.get("count").get());
+        assertTrue(Arrays.deepEquals(new int[][] {{2, -3}, null, {}}, (int[][]) cache.get("graph").get()));
+        assertEquals(values, ((ValueAssignment) cache.get("solution").get()).getAll());
+        assertArrayEquals(new Object[] {0L, 7L}, (Object[]) ((Map<?, ?>) cache.get("ranges").get()).get("x"));
+        assertEquals(List.of(true, false), cache.get("satisfiable").get());
+        assertFalse(cache.get("unsupported").isPresent());
+        assertEquals(5, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(5, cache.getStores());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedResults() {
+        final ResultCache cache = new ResultCache(2, ResultCache.DEFAULT_MAXIMUM_BYTES);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+        assertTrue(cache.get("a").isPresent());
+        assertFalse(cache.get("b").isPresent());
+        assertTrue(cache.get("c").isPresent());
+    }
+
+    @Test
+    public void persistsResultsInFile() throws IOException {
+        final Path path = directory.resolve("results.cache");
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            cache.put("a", "first");
+            cache.put("b", new int[] {1, -2});
+            cache.put("a", "second");
+        }
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            assertEquals("second", cache.get("a").get());
+            assertArrayEquals(new int[] {1, -2}, (int[]) cache.get("b").get());
+            assertEquals(2, cache.getFileHits());
+            assertEquals("second", cache.get("a").get());
+            assertEquals(1, cache.getHits());
+        }
+    }
+
+    @Test
+    public void discardsIncompleteRecords() throws IOException {
+        final Path path = directory.resolve("results.cache");
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            cache.put("a", 1L);
+            cache.put("b", 2L);
+        }
+        final long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            assertEquals(1L, cache.get("a").get());
+            assertFalse(cache.get("b").isPresent());
+            cache.put("c", 3L);
+        }
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            assertEquals(1L, cache.get("a").get());
+            assertEquals(3L, cache.get("c").get());
+        }
+    }
+
+    @Test
+    public void appendsAfterRecordsOfOtherWriters() throws IOException {
+        final Path path = directory.resolve("results.cache");
+        try (ResultCache first = new ResultCache();
+                ResultCache second = new ResultCache()) {
+            first.open(path);
+            second.open(path);
+            first.put("a", 1L);
+            second.put("b", 2L);
+            first.put("c", 3L);
+        }
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            assertEquals(1L, cache.get("a").get());
+            assertEquals(2L, cache.get("b").get());
+            assertEquals(3L, cache.get("c").get());
+        }
+    }
+
+    @Test
+    public void readsRecordsOfOtherWriters() throws IOException {
+        final Path path = directory.resolve("results.cache");
+        try (ResultCache writer = new ResultCache();
+                ResultCache reader = new ResultCache(0, 0)) {
+            writer.open(path);
+            reader.open(path);
+            assertFalse(reader.get("a").isPresent());
+            writer.put("a", 1L);
+            assertEquals(1L, reader.get("a").get());
+            reader.put("b", 2L);
+            writer.put("a", 3L);
+            assertEquals(3L, reader.get("a").get());
+            assertEquals(2L, writer.get("b").get());
+        }
+    }
+
+    @Test
+    public void skipsRecordsWithInvalidChecksum() throws IOException {
+        final Path path = directory.resolve("results.cache");
+        final long end;
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            cache.put("a", 1L);
+            end = Files.size(path);
+            cache.put("b", 2L);
+        }
+        final long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, end - 1);
+            last.put(0, (byte) ~last.get(0)).rewind();
+            channel.write(last, end - 1);
+        }
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            assertEquals(size, Files.size(path));
+            assertFalse(cache.get("a").isPresent());
+            assertEquals(2L, cache.get("b").get());
+            cache.put("c", 3L);
+        }
+        try (ResultCache cache = new ResultCache()) {
+            cache.open(path);
+            assertEquals(2L, cache.get("b").get());
+            assertEquals(3L, cache.get("c").get());
+        }
+    }
+
+    @Test
+    public void encodesLongStrings() {
+        final ResultCache cache = new ResultCache();
+        final String string = "\u00e4".repeat(1 << 16);
+        assertTrue(cache.put("string", Map.of(string, string)));
+        assertEquals(Map.of(string, string), cache.get("string").get());
+        assertNotEquals(ResultCache.digest(List.of(string)), ResultCache.digest(List.of(string + "a")));
+    }
+
+    @Test
+    public void digestsParametersByEncoding() {
+        final RandomSampler.Strategy strategy = RandomSampler.Strategy.RANDOM_PHASE;
+        final String digest = ResultCache.digest(List.of(List.of("a", "b"), 2L, strategy));
+        assertEquals(digest, ResultCache.digest(Arrays.asList(List.of("a", "b"), 2L, strategy)));
+        assertNotEquals(digest, ResultCache.digest(List.of(List.of("a", "b"), 2, strategy)));
+        assertNotEquals(digest, ResultCache.digest(List.of(List.of("a, b"), 2L, strategy)));
+        assertNotEquals(ResultCache.digest(List.of(Duration.ofSeconds(1))), ResultCache.digest(List.of(1L)));
+        assertThrows(IllegalArgumentException.class, () -> ResultCache.digest(List.of(new Object())));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.SolutionEnumeration;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.Or;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class SolutionEnumerationTest {
+
+    private static final IFormula FORMULA = new Or(Expressions.literal("a"), Expressions.literal("b"));
+
+    private static SolutionEnumeration enumerate(SolverContextPool pool, long limit) {
+        return new SolutionEnumeration(TestSolverFactory.of(FORMULA, pool), limit);
+    }
+
+    @Test
+    public void stopsAtLimit() {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            try (Stream<?> solutions = enumerate(pool, Long.MAX_VALUE).stream()) {
+                assertEquals(3, solutions.collect(Collectors.toSet()).size());
+            }
+            try (Stream<?> solutions = enumerate(pool, 2).stream()) {
+                assertEquals(2, solutions.count());
+            }
+        }
+    }
+
+    @Test
+    public void releasesContextWhenClosedEarly() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            final SolutionEnumeration solutions = enumerate(pool, Long.MAX_VALUE);
+            try (SolutionEnumeration.SolutionIterator iterator = solutions.iterator()) {
+                assertTrue(iterator.hasNext());
+                iterator.next();
+            }
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pool.checkout(Solvers.SMTINTERPOL).close());
+            assertEquals(1, pool.getHits());
+        }
+    }
+
+    @Test
+    public void releasesContextOfAbandonedIterator() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            abandon(pool);
+            final Thread waiting = new Thread(() -> {
+                try {
+                    pool.checkout(Solvers.SMTINTERPOL).close();
+                } catch (final Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            waiting.start();
+            for (int i = 0; i < 100 && waiting.isAlive(); i++) {
+                System.gc();
+                waiting.join(100);
+            }
+            assertFalse(waiting.isAlive());
+        }
+    }
+
+    private static void abandon(SolverContextPool pool) {
+        final SolutionEnumeration.SolutionIterator iterator = enumerate(pool, Long.MAX_VALUE).iterator();
+        assertTrue(iterator.hasNext());
+    }
+}
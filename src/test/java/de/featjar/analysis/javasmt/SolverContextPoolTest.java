@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTFormula;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.PooledSolverContext;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class SolverContextPoolTest {
+
+    @Test
+    public void reusesReturnedContexts() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(2, 10, Duration.ofMinutes(1))) {
+            final PooledSolverContext first = pool.checkout(Solvers.SMTINTERPOL);
+            first.close();
+            final PooledSolverContext second = pool.checkout(Solvers.SMTINTERPOL);
+            assertSame(first.getContext(), second.getContext());
+            second.close();
+            assertEquals(1, pool.getMisses());
+            assertEquals(1, pool.getHits());
+        }
+    }
+
+    @Test
+    public void closesInvalidatedAndWornOutContexts() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 2, Duration.ofMinutes(1))) {
+            final PooledSolverContext first = pool.checkout(Solvers.SMTINTERPOL);
+            first.invalidate();
+            first.close();
+            final PooledSolverContext second = pool.checkout(Solvers.SMTINTERPOL);
+            assertNotSame(first.getContext(), second.getContext());
+            second.close();
+            pool.checkout(Solvers.SMTINTERPOL).close();
+            assertEquals(2, pool.getEvictions());
+        }
+    }
+
+    @Test
+    public void reusesTranslationsOfEqualExpressions() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            final JavaSMTSolver first = new JavaSMTSolver(newFormula(), pool.checkout(Solvers.SMTINTERPOL));
+            final JavaSMTFormula translation = first.getSolverFormula();
+            first.close();
+            try (JavaSMTSolver second = new JavaSMTSolver(newFormula(), pool.checkout(Solvers.SMTINTERPOL))) {
+                assertSame(translation, second.getSolverFormula());
+                assertTrue(second.hasSolution().get());
+            }
+            try (JavaSMTSolver third = new JavaSMTSolver(
+                    new Or(Expressions.literal("a"), Expressions.literal("c")), pool.checkout(Solvers.SMTINTERPOL))) {
+                assertNotSame(translation, third.getSolverFormula());
+            }
+        }
+    }
+
+    private static IFormula newFormula() {
+        return new And(new Or(Expressions.literal("a"), Expressions.literal("b")), Expressions.literal(false, "a"));
+    }
+
+    @Test
+    public void tryCheckoutDoesNotWait() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            final PooledSolverContext first = pool.tryCheckout(Solvers.SMTINTERPOL);
+            assertNotNull(first);
+            assertNull(pool.tryCheckout(Solvers.SMTINTERPOL));
+            first.close();
+            final PooledSolverContext second = pool.tryCheckout(Solvers.SMTINTERPOL);
+            assertSame(first.getContext(), second.getContext());
+            second.close();
+            assertEquals(0, pool.getWaits());
+        }
+    }
+
+    @Test
+    public void rejectsCheckoutAfterClose() {
+        final SolverContextPool pool = new SolverContextPool(1, 1, Duration.ofMinutes(1));
+        pool.close();
+        assertThrows(IllegalStateException.class, () -> pool.checkout(Solvers.SMTINTERPOL));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SolverMetrics;
+import de.featjar.analysis.javasmt.solver.SolverMetrics.Phase;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class SolverMetricsTest {
+
+    private static final IFormula FORMULA = new And(
+            new Or(Expressions.literal("a"), Expressions.literal("b")),
+            new Or(Expressions.literal(false, "a"), Expressions.literal("c")));
+
+    private static void solve() throws Exception {
+        try (JavaSMTSolver solver =
+                new JavaSMTSolver(FORMULA, SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL))) {
+            assertTrue(solver.hasSolution().get());
+            assertTrue(solver.findSolution().isPresent());
+        }
+    }
+
+    @Test
+    public void measuresSolverCallsWhenEnabled() throws Exception {
+        SolverMetrics.reset();
+        SolverMetrics.setEnabled(true);
+        try {
+            solve();
+            final String backend = Solvers.SMTINTERPOL.name();
+            assertEquals(2, SolverMetrics.getMeasurements(Phase.SOLVE).get(backend).getCount());
+            assertEquals(2, SolverMetrics.getMeasurements(Phase.ADD_CONSTRAINT).get(backend).getCount());
+            assertEquals(1, SolverMetrics.getMeasurements(Phase.TRANSLATION).get(backend).getCount());
+            assertTrue(SolverMetrics.report().contains("SOLVE " + backend));
+        } finally {
+            SolverMetrics.setEnabled(false);
+            SolverMetrics.reset();
+        }
+    }
+
+    @Test
+    public void measuresNothingWhenDisabled() throws Exception {
+        SolverMetrics.reset();
+        solve();
+        for (Phase phase : Phase.values()) {
+            assertTrue(SolverMetrics.getMeasurements(phase).isEmpty());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("try")
+    public void recordsStatisticsPerAnalysis() throws Exception {
+        SolverMetrics.reset();
+        SolverMetrics.setEnabled(true);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            try (SolverMetrics.Scope scope = SolverMetrics.enterAnalysis("first")) {
+                solve();
+            }
+            try (SolverMetrics.Scope scope = SolverMetrics.enterAnalysis("second")) {
+                executor.submit(SolverMetrics.propagate(() -> {
+                            solve();
+                            return SolverMetrics.getAnalysis();
+                        }))
+                        .get();
+            }
+            assertEquals(SolverMetrics.NO_ANALYSIS, SolverMetrics.getAnalysis());
+            assertFalse(SolverMetrics.getStatistics("first", Solvers.SMTINTERPOL).isEmpty());
+            assertFalse(SolverMetrics.getStatistics("second", Solvers.SMTINTERPOL).isEmpty());
+            assertTrue(SolverMetrics.getStatistics(SolverMetrics.NO_ANALYSIS, Solvers.SMTINTERPOL).isEmpty());
+            assertTrue(SolverMetrics.report().contains("STATISTICS first SMTINTERPOL"));
+        } finally {
+            executor.shutdownNow();
+            SolverMetrics.setEnabled(false);
+            SolverMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.analysis.javasmt.solver.PooledSolverContext;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class SolverSelectionTest {
+
+    @Test
+    public void parsesSolverNames() {
+        final SolverSelection selection = SolverSelection.parse(" Z3, smtinterpol ,");
+        assertEquals(List.of(Solvers.Z3, Solvers.SMTINTERPOL), selection.getSolvers());
+        assertEquals("z3,smtinterpol", selection.toString());
+        assertEquals(selection, SolverSelection.parse(selection.toString()));
+        assertThrows(IllegalArgumentException.class, () -> SolverSelection.parse("z3,minisat"));
+        assertThrows(IllegalArgumentException.class, () -> SolverSelection.parse(" , "));
+    }
+
+    @Test
+    public void defaultOrderCanBeOverridden() {
+        assertEquals(
+                List.of(Solvers.Z3, Solvers.MATHSAT5, Solvers.SMTINTERPOL, Solvers.PRINCESS),
+                SolverSelection.getDefault().getSolvers());
+        System.setProperty(SolverSelection.DEFAULT_ORDER_PROPERTY, "princess,smtinterpol");
+        try {
+            assertEquals(List.of(Solvers.PRINCESS, Solvers.SMTINTERPOL), SolverSelection.getDefault().getSolvers());
+        } finally {
+            System.clearProperty(SolverSelection.DEFAULT_ORDER_PROPERTY);
+        }
+    }
+
+    @Test
+    public void fallsBackToNextAvailableSolver() throws Exception {
+        SolverSelection.markUnavailable(Solvers.YICES2);
+        final SolverSelection selection = SolverSelection.of(Solvers.YICES2, Solvers.SMTINTERPOL);
+        assertEquals(List.of(Solvers.SMTINTERPOL), selection.getAvailableSolvers());
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1));
+                PooledSolverContext context = pool.checkout(selection)) {
+            assertEquals(Solvers.SMTINTERPOL, context.getSolver());
+        }
+    }
+
+    @Test
+    public void skipsSolversWithoutRequiredCapabilities() {
+        final SolverSelection selection = SolverSelection.of(Solvers.SMTINTERPOL, Solvers.PRINCESS)
+                .require(SolverSelection.Capability.OPTIMIZATION);
+        assertEquals(List.of(), selection.getAvailableSolvers());
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            assertThrows(InvalidConfigurationException.class, () -> pool.checkout(selection));
+        }
+    }
+}
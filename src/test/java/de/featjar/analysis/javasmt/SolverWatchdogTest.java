@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolutionEnumeration;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class SolverWatchdogTest {
+
+    /**
+     * Returns the pigeonhole formula for one more pigeon than holes, which is unsatisfiable and hard for CDCL solvers.
+     */
+    private static IFormula pigeonhole(int holes) {
+        final ArrayList<IFormula> clauses = new ArrayList<>();
+        for (int pigeon = 0; pigeon <= holes; pigeon++) {
+            final ArrayList<IFormula> placements = new ArrayList<>();
+            for (int hole = 0; hole < holes; hole++) {
+                placements.add(Expressions.literal("p" + pigeon + "_" + hole));
+            }
+            clauses.add(new Or(placements));
+        }
+        for (int hole = 0; hole < holes; hole++) {
+            for (int first = 0; first <= holes; first++) {
+                for (int second = first + 1; second <= holes; second++) {
+                    clauses.add(new Or(
+                            Expressions.literal(false, "p" + first + "_" + hole),
+                            Expressions.literal(false, "p" + second + "_" + hole)));
+                }
+            }
+        }
+        return new And(clauses);
+    }
+
+    private static void assertStopped(Result<Boolean> result, String reason) {
+        assertTrue(result.isEmpty());
+        final String problems = Problem.printProblems(result.getProblems());
+        assertTrue(problems.contains(reason), problems);
+    }
+
+    @Test
+    public void timeoutStopsSolverAndDiscardsContext() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            try (JavaSMTSolver solver = new JavaSMTSolver(pigeonhole(12), pool.checkout(Solvers.SMTINTERPOL))) {
+                solver.setTimeout(Duration.ofMillis(100));
+                assertStopped(solver.hasSolution(), "timeout");
+            }
+            assertEquals(1, pool.getEvictions());
+        }
+    }
+
+    @Test
+    public void restrictionKeepsEarlierTimeout() throws Exception {
+        try (JavaSMTSolver solver =
+                new JavaSMTSolver(pigeonhole(12), SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL))) {
+            solver.setTimeout(Duration.ofMillis(100));
+            solver.restrictTimeout(Duration.ofHours(1));
+            final long start = System.nanoTime();
+            assertStopped(solver.hasSolution(), "timeout after 100 ms");
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMinutes(1)) < 0);
+        }
+    }
+
+    @Test
+    public void restrictionShortensLaterTimeout() throws Exception {
+        try (JavaSMTSolver solver =
+                new JavaSMTSolver(pigeonhole(12), SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL))) {
+            solver.setTimeout(Duration.ZERO);
+            solver.restrictTimeout(Duration.ofMillis(100));
+            assertStopped(solver.hasSolution(), "timeout after 100 ms");
+        }
+    }
+
+    @Test
+    public void interruptStopsSolverAndDiscardsContext() throws Exception {
+        try (SolverContextPool pool = new SolverContextPool(1, 10, Duration.ofMinutes(1))) {
+            final AtomicReference<Result<Boolean>> result = new AtomicReference<>();
+            final Thread thread = new Thread(() -> {
+                try (JavaSMTSolver solver =
+                        new JavaSMTSolver(pigeonhole(12), pool.checkout(Solvers.SMTINTERPOL))) {
+                    solver.setTimeout(Duration.ZERO);
+                    result.set(solver.hasSolution());
+                } catch (final Exception e) {
+                    result.set(Result.empty(e));
+                }
+            });
+            thread.start();
+            Thread.sleep(200);
+            thread.interrupt();
+            thread.join(10_000);
+            assertFalse(thread.isAlive());
+            assertStopped(result.get(), "cancelled");
+            assertEquals(1, pool.getEvictions());
+        }
+    }
+
+    @Test
+    public void lazyIteratorDoesNotCountConsumerTime() throws Exception {
+        final IFormula formula = new Or(Expressions.literal("a"), Expressions.literal("b"));
+        final SolutionEnumeration solutions =
+                new SolutionEnumeration(TestSolverFactory.of(formula, Duration.ofMillis(200)), Long.MAX_VALUE);
+        try (SolutionEnumeration.SolutionIterator iterator = solutions.iterator()) {
+            final List<Object> found = new ArrayList<>();
+            while (iterator.hasNext()) {
+                found.add(iterator.next());
+                Thread.sleep(150);
+            }
+            assertEquals(3, found.size());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.javasmt.computation.ComputeTWiseSample;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.ValueAssignment;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Or;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class TWiseSampleTest extends Common {
+
+    private static final List<String> VARIABLES = List.of("a", "b", "c", "d");
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static boolean isValid(Map<String, Object> solution) {
+        return (!(Boolean) solution.get("a") || (Boolean) solution.get("b"))
+                && ((Boolean) solution.get("c") || (Boolean) solution.get("d"));
+    }
+
+    private static void checkPairwiseCoverage(int parallelism) {
+        final IFormula formula = new And(
+                new Implies(Expressions.literal("a"), Expressions.literal("b")),
+                new Or(Expressions.literal("c"), Expressions.literal("d")));
+        final Result<List<ValueAssignment>> result = Computations.of(formula)
+                .map(ComputeTWiseSample::new)
+                .set(ComputeTWiseSample.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .set(ComputeTWiseSample.PARALLELISM, parallelism)
+                .computeResult();
+        assertTrue(result.isPresent(), () -> Problem.printProblems(result.getProblems()));
+        for (ValueAssignment solution : result.get()) {
+            assertEquals(VARIABLES.size(), solution.size());
+            assertTrue(isValid(solution.getAll()));
+        }
+        for (int i = 0; i < VARIABLES.size(); i++) {
+            for (int j = i + 1; j < VARIABLES.size(); j++) {
+                for (int values = 0; values < 4; values++) {
+                    final String first = VARIABLES.get(i);
+                    final String second = VARIABLES.get(j);
+                    final boolean firstValue = (values & 1) != 0;
+                    final boolean secondValue = (values & 2) != 0;
+                    final boolean feasible = !(first.equals("a") && second.equals("b") && firstValue && !secondValue)
+                            && !(first.equals("c") && second.equals("d") && !firstValue && !secondValue);
+                    final boolean covered = result.get().stream()
+                            .anyMatch(s -> s.getValue(first).orElseThrow().equals(firstValue)
+                                    && s.getValue(second).orElseThrow().equals(secondValue));
+                    assertEquals(feasible, covered, first + "=" + firstValue + ", " + second + "=" + secondValue);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void coversAllFeasiblePairs() {
+        checkPairwiseCoverage(1);
+    }
+
+    @Test
+    public void coversAllFeasiblePairsInParallel() {
+        checkPairwiseCoverage(2);
+    }
+
+    @Test
+    public void reportsInvalidInteractionSizeAsProblem() {
+        final IFormula formula = new Or(Expressions.literal("a"), Expressions.literal("b"));
+        final Result<List<ValueAssignment>> result = Computations.of(formula)
+                .map(ComputeTWiseSample::new)
+                .set(ComputeTWiseSample.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .set(ComputeTWiseSample.T, 0)
+                .computeResult();
+        assertTrue(result.isEmpty());
+        assertTrue(Problem.printProblems(result.getProblems()).contains("t must be between"));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.formula.structure.IExpression;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+/**
+ * Creates the solver factories passed to lazy enumerations in tests. All solvers use SMTInterpol, which is available
+ * on all platforms.
+ */
+final class TestSolverFactory {
+
+    private TestSolverFactory() {}
+
+    static Supplier<JavaSMTSolver> of(IExpression formula) {
+        return of(formula, SolverContextPool.getDefault(), Duration.ZERO);
+    }
+
+    static Supplier<JavaSMTSolver> of(IExpression formula, SolverContextPool pool) {
+        return of(formula, pool, Duration.ZERO);
+    }
+
+    static Supplier<JavaSMTSolver> of(IExpression formula, Duration timeout) {
+        return of(formula, SolverContextPool.getDefault(), timeout);
+    }
+
+    /**
+     * Returns a factory for solvers of a formula.
+     *
+     * @param formula the formula
+     * @param pool the pool to check out contexts from
+     * @param timeout the timeout of each solver, or zero for no timeout
+     * @return the factory
+     */
+    static Supplier<JavaSMTSolver> of(IExpression formula, SolverContextPool pool, Duration timeout) {
+        return () -> {
+            try {
+                final JavaSMTSolver solver = new JavaSMTSolver(formula, pool.checkout(Solvers.SMTINTERPOL));
+                if (!timeout.isZero()) {
+                    solver.setTimeout(timeout);
+                }
+                return solver;
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
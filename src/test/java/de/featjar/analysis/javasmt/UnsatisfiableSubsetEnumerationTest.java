@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.javasmt.solver.ConstraintSubset;
+import de.featjar.analysis.javasmt.solver.JavaSMTSolver;
+import de.featjar.analysis.javasmt.solver.SolverContextPool;
+import de.featjar.analysis.javasmt.solver.UnsatisfiableSubsetEnumeration;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+public class UnsatisfiableSubsetEnumerationTest {
+
+    @Test
+    public void enumeratesAllMinimalSubsets() {
+        final List<IFormula> constraints = List.of(
+                Expressions.literal("a"),
+                Expressions.literal(false, "a"),
+                new Or(Expressions.literal(false, "a"), Expressions.literal("b")),
+                Expressions.literal(false, "b"),
+                Expressions.literal("c"));
+        final IFormula formula = new And(constraints);
+        final UnsatisfiableSubsetEnumeration enumeration = new UnsatisfiableSubsetEnumeration(
+                TestSolverFactory.of(formula),
+                constraints,
+                Long.MAX_VALUE,
+                Duration.ZERO);
+
+        final Set<List<Integer>> unsatisfiableSubsets = new HashSet<>();
+        final Set<List<Integer>> correctionSubsets = new HashSet<>();
+        try (UnsatisfiableSubsetEnumeration.SubsetIterator iterator = enumeration.iterator()) {
+            while (iterator.hasNext()) {
+                final ConstraintSubset subset = iterator.next();
+                (subset.isMinimalUnsatisfiableSubset() ? unsatisfiableSubsets : correctionSubsets)
+                        .add(subset.getIndices());
+            }
+            assertTrue(iterator.isComplete());
+        }
+        assertEquals(Set.of(List.of(0, 1), List.of(0, 2, 3)), unsatisfiableSubsets);
+        assertEquals(Set.of(List.of(0), List.of(1, 2), List.of(1, 3)), correctionSubsets);
+    }
+
+    @Test
+    public void minimizesCoreOfTopLevelConstraints() throws Exception {
+        final List<IFormula> constraints = List.of(
+                new Or(Expressions.literal(false, "a"), Expressions.literal("b")),
+                Expressions.literal("c"),
+                Expressions.literal("a"),
+                new Or(Expressions.literal(false, "b"), Expressions.literal(false, "a")),
+                Expressions.literal(false, "b"));
+        try (JavaSMTSolver solver =
+                new JavaSMTSolver(new And(constraints), SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL))) {
+            final List<IFormula> subset = solver.findMinimalUnsatisfiableSubset(constraints).orElseThrow();
+            assertEquals(3, subset.size());
+            assertEquals(List.of(constraints.get(0), constraints.get(2)), subset.subList(0, 2));
+            assertEquals(3, solver.getMinimalUnsatisfiableSubset().size());
+        }
+    }
+
+    @Test
+    public void minimizesOriginalConstraintsOfTseitinEncoding() throws Exception {
+        final List<IFormula> constraints = List.of(
+                new Or(Expressions.literal(false, "a"), Expressions.literal("b")),
+                Expressions.literal("c"),
+                Expressions.literal("a"),
+                Expressions.literal(false, "b"));
+        try (JavaSMTSolver solver = new JavaSMTSolver(
+                new And(constraints), SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL), true)) {
+            assertEquals(3, solver.getMinimalUnsatisfiableSubset().size());
+            final List<List<BooleanFormula>> subsets = solver.getAllMinimalUnsatisfiableSubsets();
+            assertEquals(1, subsets.size());
+            assertEquals(solver.getMinimalUnsatisfiableSubset(), subsets.get(0));
+        }
+    }
+
+    @Test
+    public void subsetsDoNotModifyCachedTranslation() throws Exception {
+        final IFormula formula = new And(
+                Expressions.literal("a"), new Or(Expressions.literal(false, "a"), Expressions.literal("b")));
+        try (JavaSMTSolver solver =
+                new JavaSMTSolver(formula, SolverContextPool.getDefault().checkout(Solvers.SMTINTERPOL))) {
+            assertEquals(BigInteger.ONE, solver.countSolutions().get());
+            final List<IFormula> constraints =
+                    List.of(Expressions.literal("c"), Expressions.literal(false, "c"), Expressions.literal("a"));
+            final Result<List<IFormula>> subset = solver.findMinimalUnsatisfiableSubset(constraints);
+            assertEquals(constraints.subList(0, 2), subset.get());
+            assertEquals(2, solver.getSolverFormula().getTranslator().getVariables().size());
+            assertEquals(BigInteger.ONE, solver.countSolutions().get());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.javasmt.computation.ComputeVariableRanges;
+import de.featjar.analysis.javasmt.solver.SolverSelection;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.predicate.GreaterEqual;
+import de.featjar.formula.structure.predicate.LessEqual;
+import de.featjar.formula.structure.term.function.IntegerAdd;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sosy_lab.common.rationals.Rational;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+
+public class VariableRangesTest extends Common {
+
+    private static final SolverSelection OPTIMIZERS = SolverSelection.of(Solvers.Z3, Solvers.MATHSAT5);
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static IFormula boundedFormula() {
+        final Variable x = new Variable("x", Long.class);
+        final Variable y = new Variable("y", Long.class);
+        final Variable z = new Variable("z", Long.class);
+        return new And(
+                new GreaterEqual(x, new Constant(1L)),
+                new LessEqual(x, new Constant(5L)),
+                new GreaterEqual(y, new Constant(0L)),
+                new LessEqual(new IntegerAdd(x, y), new Constant(7L)),
+                new GreaterEqual(z, new Constant(-3L)),
+                new LessEqual(z, x),
+                new Implies(Expressions.literal("a"), new GreaterEqual(x, new Constant(4L))));
+    }
+
+    private static Map<String, Object[]> computeRanges(int parallelism) {
+        Assumptions.assumeTrue(!OPTIMIZERS.getAvailableSolvers().isEmpty(), "no optimizing solver available");
+        final Result<Map<String, Object[]>> result = Computations.of(boundedFormula())
+                .map(ComputeVariableRanges::new)
+                .set(ComputeVariableRanges.SOLVERS, OPTIMIZERS)
+                .set(ComputeVariableRanges.PARALLELISM, parallelism)
+                .computeResult();
+        assertTrue(result.isPresent(), () -> Problem.printProblems(result.getProblems()));
+        return result.get();
+    }
+
+    private static void assertRanges(Map<String, Object[]> ranges) {
+        assertEquals(List.of("x", "y", "z"), List.copyOf(ranges.keySet()));
+        assertArrayEquals(new Object[] {Rational.ofLong(1), Rational.ofLong(5)}, ranges.get("x"));
+        assertArrayEquals(new Object[] {Rational.ofLong(0), Rational.ofLong(6)}, ranges.get("y"));
+        assertArrayEquals(new Object[] {Rational.ofLong(-3), Rational.ofLong(5)}, ranges.get("z"));
+    }
+
+    @Test
+    public void computesRangesInOneBatch() {
+        assertRanges(computeRanges(1));
+    }
+
+    @Test
+    public void computesRangesInParallelGroups() {
+        assertRanges(computeRanges(2));
+    }
+
+    @Test
+    public void requiresOptimizingSolver() {
+        final Result<Map<String, Object[]>> result = Computations.of(boundedFormula())
+                .map(ComputeVariableRanges::new)
+                .set(ComputeVariableRanges.SOLVERS, SolverSelection.of(Solvers.SMTINTERPOL))
+                .computeResult();
+        assertTrue(result.isEmpty());
+        assertTrue(Problem.printProblems(result.getProblems()).contains("supports [OPTIMIZATION]"));
+    }
+}
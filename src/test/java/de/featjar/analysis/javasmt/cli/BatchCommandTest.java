@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BatchCommandTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void expandsDirectoriesAndListFiles() throws IOException {
+        final Path a = Files.writeString(directory.resolve("a.dimacs"), "");
+        final Path models = Files.createDirectories(directory.resolve("models"));
+        final Path b = Files.writeString(Files.createDirectories(models.resolve("sub")).resolve("b.dimacs"), "");
+        final Path c = Files.writeString(models.resolve("c.dimacs"), "");
+        final Path list = Files.writeString(
+                directory.resolve("inputs.txt"), a + "\n\n  " + models + "  \n", StandardCharsets.UTF_8);
+
+        assertEquals(List.of(c, b), BatchCommand.collectInputs(models.toString()));
+        assertEquals(List.of(a, c, b), BatchCommand.collectInputs(a + ", ," + models));
+        assertEquals(List.of(a, c, b), BatchCommand.collectInputs("@" + list));
+    }
+
+    @Test
+    public void collectsNothingWithoutInputs() throws IOException {
+        assertTrue(BatchCommand.collectInputs(null).isEmpty());
+        assertTrue(BatchCommand.collectInputs(" , ").isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-javasmt.
+ *
+ * formula-analysis-javasmt is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-javasmt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-javasmt. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-javasmt> for further information.
+ */
+package de.featjar.analysis.javasmt.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DaemonCommandTest {
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void answersRequestsWithoutAnalysis() throws IOException {
+        try (ServerSocket server = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            assertEquals("ok pong", DaemonCommand.handle("ping", server, null));
+            assertTrue(DaemonCommand.handle("frobnicate a.dimacs", server, null).startsWith("error unknown analysis"));
+            assertEquals("error missing formula path", DaemonCommand.handle("count", server, null));
+            assertTrue(DaemonCommand.handle("stats", server, null).startsWith("ok "));
+            assertFalse(server.isClosed());
+            assertEquals("ok", DaemonCommand.handle("shutdown", server, null));
+            assertTrue(server.isClosed());
+        }
+    }
+
+    @Test
+    public void authenticatesOnlyWithToken() {
+        assertTrue(DaemonCommand.authenticate("auth 0123abcd", "0123abcd"));
+        assertFalse(DaemonCommand.authenticate("auth 0123abce", "0123abcd"));
+        assertFalse(DaemonCommand.authenticate("auth 0123abc", "0123abcd"));
+        assertFalse(DaemonCommand.authenticate("auth", "0123abcd"));
+        assertFalse(DaemonCommand.authenticate("ping", "0123abcd"));
+    }
+
+    @Test
+    public void closesConnectionsThatDoNotAuthenticateInTime() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+                Socket client = new Socket(server.getInetAddress(), server.getLocalPort());
+                BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8))) {
+            final Thread thread = serve(server);
+            client.getOutputStream().write("auth 0123".getBytes(StandardCharsets.UTF_8));
+            assertEquals("error authentication required", reader.readLine());
+            assertNull(reader.readLine());
+            thread.join();
+        }
+    }
+
+    @Test
+    public void closesIdleConnections() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+                Socket client = new Socket(server.getInetAddress(), server.getLocalPort());
+                BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter writer = new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            final Thread thread = serve(server);
+            writer.println("auth 0123abcd");
+            assertEquals("ok", reader.readLine());
+            writer.println("ping");
+            assertEquals("ok pong", reader.readLine());
+            assertEquals("error idle timeout", reader.readLine());
+            assertNull(reader.readLine());
+            thread.join();
+        }
+    }
+
+    private static Thread serve(ServerSocket server) throws IOException {
+        final Socket socket = server.accept();
+        final Thread thread = new Thread(() -> DaemonCommand.serve(socket, server, null, "0123abcd", 200, 200));
+        thread.start();
+        return thread;
+    }
+
+    @Test
+    public void writesTokenReadableOnlyByOwner() throws IOException {
+        final Path tokenFile = directory.resolve("featjar").resolve("daemon.token");
+        final String token = DaemonCommand.writeToken(tokenFile);
+        assertEquals(64, token.length());
+        assertEquals(token, Files.readString(tokenFile, StandardCharsets.UTF_8));
+        if (Files.getFileAttributeView(tokenFile, PosixFileAttributeView.class) != null) {
+            assertEquals(
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    Files.getPosixFilePermissions(tokenFile));
+        }
+        final String secondToken = DaemonCommand.writeToken(tokenFile);
+        assertFalse(token.equals(secondToken));
+        assertEquals(secondToken, Files.readString(tokenFile, StandardCharsets.UTF_8));
+    }
+}